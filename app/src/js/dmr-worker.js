@@ -0,0 +1,207 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+var DMR_ENCODED = "application/dmr-encoded";
+
+// Expects a message {id: number, url: string, method: string, headers: {name: value}, body: string}, executes the
+// request and decodes DMR encoded responses. Answers with {id: number, status: number, contentType: string,
+// etag: string, node: tree, error: string}. See org.jboss.hal.dmr.ModelNodeTree for the format of the tree.
+self.addEventListener("message", function (e) {
+    var request = e.data;
+    var xhr = new XMLHttpRequest();
+    xhr.onload = function () {
+        var response = {
+            id: request.id,
+            status: xhr.status,
+            contentType: xhr.getResponseHeader("Content-Type"),
+            etag: xhr.getResponseHeader("ETag")
+        };
+        if ((xhr.status === 200 || xhr.status === 500) &&
+            response.contentType && response.contentType.indexOf(DMR_ENCODED) === 0) {
+            try {
+                response.node = decode(atob(xhr.responseText.replace(/\s/g, "")));
+            } catch (err) {
+                response.error = "Failed to decode response: " + err;
+            }
+        }
+        self.postMessage(response);
+    };
+    xhr.addEventListener("error", function () {
+        self.postMessage({id: request.id, status: xhr.status});
+    }, false);
+    xhr.open(request.method, request.url, true);
+    Object.keys(request.headers).forEach(function (name) {
+        xhr.setRequestHeader(name, request.headers[name]);
+    });
+    xhr.withCredentials = true;
+    xhr.send(request.body);
+}, false);
+
+
+// ------------------------------------------------------ DMR decoding
+
+self.decode = function (binary) {
+    var reader = new Reader(binary);
+    return readNode(reader);
+};
+
+self.readNode = function (reader) {
+    var i, count, node;
+    var type = String.fromCharCode(reader.byte());
+    switch (type) {
+        case "o":
+            count = reader.int();
+            node = ["o"];
+            for (i = 0; i < count; i++) {
+                node.push(reader.utf(), readNode(reader));
+            }
+            return node;
+        case "l":
+            count = reader.int();
+            node = ["l"];
+            for (i = 0; i < count; i++) {
+                node.push(readNode(reader));
+            }
+            return node;
+        case "p":
+            return ["p", reader.utf(), readNode(reader)];
+        case "s":
+        case "e":
+        case "d":
+            return [type, reader.utf()];
+        case "I":
+            return ["I", reader.int()];
+        case "J":
+            return ["J", reader.int(), reader.int()];
+        case "D":
+            return ["D", reader.double()];
+        case "Z":
+            return ["Z", reader.byte() !== 0];
+        case "t":
+            return ["t", String.fromCharCode(reader.byte())];
+        case "b":
+        case "i":
+            return [type, reader.bytes(reader.int())];
+        case "u":
+            return ["u"];
+        default:
+            throw new Error("Invalid type read: " + type);
+    }
+};
+
+// Reads the DMR binary format from a binary string as returned by atob(). Must be kept in sync with
+// org.jboss.hal.dmr.DataInput
+function Reader(binary) {
+    this.binary = binary;
+    this.pos = 0;
+}
+
+Reader.prototype.require = function (count) {
+    if (this.pos + count > this.binary.length) {
+        throw new Error("EOF");
+    }
+};
+
+Reader.prototype.byte = function () {
+    this.require(1);
+    return this.binary.charCodeAt(this.pos++);
+};
+
+Reader.prototype.int = function () {
+    this.require(4);
+    var b = this.binary, p = this.pos;
+    this.pos += 4;
+    return (b.charCodeAt(p) << 24) | (b.charCodeAt(p + 1) << 16) | (b.charCodeAt(p + 2) << 8) | b.charCodeAt(p + 3);
+};
+
+Reader.prototype.double = function () {
+    this.require(8);
+    var view = new DataView(new ArrayBuffer(8));
+    for (var i = 0; i < 8; i++) {
+        view.setUint8(i, this.binary.charCodeAt(this.pos++));
+    }
+    return view.getFloat64(0);
+};
+
+Reader.prototype.bytes = function (count) {
+    this.require(count);
+    var bytes = new Array(count);
+    for (var i = 0; i < count; i++) {
+        bytes[i] = (this.binary.charCodeAt(this.pos++) << 24) >> 24; // signed like Java
+    }
+    return bytes;
+};
+
+Reader.prototype.utf = function () {
+    this.require(2);
+    var length = (this.binary.charCodeAt(this.pos) << 8) | this.binary.charCodeAt(this.pos + 1);
+    this.pos += 2;
+    this.require(length);
+
+    // fast path: most DMR strings (keys, names, types) are pure ASCII
+    var end = this.pos + length;
+    var ascii = true;
+    for (var i = this.pos; i < end && ascii; i++) {
+        ascii = this.binary.charCodeAt(i) < 0x80;
+    }
+    if (ascii) {
+        var value = this.binary.substring(this.pos, end);
+        this.pos = end;
+        return value;
+    }
+
+    var chars = [];
+    while (length > 0) {
+        length -= this.utfChar(chars);
+    }
+    return chars.join("");
+};
+
+Reader.prototype.utfChar = function (chars) {
+    var a = this.byte(), b, c;
+    if (a < 0x80) {
+        chars.push(String.fromCharCode(a));
+        return 1;
+    } else if (a < 0xc0) {
+        chars.push("?");
+        return 1;
+    } else if (a < 0xe0) {
+        b = this.byte();
+        if ((b & 0xc0) !== 0x80) {
+            // probably a US-ASCII char after a Latin-1 char
+            chars.push("?", String.fromCharCode(b));
+        } else {
+            chars.push(String.fromCharCode((a & 0x1F) << 6 | b & 0x3F));
+        }
+        return 2;
+    } else if (a < 0xf0) {
+        b = this.byte();
+        if ((b & 0xc0) !== 0x80) {
+            chars.push("?", String.fromCharCode(b));
+            return 2;
+        }
+        c = this.byte();
+        if ((c & 0xc0) !== 0x80) {
+            // probably a US-ASCII char after two Latin-1 chars?
+            chars.push("?", "?", String.fromCharCode(c));
+        } else {
+            chars.push(String.fromCharCode((a & 0x0F) << 12 | (b & 0x3F) << 6 | c & 0x3F));
+        }
+        return 3;
+    } else {
+        chars.push("?");
+        return 1;
+    }
+};
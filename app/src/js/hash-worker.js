@@ -0,0 +1,132 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+var CHUNK_SIZE = 4 * 1024 * 1024;
+
+// Expects a message {id: number, file: File}, reads the file in chunks of CHUNK_SIZE bytes and calculates the SHA-1
+// hash incrementally. Answers with {id: number, hash: string} (lower case hex) or {id: number, error: string}.
+self.addEventListener("message", function (e) {
+    var request = e.data;
+    try {
+        var reader = new FileReaderSync();
+        var sha1 = new Sha1();
+        for (var offset = 0; offset < request.file.size; offset += CHUNK_SIZE) {
+            sha1.update(new Uint8Array(reader.readAsArrayBuffer(request.file.slice(offset, offset + CHUNK_SIZE))));
+        }
+        self.postMessage({id: request.id, hash: sha1.digest()});
+    } catch (err) {
+        self.postMessage({id: request.id, error: "Failed to hash file: " + err});
+    }
+});
+
+// ------------------------------------------------------ SHA-1
+
+function Sha1() {
+    this.h = new Int32Array([0x67452301, 0xEFCDAB89, 0x98BADCFE, 0x10325476, 0xC3D2E1F0]);
+    this.w = new Int32Array(80);
+    this.block = new Uint8Array(64);
+    this.blockLength = 0;
+    this.length = 0;
+}
+
+Sha1.prototype.update = function (bytes) {
+    var i = 0;
+    this.length += bytes.length;
+    if (this.blockLength > 0) {
+        // complete the pending block
+        i = Math.min(64 - this.blockLength, bytes.length);
+        this.block.set(bytes.subarray(0, i), this.blockLength);
+        this.blockLength += i;
+        if (this.blockLength < 64) {
+            return;
+        }
+        this.compress(this.block, 0);
+        this.blockLength = 0;
+    }
+    for (; i + 64 <= bytes.length; i += 64) {
+        this.compress(bytes, i);
+    }
+    if (i < bytes.length) {
+        this.block.set(bytes.subarray(i), 0);
+        this.blockLength = bytes.length - i;
+    }
+};
+
+Sha1.prototype.compress = function (bytes, offset) {
+    var w = this.w, h = this.h, a, b, c, d, e, f, k, t, i, j;
+    for (i = 0; i < 16; i++) {
+        j = offset + i * 4;
+        w[i] = (bytes[j] << 24) | (bytes[j + 1] << 16) | (bytes[j + 2] << 8) | bytes[j + 3];
+    }
+    for (i = 16; i < 80; i++) {
+        t = w[i - 3] ^ w[i - 8] ^ w[i - 14] ^ w[i - 16];
+        w[i] = (t << 1) | (t >>> 31);
+    }
+    a = h[0];
+    b = h[1];
+    c = h[2];
+    d = h[3];
+    e = h[4];
+    for (i = 0; i < 80; i++) {
+        if (i < 20) {
+            f = (b & c) | (~b & d);
+            k = 0x5A827999;
+        } else if (i < 40) {
+            f = b ^ c ^ d;
+            k = 0x6ED9EBA1;
+        } else if (i < 60) {
+            f = (b & c) | (b & d) | (c & d);
+            k = 0x8F1BBCDC;
+        } else {
+            f = b ^ c ^ d;
+            k = 0xCA62C1D6;
+        }
+        t = (((a << 5) | (a >>> 27)) + f + e + k + w[i]) | 0;
+        e = d;
+        d = c;
+        c = (b << 30) | (b >>> 2);
+        b = a;
+        a = t;
+    }
+    h[0] += a;
+    h[1] += b;
+    h[2] += c;
+    h[3] += d;
+    h[4] += e;
+};
+
+Sha1.prototype.digest = function () {
+    var length = this.length;
+    var padding = new Uint8Array((this.blockLength < 56 ? 64 : 128) - this.blockLength);
+    var n = padding.length;
+    var high = Math.floor(length / 0x20000000);
+    var low = (length * 8) >>> 0;
+    padding[0] = 0x80;
+    padding[n - 8] = high >>> 24;
+    padding[n - 7] = high >>> 16;
+    padding[n - 6] = high >>> 8;
+    padding[n - 5] = high;
+    padding[n - 4] = low >>> 24;
+    padding[n - 3] = low >>> 16;
+    padding[n - 2] = low >>> 8;
+    padding[n - 1] = low;
+    this.update(padding);
+
+    var hex = "";
+    for (var i = 0; i < 5; i++) {
+        hex += ("00000000" + (this.h[i] >>> 0).toString(16)).slice(-8);
+    }
+    return hex;
+};
@@ -15,31 +15,63 @@
  */
 self.importScripts("polyfill.min.js", "pouchdb.min.js");
 
+// one PouchDB instance per database name
+self.databases = {};
+
+self.database = function (name) {
+    if (!self.databases[name]) {
+        self.databases[name] = new PouchDB(name);
+    }
+    return self.databases[name];
+};
+
+// Expects a message {id: number, batches: [{database: string, documents: [document]}]} and upserts the documents
+// of each batch using one allDocs() and one bulkDocs() call. Acknowledges the message with
+// {id: number, inserted: number, updated: number, failed: number}.
 self.addEventListener("message", function (e) {
-    var db = new PouchDB(e.data.database);
-    db.get(e.data.document._id)
-        .then(function (doc) {
-            // update existing document
-            e.data.document._rev = doc._rev;
-            db.put(e.data.document)
-                .then(function (response) {
-                    info("Update " + e.data.database + response.id);
-                })
-                .catch(function (error) {
-                    error("Unable to put " + e.data.database + e.data.document._id + ": " + error);
-                });
+    var start = Date.now();
+    var ack = {id: e.data.id, inserted: 0, updated: 0, failed: 0};
+    Promise.all(e.data.batches.map(function (batch) {
+        return upsert(batch, ack);
+    })).then(function () {
+        info("Stored batch #" + ack.id + " in " + (Date.now() - start) + " ms");
+        self.postMessage(ack);
+    });
+}, false);
+
+self.upsert = function (batch, ack) {
+    var db = database(batch.database);
+    var keys = batch.documents.map(function (document) {
+        return document._id;
+    });
+    return db.allDocs({keys: keys})
+        .then(function (response) {
+            response.rows.forEach(function (row, index) {
+                if (row.value && !row.value.deleted) {
+                    batch.documents[index]._rev = row.value.rev;
+                }
+            });
+            return db.bulkDocs(batch.documents);
+        })
+        .then(function (results) {
+            results.forEach(function (result, index) {
+                if (result.ok) {
+                    if (batch.documents[index]._rev) {
+                        ack.updated++;
+                    } else {
+                        ack.inserted++;
+                    }
+                } else {
+                    ack.failed++;
+                    error("Unable to put " + batch.database + batch.documents[index]._id + ": " + result.message);
+                }
+            });
         })
         .catch(function (err) {
-            // put new document
-            db.put(e.data.document)
-                .then(function (response) {
-                    info("Insert " + e.data.database + response.id);
-                })
-                .catch(function (error) {
-                    error("Unable to put " + e.data.database + e.data.document._id + ": " + error);
-                });
+            ack.failed += batch.documents.length;
+            error("Unable to store " + batch.documents.length + " documents in " + batch.database + ": " + err);
         });
-}, false);
+};
 
 self.info = function (message) {
     // use the same log format as HAL
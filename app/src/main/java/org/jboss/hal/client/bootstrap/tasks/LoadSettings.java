@@ -54,7 +54,13 @@ public class LoadSettings implements BootstrapTask {
         settings.load(PAGE_SIZE, Settings.DEFAULT_PAGE_SIZE);
         settings.load(POLL, true);
         settings.load(POLL_TIME, Settings.DEFAULT_POLL_TIME);
+        settings.load(DMR_WORKER, false);
+        settings.load(HTTP_GET, false);
+        settings.load(METADATA_PREFETCH, true);
+        settings.load(READ_CACHE, false);
+        settings.load(READ_CACHE_SIZE, Settings.DEFAULT_READ_CACHE_SIZE);
         settings.load(RUN_AS, null);
+        settings.load(UPLOAD_PARALLELISM, Settings.DEFAULT_UPLOAD_PARALLELISM);
         logger.debug("Load settings: {}", settings);
         return Completable.complete();
     }
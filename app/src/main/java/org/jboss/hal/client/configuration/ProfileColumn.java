@@ -24,7 +24,6 @@ import com.google.web.bindery.event.shared.EventBus;
 import com.gwtplatform.mvp.client.proxy.PlaceManager;
 import com.gwtplatform.mvp.shared.proxy.PlaceRequest;
 import elemental2.dom.HTMLElement;
-import org.jboss.hal.core.CrudOperations;
 import org.jboss.hal.core.configuration.ProfileSelectionEvent;
 import org.jboss.hal.core.finder.ColumnActionFactory;
 import org.jboss.hal.core.finder.Finder;
@@ -33,6 +32,7 @@ import org.jboss.hal.core.finder.FinderPathFactory;
 import org.jboss.hal.core.finder.ItemAction;
 import org.jboss.hal.core.finder.ItemActionFactory;
 import org.jboss.hal.core.finder.ItemDisplay;
+import org.jboss.hal.core.finder.OperationItemsProvider;
 import org.jboss.hal.core.mbui.dialog.AddResourceDialog;
 import org.jboss.hal.core.mbui.dialog.NameItem;
 import org.jboss.hal.core.mbui.form.ModelNodeForm;
@@ -57,9 +57,11 @@ import org.jboss.hal.spi.Requires;
 
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.joining;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILD_TYPE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.CLONE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.INCLUDES;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.PROFILE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_RESOURCES_OPERATION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.TO_PROFILE;
 import static org.jboss.hal.dmr.ModelNodeHelper.asNamedNodes;
 
@@ -80,16 +82,17 @@ public class ProfileColumn extends FinderColumn<NamedNode> {
             PlaceManager placeManager,
             Places places,
             FinderPathFactory finderPathFactory,
-            CrudOperations crud,
             ColumnActionFactory columnActionFactory,
             ItemActionFactory itemActionFactory,
             StatementContext statementContext,
             Resources resources) {
 
         super(new Builder<NamedNode>(finder, Ids.PROFILE, Names.PROFILE)
-                .itemsProvider((context, callback) ->
-                        crud.readChildren(ResourceAddress.root(), PROFILE, children ->
-                                callback.onSuccess(asNamedNodes(children))))
+                .itemsProvider(new OperationItemsProvider<>(dispatcher,
+                        path -> new Operation.Builder(ResourceAddress.root(), READ_CHILDREN_RESOURCES_OPERATION)
+                                .param(CHILD_TYPE, PROFILE)
+                                .build(),
+                        result -> asNamedNodes(result.asPropertyList())))
 
                 .onItemSelect(item -> eventBus.fireEvent(new ProfileSelectionEvent(item.getName())))
 
@@ -26,10 +26,12 @@ import elemental2.dom.HTMLElement;
 import org.jboss.hal.ballroom.LabelBuilder;
 import org.jboss.hal.core.finder.Finder;
 import org.jboss.hal.core.finder.FinderColumn;
+import org.jboss.hal.core.finder.FinderSegment;
 import org.jboss.hal.core.finder.ItemAction;
 import org.jboss.hal.core.finder.ItemActionFactory;
 import org.jboss.hal.core.finder.ItemDisplay;
 import org.jboss.hal.core.finder.ItemsProvider;
+import org.jboss.hal.core.finder.OperationItemsProvider;
 import org.jboss.hal.core.finder.PreviewContent;
 import org.jboss.hal.core.finder.ResourceDescriptionPreview;
 import org.jboss.hal.core.mvp.Places;
@@ -51,6 +53,7 @@ import static java.util.Collections.singletonList;
 import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.toList;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.CHILD_TYPE;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.PROFILE;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_CHILDREN_NAMES_OPERATION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_DESCRIPTION_OPERATION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.SUBSYSTEM;
@@ -139,29 +142,34 @@ public class SubsystemColumn extends FinderColumn<SubsystemMetadata> {
                 .filterDescription(resources.messages().susbsystemFilterDescription())
         );
 
-        ItemsProvider<SubsystemMetadata> itemsProvider = (context, callback) -> {
-            ResourceAddress address = SUBSYSTEM_TEMPLATE.resolve(statementContext).getParent();
-            Operation operation = new Operation.Builder(address, READ_CHILDREN_NAMES_OPERATION)
-                    .param(CHILD_TYPE, SUBSYSTEM).build();
-            dispatcher.execute(operation, result -> {
-                List<SubsystemMetadata> combined = new ArrayList<>();
-                for (ModelNode modelNode : result.asList()) {
-                    String name = modelNode.asString();
-                    boolean emptySubsystem = DISABLE_EMPTY_SUBSYSTEM && EMPTY_SUBSYSTEMS.indexOf(name) > -1;
-                    if (emptySubsystem) {
-                        continue;
-                    }
-                    if (subsystems.containsConfiguration(name)) {
-                        combined.add(subsystems.getConfiguration(name));
-                    } else {
-                        String title = new LabelBuilder().label(name);
-                        combined.add(new SubsystemMetadata.Builder(name, title).generic().build());
+        // the profile is taken from the finder path, so that the finder can prefetch the subsystems
+        ItemsProvider<SubsystemMetadata> itemsProvider = new OperationItemsProvider<>(dispatcher,
+                path -> {
+                    FinderSegment segment = path.findColumn(Ids.PROFILE);
+                    ResourceAddress address = segment != null
+                            ? new ResourceAddress().add(PROFILE, segment.getItemId())
+                            : ResourceAddress.root();
+                    return new Operation.Builder(address, READ_CHILDREN_NAMES_OPERATION)
+                            .param(CHILD_TYPE, SUBSYSTEM).build();
+                },
+                result -> {
+                    List<SubsystemMetadata> combined = new ArrayList<>();
+                    for (ModelNode modelNode : result.asList()) {
+                        String name = modelNode.asString();
+                        boolean emptySubsystem = DISABLE_EMPTY_SUBSYSTEM && EMPTY_SUBSYSTEMS.indexOf(name) > -1;
+                        if (emptySubsystem) {
+                            continue;
+                        }
+                        if (subsystems.containsConfiguration(name)) {
+                            combined.add(subsystems.getConfiguration(name));
+                        } else {
+                            String title = new LabelBuilder().label(name);
+                            combined.add(new SubsystemMetadata.Builder(name, title).generic().build());
+                        }
                     }
-                }
-                combined.sort(comparing(SubsystemMetadata::getTitle));
-                callback.onSuccess(combined);
-            });
-        };
+                    combined.sort(comparing(SubsystemMetadata::getTitle));
+                    return combined;
+                });
         setItemsProvider(itemsProvider);
 
         // reuse the items provider to filter breadcrumb items
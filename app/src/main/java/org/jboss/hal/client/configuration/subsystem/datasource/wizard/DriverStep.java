@@ -31,6 +31,7 @@ import org.jboss.hal.core.mbui.form.ModelNodeForm;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Property;
 import org.jboss.hal.meta.Metadata;
+import org.jboss.hal.meta.description.ResourceDescription;
 import org.jboss.hal.resources.Ids;
 import org.jboss.hal.resources.Names;
 import org.jboss.hal.resources.Resources;
@@ -81,9 +82,12 @@ class DriverStep extends WizardStep<Context, State> {
             newAttributes.get(property.getName()).set(value);
         }
 
-        metadata.getDescription().remove(ATTRIBUTES);
-        metadata.getDescription().get(ATTRIBUTES).set(newAttributes);
-        return metadata;
+        // the description is shared with the metadata registry, so modify a copy
+        ResourceDescription description = new ResourceDescription(metadata.getDescription());
+        description.remove(ATTRIBUTES);
+        description.get(ATTRIBUTES).set(newAttributes);
+        return new Metadata(metadata.getTemplate(), metadata::getSecurityContext, description,
+                metadata.getCapabilities());
     }
 
     @Override
@@ -15,6 +15,9 @@
  */
 package org.jboss.hal.client.deployment;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -22,7 +25,6 @@ import java.util.function.Consumer;
 import com.google.common.collect.Sets;
 import com.google.gwt.safehtml.shared.SafeHtmlUtils;
 import com.google.web.bindery.event.shared.EventBus;
-import elemental2.core.JsArray;
 import elemental2.dom.File;
 import elemental2.dom.File.ConstructorContentsArrayUnionType;
 import elemental2.dom.HTMLButtonElement;
@@ -74,7 +76,6 @@ import rx.Single;
 import static com.google.common.base.Strings.nullToEmpty;
 import static elemental2.dom.DomGlobal.window;
 import static java.lang.Math.max;
-import static java.util.Collections.emptyList;
 import static org.jboss.gwt.elemento.core.Elements.i;
 import static org.jboss.gwt.elemento.core.Elements.*;
 import static org.jboss.gwt.elemento.core.EventType.click;
@@ -84,6 +85,7 @@ import static org.jboss.hal.ballroom.Skeleton.MARGIN_BIG;
 import static org.jboss.hal.ballroom.Skeleton.MARGIN_SMALL;
 import static org.jboss.hal.ballroom.Skeleton.applicationHeight;
 import static org.jboss.hal.ballroom.Skeleton.applicationOffset;
+import static org.jboss.hal.client.deployment.ContentParser.MORE_ID;
 import static org.jboss.hal.client.deployment.ContentParser.NODE_ID;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
 import static org.jboss.hal.resources.CSS.*;
@@ -155,6 +157,7 @@ class BrowseContentElement implements IsElement, Attachable {
     private final HTMLElement root;
     private final Search treeSearch;
     private Tree<ContentEntry> tree;
+    private final ContentLoader contentLoader;
     private final EmptyState pleaseSelect;
     private final EmptyState deploymentPreview;
     private final EmptyState explodedPreview;
@@ -188,6 +191,7 @@ class BrowseContentElement implements IsElement, Attachable {
         this.eventBus = eventBus;
         this.resources = resources;
         this.surroundingHeight = 0;
+        this.contentLoader = new ContentLoader(dispatcher, resources);
 
         treeSearch = new Search.Builder(Ids.CONTENT_TREE_SEARCH, query -> tree.search(query))
                 .onClear(() -> tree.clearSearch())
@@ -387,12 +391,12 @@ class BrowseContentElement implements IsElement, Attachable {
     }
 
     private void refresh() {
-        String selectedId = selectedId();
-        browseContent()
+        String selectedPath = selectedEntryPath();
+        reloadContent()
                 .andThen(awaitTreeReady())
                 .subscribe(() -> {
-                    if (selectedId != null) {
-                        tree.selectNode(selectedId);
+                    if (selectedPath != null) {
+                        selectPath(selectedPath);
                     }
                 });
     }
@@ -409,6 +413,7 @@ class BrowseContentElement implements IsElement, Attachable {
         setVisible(saveContentButton.orElse(null), content.isExploded());
         editor.getEditor().setReadOnly(!content.isExploded());
 
+        contentLoader.setContent(content);
         browseContent().subscribe(this::noSelection);
     }
 
@@ -430,12 +435,12 @@ class BrowseContentElement implements IsElement, Attachable {
                     .build();
             dispatcher.upload(file(filename(path), ""), operation)
                     .toCompletable()
-                    .andThen(browseContent())
+                    .andThen(reloadContent())
                     .andThen(awaitTreeReady())
                     .subscribe(() -> {
                         MessageEvent.fire(eventBus,
                                 Message.success(resources.messages().newContentSuccess(content.getName(), path)));
-                        tree.selectNode(NODE_ID.apply(path));
+                        selectPath(path);
                     });
         });
         targetPathItem.setValue(selectedPath());
@@ -485,12 +490,12 @@ class BrowseContentElement implements IsElement, Attachable {
                     ? dispatcher.execute(operation)
                     : dispatcher.upload(fileItem.getValue(), operation);
             single.toCompletable()
-                    .andThen(browseContent())
+                    .andThen(reloadContent())
                     .andThen(awaitTreeReady())
                     .subscribe(() -> {
                         MessageEvent.fire(eventBus,
                                 Message.success(resources.messages().newContentSuccess(content.getName(), path)));
-                        tree.selectNode(NODE_ID.apply(path));
+                        selectPath(path);
                     });
         });
 
@@ -507,36 +512,38 @@ class BrowseContentElement implements IsElement, Attachable {
         form.edit(new ModelNode());
     }
 
+    /**
+     * Creates a new tree for the content. Only the top level is read, the entries of directories are read when a
+     * directory is opened (see {@link ContentLoader}).
+     */
     private Completable browseContent() {
-        ResourceAddress address = new ResourceAddress().add(DEPLOYMENT, content.getName());
-        Operation operation = new Operation.Builder(address, BROWSE_CONTENT).build();
-        return dispatcher.execute(operation)
-                .doOnSuccess(result -> {
-                    String contentName = SafeHtmlUtils.htmlEscapeAllowEntities(content.getName());
-                    Node<ContentEntry> root = new Node.Builder<>(Ids.CONTENT_TREE_ROOT, contentName,
-                            new ContentEntry())
-                            .root()
-                            .folder()
-                            .open()
-                            .build();
-                    JsArray<Node<ContentEntry>> nodes = new JsArray<>();
-                    new ContentParser().parse(root, nodes, result.isDefined() ? result.asList() : emptyList());
-
-                    if (tree != null) {
-                        tree.destroy();
-                        tree = null;
-                    }
-                    tree = new Tree<>(Ids.CONTENT_TREE, nodes);
-                    Elements.removeChildrenFrom(treeContainer);
-                    treeContainer.appendChild(tree.element());
-                    tree.attach();
-                    tree.onSelectionChange((event, selectionContext) -> {
-                        if (!"ready".equals(selectionContext.action)) { //NON-NLS
-                            onNodeSelected(selectionContext);
-                        }
-                    });
-                })
-                .toCompletable();
+        return Completable.fromAction(() -> {
+            String contentName = SafeHtmlUtils.htmlEscapeAllowEntities(content.getName());
+            Node<ContentEntry> root = new Node.Builder<>(Ids.CONTENT_TREE_ROOT, contentName, new ContentEntry())
+                    .root()
+                    .asyncFolder()
+                    .open()
+                    .build();
+
+            if (tree != null) {
+                tree.destroy();
+                tree = null;
+            }
+            tree = new Tree<>(Ids.CONTENT_TREE, root, contentLoader);
+            Elements.removeChildrenFrom(treeContainer);
+            treeContainer.appendChild(tree.element());
+            tree.attach();
+            tree.onSelectionChange((event, selectionContext) -> {
+                if (!"ready".equals(selectionContext.action)) { //NON-NLS
+                    onNodeSelected(selectionContext);
+                }
+            });
+        });
+    }
+
+    /** Drops the cached entries and creates a new tree. Use this after the content has been modified. */
+    private Completable reloadContent() {
+        return Completable.fromAction(contentLoader::invalidate).andThen(browseContent());
     }
 
     private void loadContent(ContentEntry contentEntry, Consumer<String> successCallback) {
@@ -568,12 +575,12 @@ class BrowseContentElement implements IsElement, Attachable {
             dispatcher.upload(file(filename, editorContent), operation)
                     .doOnSuccess(result -> saveContentButton.ifPresent(button -> button.disabled = true))
                     .toCompletable()
-                    .andThen(browseContent())
+                    .andThen(reloadContent())
                     .andThen(awaitTreeReady())
                     .subscribe(() -> {
                         MessageEvent.fire(eventBus,
                                 Message.success(resources.messages().saveContentSuccess(content.getName(), filename)));
-                        tree.selectNode(selection.id);
+                        selectPath(selection.data.path);
                     });
         }
     }
@@ -591,7 +598,7 @@ class BrowseContentElement implements IsElement, Attachable {
                                 .build();
                         dispatcher.execute(operation)
                                 .toCompletable()
-                                .andThen(browseContent())
+                                .andThen(reloadContent())
                                 .andThen(awaitTreeReady())
                                 .subscribe(() -> {
                                     MessageEvent.fire(eventBus, Message.success(
@@ -611,6 +618,10 @@ class BrowseContentElement implements IsElement, Attachable {
             if (selection.node.id.equals(Ids.CONTENT_TREE_ROOT)) {
                 deploymentPreview();
 
+            } else if (selection.node.id.equals(MORE_ID.apply(selection.node.data.path))) {
+                contentLoader.more(selection.node.data.path);
+                tree.refreshNode(selection.node.parent);
+
             } else {
                 ContentEntry contentEntry = selection.node.data;
                 if (contentEntry.directory) {
@@ -751,16 +762,35 @@ class BrowseContentElement implements IsElement, Attachable {
 
     // ------------------------------------------------------ helper methods
 
-    private String selectedId() {
+    private String selectedEntryPath() {
         if (tree != null) {
             Node<ContentEntry> selection = tree.getSelected();
-            if (selection != null) {
-                return selection.id;
+            if (selection != null && !selection.id.equals(Ids.CONTENT_TREE_ROOT)) {
+                return selection.data.path;
             }
         }
         return null;
     }
 
+    /** Opens the parent directories of the specified path one after another and selects the entry. */
+    private void selectPath(String path) {
+        List<String> directories = new ArrayList<>();
+        int index = path.indexOf('/');
+        while (index != -1 && index < path.length() - 1) {
+            directories.add(path.substring(0, index + 1));
+            index = path.indexOf('/', index + 1);
+        }
+        openAndSelect(directories.iterator(), NODE_ID.apply(path));
+    }
+
+    private void openAndSelect(Iterator<String> directories, String id) {
+        if (directories.hasNext()) {
+            tree.openNode(NODE_ID.apply(directories.next()), () -> openAndSelect(directories, id));
+        } else {
+            tree.selectNode(id);
+        }
+    }
+
     private String selectedPath() {
         String path = null;
         Node<ContentEntry> selection = tree.getSelected();
@@ -41,6 +41,7 @@ import org.jboss.hal.client.deployment.wizard.UploadContentStep;
 import org.jboss.hal.client.shared.uploadwizard.UploadElement;
 import org.jboss.hal.client.deployment.wizard.DeploymentState;
 import org.jboss.hal.config.Environment;
+import org.jboss.hal.config.Settings;
 import org.jboss.hal.core.deployment.Content;
 import org.jboss.hal.core.deployment.ServerGroupDeployment;
 import org.jboss.hal.core.finder.ColumnAction;
@@ -114,6 +115,7 @@ public class ContentColumn extends FinderColumn<Content> {
             SERVER_GROUP_DEPLOYMENT_ADDRESS);
 
     private final Environment environment;
+    private final Settings settings;
     private final Dispatcher dispatcher;
     private final EventBus eventBus;
     private final Provider<Progress> progress;
@@ -127,6 +129,7 @@ public class ContentColumn extends FinderColumn<Content> {
             ColumnActionFactory columnActionFactory,
             ItemActionFactory itemActionFactory,
             Environment environment,
+            Settings settings,
             Dispatcher dispatcher,
             EventBus eventBus,
             Places places,
@@ -154,11 +157,13 @@ public class ContentColumn extends FinderColumn<Content> {
 
                 .useFirstActionAsBreadcrumbHandler()
                 .pinnable()
+                .virtualized()
                 .showCount()
                 .withFilter()
                 .filterDescription(resources.messages().contentFilterDescription()));
 
         this.environment = environment;
+        this.settings = settings;
         this.dispatcher = dispatcher;
         this.eventBus = eventBus;
         this.progress = progress;
@@ -301,8 +306,8 @@ public class ContentColumn extends FinderColumn<Content> {
                 Constraint.executable(CONTENT_TEMPLATE, ADD));
         if (JsHelper.supportsAdvancedUpload() &&
                 AuthorisationDecision.from(environment, securityContextRegistry).isAllowed(deployConstraints)) {
-            setOnDrop(event -> DeploymentTasks.upload(this, environment, dispatcher, eventBus, progress,
-                    event.dataTransfer.files, resources));
+            setOnDrop(event -> DeploymentTasks.upload(this, environment, settings, dispatcher, eventBus,
+                    progress, event.dataTransfer.files));
         }
     }
 
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.client.deployment;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import elemental2.dom.Event;
+import elemental2.dom.File;
+import elemental2.dom.MessageEvent;
+import elemental2.dom.Worker;
+import jsinterop.annotations.JsType;
+import jsinterop.base.Js;
+import org.jboss.hal.js.Browser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Single;
+import rx.SingleEmitter;
+
+import static jsinterop.annotations.JsPackage.GLOBAL;
+import static org.jboss.hal.resources.UIConstants.OBJECT;
+
+/**
+ * Calculates the SHA-1 hash of files in a web worker ({@value #HASH_WORKER_JS}). The worker reads the file in chunks,
+ * so big archives are hashed without reading them into memory at once and without blocking the UI thread.
+ * <p>
+ * The worker is created on first use and not supported in IE.
+ */
+class ContentHasher {
+
+    private static final String HASH_WORKER_JS = "js/hash-worker.js";
+    private static final Logger logger = LoggerFactory.getLogger(ContentHasher.class);
+
+    private final Map<Integer, SingleEmitter<String>> pendingRequests;
+    private Worker worker;
+    private int requestId;
+
+    ContentHasher() {
+        this.pendingRequests = new HashMap<>();
+        this.requestId = 0;
+    }
+
+    /** @return the SHA-1 hash of the file as lower case hex string */
+    Single<String> sha1(File file) {
+        if (Browser.isIE()) {
+            return Single.error(new UnsupportedOperationException("Hashing files is not supported in IE"));
+        }
+        return Single.fromEmitter(emitter -> {
+            if (worker == null) {
+                worker = new Worker(HASH_WORKER_JS);
+                worker.addEventListener("message", this::onResponse);
+                worker.addEventListener("error", this::onError); //NON-NLS
+            }
+
+            Request request = new Request();
+            request.id = ++requestId;
+            request.file = file;
+            pendingRequests.put(request.id, emitter);
+            worker.postMessage(request);
+        });
+    }
+
+    private void onResponse(Event event) {
+        MessageEvent<?> messageEvent = Js.cast(event);
+        Response response = Js.cast(messageEvent.data);
+        SingleEmitter<String> emitter = pendingRequests.remove(response.id);
+        if (emitter != null) {
+            if (response.error != null) {
+                emitter.onError(new RuntimeException(response.error));
+            } else {
+                emitter.onSuccess(response.hash);
+            }
+        }
+    }
+
+    private void onError(Event event) {
+        logger.error("Error in {}", HASH_WORKER_JS);
+        RuntimeException error = new RuntimeException("Error in " + HASH_WORKER_JS);
+        pendingRequests.values().forEach(emitter -> emitter.onError(error));
+        pendingRequests.clear();
+    }
+
+
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    private static class Request {
+
+        int id;
+        File file;
+    }
+
+
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    private static class Response {
+
+        int id;
+        String hash;
+        String error;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.client.deployment;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.hal.ballroom.tree.DataFunction;
+import org.jboss.hal.ballroom.tree.Node;
+import org.jboss.hal.core.deployment.Content;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.resources.Ids;
+import org.jboss.hal.resources.Resources;
+import rx.Single;
+
+import static java.util.Collections.emptyList;
+import static org.jboss.hal.client.deployment.ContentParser.MORE_ID;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.BROWSE_CONTENT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.DEPLOYMENT;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.DEPTH;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.PATH;
+import static org.jboss.hal.resources.CSS.fontAwesome;
+
+/**
+ * Function which gets invoked when the user opens a directory in the content tree. Reads only the entries of the
+ * directory using the {@code path} and {@code depth} parameters of the {@code browse-content} operation.
+ * <p>
+ * Directories with more than {@value #PAGE_SIZE} entries are paged. The last node of such a directory shows the
+ * number of remaining entries. Use {@link #more(String)} to show the next page. The parsed entries are cached per
+ * content hash. Since modifying exploded content changes its hash, use {@link #invalidate()} after modifications.
+ */
+class ContentLoader implements DataFunction<ContentEntry> {
+
+    static final int PAGE_SIZE = 250;
+    private static final int MAX_CONTENTS = 10;
+
+    private final Dispatcher dispatcher;
+    private final Resources resources;
+    private final ContentParser parser;
+    private final LinkedHashMap<String, Map<String, List<ContentEntry>>> cache;
+    private final Map<String, Integer> limits;
+    private Content content;
+
+    ContentLoader(Dispatcher dispatcher, Resources resources) {
+        this.dispatcher = dispatcher;
+        this.resources = resources;
+        this.parser = new ContentParser();
+        this.cache = new LinkedHashMap<String, Map<String, List<ContentEntry>>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, List<ContentEntry>>> eldest) {
+                return size() > MAX_CONTENTS;
+            }
+        };
+        this.limits = new HashMap<>();
+    }
+
+    void setContent(Content content) {
+        this.content = content;
+        this.limits.clear();
+    }
+
+    /** Removes the cached entries of the current content. */
+    void invalidate() {
+        if (content != null) {
+            cache.remove(key());
+        }
+    }
+
+    /** Shows the next page of the specified directory. Refresh the directory node afterwards. */
+    void more(String path) {
+        limits.put(path, limit(path) + PAGE_SIZE);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void load(Node<ContentEntry> node, ResultCallback<ContentEntry> callback) {
+        String path = Ids.CONTENT_TREE_ROOT.equals(node.id) ? "" : node.data.path;
+        entries(path).subscribe(entries -> {
+            int limit = limit(path);
+            List<Node<ContentEntry>> nodes = parser.nodes(node, entries, limit);
+            if (entries.size() > limit) {
+                ContentEntry more = new ContentEntry();
+                more.name = resources.messages().moreContentEntries(entries.size() - limit);
+                more.path = path;
+                nodes.add(new Node.Builder<>(MORE_ID.apply(path), more.name, more)
+                        .parent(node.id)
+                        .icon(fontAwesome("ellipsis-h"))
+                        .build());
+            }
+            callback.result(nodes.toArray(new Node[nodes.size()]));
+        }, throwable -> callback.result(new Node[0]));
+    }
+
+    private Single<List<ContentEntry>> entries(String path) {
+        Map<String, List<ContentEntry>> entriesByPath = cache.computeIfAbsent(key(), key -> new HashMap<>());
+        List<ContentEntry> entries = entriesByPath.get(path);
+        if (entries != null) {
+            return Single.just(entries);
+        }
+
+        ResourceAddress address = new ResourceAddress().add(DEPLOYMENT, content.getName());
+        Operation.Builder builder = new Operation.Builder(address, BROWSE_CONTENT).param(DEPTH, 1);
+        if (!path.isEmpty()) {
+            builder.param(PATH, path);
+        }
+        return dispatcher.execute(builder.build())
+                .map(result -> {
+                    List<ModelNode> content = result.isDefined() ? result.asList() : emptyList();
+                    return parser.parse(path, content);
+                })
+                .doOnSuccess(parsed -> entriesByPath.put(path, parsed));
+    }
+
+    private int limit(String path) {
+        return limits.getOrDefault(path, PAGE_SIZE);
+    }
+
+    private String key() {
+        // unmanaged content has no hash
+        String hash = content.getHash();
+        return hash != null ? hash : content.getName();
+    }
+}
@@ -15,107 +15,88 @@
  */
 package org.jboss.hal.client.deployment;
 
+import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.function.Function;
 
 import com.google.common.base.Splitter;
 import com.google.common.collect.Iterables;
-import elemental2.core.JsArray;
 import org.jboss.hal.ballroom.tree.Node;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.resources.Ids;
 
+import static java.util.stream.Collectors.toList;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.PATH;
 import static org.jboss.hal.resources.CSS.fontAwesome;
 
+/** Parses the result of a {@code browse-content} operation for one directory and creates the tree nodes. */
 class ContentParser {
 
     private static final Comparator<ContentEntry> BY_NAME = Comparator.comparing(c -> c.name);
-    private static final Comparator<ContentEntry> BY_DEPTH = Comparator.comparingInt(c -> c.depth);
+    private static final Comparator<ContentEntry> DIRECTORIES_FIRST = Comparator.comparing(c -> !c.directory);
 
     private static final String DIRECTORY = "directory";
     private static final String FILE_SIZE = "file-size";
 
     static final Function<String, String> NODE_ID = path -> Ids.build("bct", path, "node");
+    static final Function<String, String> MORE_ID = path -> Ids.build("bct", path, "more");
+
+    /**
+     * Parses the entries of the specified directory. The content must be the result of a {@code browse-content}
+     * operation with the directory as {@code path} and a {@code depth} of one.
+     *
+     * @param path    the path of the directory ending with '/' or an empty string for the top level
+     * @param content the result of the {@code browse-content} operation
+     *
+     * @return the entries of the directory: directories first, then files, both ordered by name
+     */
+    List<ContentEntry> parse(String path, List<ModelNode> content) {
+        int depth = depth(path);
+        return content.stream()
+                .map(node -> contentEntry(path, depth, node))
+                .filter(contentEntry -> contentEntry.depth == depth + 1)
+                .sorted(DIRECTORIES_FIRST.thenComparing(BY_NAME))
+                .collect(toList());
+    }
 
-    @SuppressWarnings("unchecked")
-    void parse(Node<ContentEntry> root, JsArray<Node<ContentEntry>> nodes, List<ModelNode> content) {
-        nodes.push(root);
-
-        Map<String, Node<ContentEntry>> nodesByPath = new HashMap<>();
-        content.stream()
-                .map(this::contentEntry)
-                .filter(contentEntry -> contentEntry.directory)
-                .sorted(BY_DEPTH.thenComparing(BY_NAME))
-                .forEach(directory -> {
-                    String parentPath = parentPath(directory);
-                    Node<ContentEntry> parent = parentPath == null ? root : nodesByPath.get(parentPath);
-
-                    if (parent != null) {
-                        Node<ContentEntry> node = pushFolder(nodes, parent, directory);
-                        nodesByPath.put(directory.path, node);
-                    }
-                });
-
-        content.stream()
-                .map(this::contentEntry)
-                .filter(contentEntry -> !contentEntry.directory)
-                .sorted(BY_NAME)
-                .forEach(file -> {
-                    String parentPath = parentPath(file);
-                    Node<ContentEntry> parent = parentPath == null ? root : nodesByPath.get(parentPath);
-                    if (parent != null) {
-                        pushEntry(nodes, parent, file);
-                    }
-                });
+    /** Creates the nodes for the first {@code limit} entries of a directory. */
+    List<Node<ContentEntry>> nodes(Node<ContentEntry> parent, List<ContentEntry> entries, int limit) {
+        List<Node<ContentEntry>> nodes = new ArrayList<>();
+        for (ContentEntry contentEntry : entries.subList(0, Math.min(limit, entries.size()))) {
+            Node.Builder<ContentEntry> builder = new Node.Builder<>(NODE_ID.apply(contentEntry.path),
+                    contentEntry.name, contentEntry)
+                    .parent(parent.id);
+            if (contentEntry.directory) {
+                builder.asyncFolder();
+            } else {
+                builder.icon(fontAwesome("file-text-o"));
+            }
+            nodes.add(builder.build());
+        }
+        return nodes;
     }
 
-    private ContentEntry contentEntry(ModelNode node) {
+    private ContentEntry contentEntry(String parentPath, int parentDepth, ModelNode node) {
         String path = node.get(PATH).asString();
         Iterable<String> segments = Splitter.on('/').omitEmptyStrings().split(path);
+        int depth = Iterables.size(segments);
+        if (!(depth == parentDepth + 1 && path.startsWith(parentPath))) {
+            // the path is relative to the directory
+            path = parentPath + path;
+            depth += parentDepth;
+        }
 
         ContentEntry contentEntry = new ContentEntry();
         contentEntry.name = Iterables.getLast(segments);
         contentEntry.path = path;
-        contentEntry.depth = Iterables.size(segments);
+        contentEntry.depth = depth;
         contentEntry.directory = node.hasDefined(DIRECTORY) && node.get(DIRECTORY).asBoolean();
         contentEntry.fileSize = node.hasDefined(FILE_SIZE) ? node.get(FILE_SIZE).asLong() : 0;
         return contentEntry;
     }
 
-    @SuppressWarnings("unchecked")
-    private Node<ContentEntry> pushFolder(JsArray<Node<ContentEntry>> nodes, Node<ContentEntry> parent,
-            ContentEntry contentEntry) {
-        Node<ContentEntry> node = new Node.Builder<>(NODE_ID.apply(contentEntry.path), contentEntry.name, contentEntry)
-                .parent(parent.id)
-                .folder()
-                .build();
-        nodes.push(node);
-        return node;
-    }
-
-    @SuppressWarnings("unchecked")
-    private Node<ContentEntry> pushEntry(JsArray<Node<ContentEntry>> nodes, Node<ContentEntry> parent,
-            ContentEntry contentEntry) {
-        Node<ContentEntry> node = new Node.Builder<>(NODE_ID.apply(contentEntry.path), contentEntry.name, contentEntry)
-                .parent(parent.id)
-                .icon(fontAwesome("file-text-o"))
-                .build();
-        nodes.push(node);
-        return node;
-    }
-
-    private String parentPath(ContentEntry contentEntry) {
-        String path = contentEntry.path.endsWith("/")
-                ? contentEntry.path.substring(0, contentEntry.path.length() - 1)
-                : contentEntry.path;
-        int index = path.lastIndexOf('/');
-        if (index != -1) {
-            return path.substring(0, index + 1);
-        }
-        return null;
+    private int depth(String path) {
+        return Iterables.size(Splitter.on('/').omitEmptyStrings().split(path));
     }
 }
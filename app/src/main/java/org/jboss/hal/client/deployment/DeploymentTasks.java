@@ -16,10 +16,13 @@
 package org.jboss.hal.client.deployment;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import javax.inject.Provider;
@@ -29,6 +32,7 @@ import com.google.web.bindery.event.shared.EventBus;
 import elemental2.dom.File;
 import elemental2.dom.FileList;
 import org.jboss.hal.config.Environment;
+import org.jboss.hal.config.Settings;
 import org.jboss.hal.core.deployment.Content;
 import org.jboss.hal.core.deployment.Deployment;
 import org.jboss.hal.core.deployment.ServerGroupDeployment;
@@ -41,82 +45,100 @@ import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Operation;
 import org.jboss.hal.dmr.Property;
 import org.jboss.hal.dmr.ResourceAddress;
+import org.jboss.hal.dmr.dispatch.DispatchError;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.dmr.dispatch.Dispatcher.OnProgress;
 import org.jboss.hal.flow.FlowContext;
-import org.jboss.hal.flow.Outcome;
 import org.jboss.hal.flow.Progress;
 import org.jboss.hal.flow.Task;
-import org.jboss.hal.resources.Resources;
-import org.jboss.hal.spi.Message;
 import org.jboss.hal.spi.MessageEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Completable;
+import rx.Observable;
+import rx.Single;
 
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
 import static org.jboss.hal.core.finder.FinderColumn.RefreshMode.RESTORE_SELECTION;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
-import static org.jboss.hal.flow.Flow.series;
 
 /** Deployment related functions */
 class DeploymentTasks {
 
     static final String SERVER_GROUP_DEPLOYMENTS = "deploymentFunctions.serverGroupDeployments";
-    private static final String UPLOAD_STATISTICS = "deploymentsFunctions.uploadStatistics";
+    static final String UPLOAD_STATISTICS = "deploymentsFunctions.uploadStatistics";
+    static final String UPLOAD_PROGRESS = "deploymentsFunctions.uploadProgress";
+    static final String CONTENT_HASHES = "deploymentsFunctions.contentHashes";
+    private static final ContentHasher hasher = new ContentHasher();
     private static final Logger logger = LoggerFactory.getLogger(DeploymentTasks.class);
 
     /** Uploads or updates one or multiple deployment in standalone mode resp. content in domain mode. */
-    static <T> void upload(FinderColumn<T> column, Environment environment, Dispatcher dispatcher,
-            EventBus eventBus, Provider<Progress> progress, FileList files,
-            Resources resources) {
+    static <T> void upload(FinderColumn<T> column, Environment environment, Settings settings, Dispatcher dispatcher,
+            EventBus eventBus, Provider<Progress> progress, FileList files) {
         if (files.getLength() > 0) {
 
             StringBuilder builder = new StringBuilder();
-            List<Task<FlowContext>> tasks = new ArrayList<>();
+            UploadScheduler scheduler = new UploadScheduler(environment, settings, progress.get());
 
             for (int i = 0; i < files.getLength(); i++) {
-                String filename = files.item(i).name;
-                builder.append(filename).append(" ");
-                tasks.add(new CheckDeployment(dispatcher, filename));
-                tasks.add(new UploadOrReplace(environment, dispatcher, filename, filename, files.item(i), true));
+                File file = files.item(i);
+                builder.append(file.name).append(" ");
+                scheduler.add(file, asList(
+                        new CheckDeployment(dispatcher, file.name),
+                        new UploadOrReplace(environment, dispatcher, file.name, file.name, file, true)));
             }
 
             logger.debug("About to upload / update {} file(s): {}", files.getLength(), builder);
-            series(new FlowContext(progress.get()), tasks)
-                    .subscribe(new UploadOutcome<>(column, eventBus, files, resources));
+            scheduler.run().subscribe(statistics -> uploaded(column, eventBus, statistics));
         }
     }
 
     /** Uploads a content and deploys it to a server group. */
-    static <T> void uploadAndDeploy(FinderColumn<T> column, Environment environment,
-            Dispatcher dispatcher, EventBus eventBus, Provider<Progress> progress,
-            FileList files, String serverGroup, Resources resources) {
+    static <T> void uploadAndDeploy(FinderColumn<T> column, Environment environment, Settings settings,
+            Dispatcher dispatcher, EventBus eventBus, Provider<Progress> progress, FileList files,
+            String serverGroup) {
         if (files.getLength() > 0) {
 
             StringBuilder builder = new StringBuilder();
-            List<Task<FlowContext>> tasks = new ArrayList<>();
+            UploadScheduler scheduler = new UploadScheduler(environment, settings, progress.get());
 
             for (int i = 0; i < files.getLength(); i++) {
-                String filename = files.item(i).name;
-                builder.append(filename).append(" ");
-                tasks.add(new CheckDeployment(dispatcher, filename));
-                tasks.add(new UploadOrReplace(environment, dispatcher, filename, filename, files.item(i), false));
-                tasks.add(new AddServerGroupDeployment(environment, dispatcher, filename, filename, serverGroup));
+                File file = files.item(i);
+                builder.append(file.name).append(" ");
+                scheduler.add(file, asList(
+                        new CheckDeployment(dispatcher, file.name),
+                        new UploadOrReplace(environment, dispatcher, file.name, file.name, file, false),
+                        new AddServerGroupDeployment(environment, dispatcher, file.name, file.name, serverGroup)));
             }
 
             logger.debug("About to upload and deploy {} file(s): {} to server group {}",
                     files.getLength(), builder, serverGroup);
-            series(new FlowContext(progress.get()), tasks)
-                    .subscribe(new UploadOutcome<>(column, eventBus, files, resources));
+            scheduler.run().subscribe(statistics -> uploaded(column, eventBus, statistics));
         }
     }
 
+    private static <T> void uploaded(FinderColumn<T> column, EventBus eventBus, UploadStatistics statistics) {
+        eventBus.fireEvent(new MessageEvent(statistics.getMessage()));
+        column.refresh(RESTORE_SELECTION);
+    }
+
     private DeploymentTasks() {
     }
 
+    /** @return the hashes of the managed content (mutable) */
+    private static Set<String> contentHashes(Collection<Content> content) {
+        return content.stream()
+                .map(Content::getHash)
+                .filter(Objects::nonNull)
+                .collect(toCollection(HashSet::new));
+    }
+
 
     /** Loads the contents form the content repository and pushes a {@code List<Content>} onto the context stack. */
     static class LoadContent implements Task<FlowContext> {
@@ -168,6 +190,7 @@ class DeploymentTasks {
                         content.addDeployment(serverGroupDeployment);
                     }
                 }
+                context.set(CONTENT_HASHES, contentHashes(contentByName.values()));
                 context.push(new ArrayList<>(contentByName.values()));
             }).toCompletable();
         }
@@ -365,10 +388,15 @@ class DeploymentTasks {
      * is replaced.
      * <p>
      * The function puts an {@link UploadStatistics} under the key {@link DeploymentTasks#UPLOAD_STATISTICS} into the
-     * context.
+     * context. If the context contains an {@link OnProgress} callback under the key {@link
+     * DeploymentTasks#UPLOAD_PROGRESS}, the uploaded bytes are reported to this callback. Uploads which fail because of
+     * network or server errors are retried up to {@value #MAX_RETRIES} times.
      */
     static class UploadOrReplace implements Task<FlowContext> {
 
+        private static final int MAX_RETRIES = 2;
+        private static final int RETRY_DELAY = 1_000; // ms, doubled for each retry
+
         private final Environment environment;
         private final Dispatcher dispatcher;
         private final String name;
@@ -389,8 +417,6 @@ class DeploymentTasks {
         @Override
         public Completable call(FlowContext context) {
             boolean replace;
-            Operation.Builder builder;
-
             if (context.emptyStack()) {
                 replace = false;
             } else {
@@ -398,6 +424,106 @@ class DeploymentTasks {
                 replace = status == 200;
             }
 
+            return existingHash(context)
+                    .flatMap(hash -> {
+                        if (hash != null) {
+                            Operation operation = operation(replace);
+                            operation.get(CONTENT).add().get(HASH).set(bytes(hash));
+                            return dispatcher.execute(operation)
+                                    .doOnSuccess(result -> statistics(context).recordReused((long) file.size))
+                                    .onErrorResumeNext(throwable -> {
+                                        logger.warn("Unable to use existing content {} for {}: {}. Upload file.",
+                                                hash, name, throwable.getMessage());
+                                        return upload(context, replace);
+                                    });
+                        }
+                        return upload(context, replace);
+                    })
+                    .doOnSuccess(result -> {
+                        if (replace) {
+                            statistics(context).recordReplaced(name);
+                        } else {
+                            statistics(context).recordAdded(name);
+                        }
+                    })
+                    .doOnError(throwable -> statistics(context).recordFailed(name))
+                    .toCompletable();
+        }
+
+        /**
+         * Emits the hash of the file if the content repository already contains the file or {@code null} otherwise.
+         * The hash is calculated only if the repository is not empty. Errors are swallowed and lead to a regular
+         * upload.
+         */
+        private Single<String> existingHash(FlowContext context) {
+            return readContentHashes(context)
+                    .flatMap(hashes -> {
+                        if (hashes.isEmpty()) {
+                            return Single.just((String) null);
+                        }
+                        return hasher.sha1(file).map(hash -> {
+                            if (hashes.contains(hash)) {
+                                logger.debug("Content {} of {} is already in the repository", hash, name);
+                                return hash;
+                            }
+                            hashes.add(hash); // the file is about to be uploaded
+                            return null;
+                        });
+                    })
+                    .onErrorReturn(throwable -> {
+                        logger.debug("Unable to check whether {} is already in the repository: {}", name,
+                                throwable.getMessage());
+                        return null;
+                    });
+        }
+
+        private Single<Set<String>> readContentHashes(FlowContext context) {
+            Set<String> hashes = context.get(CONTENT_HASHES);
+            if (hashes != null) {
+                return Single.just(hashes);
+            }
+            Operation operation = new Operation.Builder(ResourceAddress.root(), READ_CHILDREN_RESOURCES_OPERATION)
+                    .param(CHILD_TYPE, DEPLOYMENT)
+                    .build();
+            return dispatcher.execute(operation)
+                    .map(result -> contentHashes(result.asPropertyList().stream()
+                            .map(property -> new Content(property.getValue()))
+                            .collect(toList())))
+                    .doOnSuccess(contentHashes -> context.set(CONTENT_HASHES, contentHashes));
+        }
+
+        private Single<ModelNode> upload(FlowContext context, boolean replace) {
+            Operation operation = operation(replace);
+            operation.get(CONTENT).add().get(INPUT_STREAM_INDEX).set(0); //NON-NLS
+            OnProgress progress = context.get(UPLOAD_PROGRESS);
+            return dispatcher.upload(file, operation, progress).retryWhen(this::retry);
+        }
+
+        /** Retries uploads which failed because of network or server errors with an increasing delay. */
+        private Observable<?> retry(Observable<? extends Throwable> errors) {
+            int[] attempts = new int[]{0};
+            return errors.flatMap(error -> {
+                if (attempts[0] < MAX_RETRIES && retryable(error)) {
+                    attempts[0]++;
+                    int delay = RETRY_DELAY << (attempts[0] - 1);
+                    logger.warn("Unable to upload {}: {}. Retry {} of {} in {} ms", name, error.getMessage(),
+                            attempts[0], MAX_RETRIES, delay);
+                    return Observable.timer(delay, MILLISECONDS);
+                }
+                return Observable.error(error);
+            });
+        }
+
+        private boolean retryable(Throwable error) {
+            if (error instanceof DispatchError) {
+                int status = ((DispatchError) error).getStatusCode();
+                return status == 0 || status >= 500;
+            }
+            return false;
+        }
+
+        private Operation operation(boolean replace) {
+            Operation.Builder builder;
             if (replace) {
                 builder = new Operation.Builder(ResourceAddress.root(), FULL_REPLACE_DEPLOYMENT) //NON-NLS
                         .param(NAME, name)
@@ -407,33 +533,25 @@ class DeploymentTasks {
                 builder = new Operation.Builder(new ResourceAddress().add(DEPLOYMENT, name), ADD)
                         .param(RUNTIME_NAME, runtimeName)
                         .param(ENABLED, enabled);
+            }
+            return builder.build();
+        }
 
+        private UploadStatistics statistics(FlowContext context) {
+            UploadStatistics statistics = context.get(UPLOAD_STATISTICS);
+            if (statistics == null) {
+                statistics = new UploadStatistics(environment);
+                context.set(UPLOAD_STATISTICS, statistics);
             }
-            Operation operation = builder.build();
-            operation.get(CONTENT).add().get(INPUT_STREAM_INDEX).set(0); //NON-NLS
+            return statistics;
+        }
 
-            return dispatcher.upload(file, operation)
-                    .doOnSuccess(result -> {
-                        UploadStatistics statistics = context.get(UPLOAD_STATISTICS);
-                        if (statistics == null) {
-                            statistics = new UploadStatistics(environment);
-                            context.set(UPLOAD_STATISTICS, statistics);
-                        }
-                        if (ADD.equals(operation.getName())) {
-                            statistics.recordAdded(name);
-                        } else {
-                            statistics.recordReplaced(name);
-                        }
-                    })
-                    .doOnError(throwable -> {
-                        UploadStatistics statistics = context.get(UPLOAD_STATISTICS);
-                        if (statistics == null) {
-                            statistics = new UploadStatistics(environment);
-                            context.set(UPLOAD_STATISTICS, statistics);
-                        }
-                        statistics.recordFailed(name);
-                    })
-                    .toCompletable();
+        private static byte[] bytes(String hex) {
+            byte[] bytes = new byte[hex.length() / 2];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+            }
+            return bytes;
         }
     }
 
@@ -459,36 +577,4 @@ class DeploymentTasks {
             return dispatcher.execute(operation).toCompletable();
         }
     }
-
-
-    private static class UploadOutcome<T> extends Outcome<FlowContext> {
-
-        private final FinderColumn<T> column;
-        private final EventBus eventBus;
-        private final Resources resources;
-        private final FileList files;
-
-        private UploadOutcome(FinderColumn<T> column, EventBus eventBus, FileList files, Resources resources) {
-            this.column = column;
-            this.eventBus = eventBus;
-            this.resources = resources;
-            this.files = files;
-        }
-
-        @Override
-        public void onError(FlowContext context, Throwable throwable) {
-            MessageEvent.fire(eventBus, Message.error(resources.messages().deploymentOpFailed(files.getLength())));
-        }
-
-        @Override
-        public void onSuccess(FlowContext context) {
-            UploadStatistics statistics = context.get(UPLOAD_STATISTICS);
-            if (statistics != null) {
-                eventBus.fireEvent(new MessageEvent(statistics.getMessage()));
-            } else {
-                logger.error("Unable to find upload statistics in the context using key '{}'", UPLOAD_STATISTICS);
-            }
-            column.refresh(RESTORE_SELECTION);
-        }
-    }
 }
@@ -40,6 +40,7 @@ import org.jboss.hal.client.deployment.wizard.NamesStep;
 import org.jboss.hal.client.deployment.wizard.UploadDeploymentStep;
 import org.jboss.hal.client.deployment.wizard.DeploymentState;
 import org.jboss.hal.config.Environment;
+import org.jboss.hal.config.Settings;
 import org.jboss.hal.core.CrudOperations;
 import org.jboss.hal.core.SuccessfulOutcome;
 import org.jboss.hal.core.deployment.Content;
@@ -107,6 +108,7 @@ public class ServerGroupDeploymentColumn extends FinderColumn<ServerGroupDeploym
             .of(SERVER_GROUP_DEPLOYMENT_ADDRESS);
 
     private final Environment environment;
+    private final Settings settings;
     private final EventBus eventBus;
     private final Dispatcher dispatcher;
     private final StatementContext statementContext;
@@ -119,6 +121,7 @@ public class ServerGroupDeploymentColumn extends FinderColumn<ServerGroupDeploym
             ColumnActionFactory columnActionFactory,
             ItemActionFactory itemActionFactory,
             Environment environment,
+            Settings settings,
             EventBus eventBus,
             Dispatcher dispatcher,
             Places places,
@@ -136,6 +139,7 @@ public class ServerGroupDeploymentColumn extends FinderColumn<ServerGroupDeploym
                 .withFilter());
 
         this.environment = environment;
+        this.settings = settings;
         this.eventBus = eventBus;
         this.dispatcher = dispatcher;
         this.statementContext = statementContext;
@@ -297,8 +301,8 @@ public class ServerGroupDeploymentColumn extends FinderColumn<ServerGroupDeploym
     public void attach() {
         super.attach();
         if (JsHelper.supportsAdvancedUpload()) {
-            setOnDrop(event -> DeploymentTasks.uploadAndDeploy(this, environment, dispatcher, eventBus, progress,
-                    event.dataTransfer.files, statementContext.selectedServerGroup(), resources));
+            setOnDrop(event -> DeploymentTasks.uploadAndDeploy(this, environment, settings, dispatcher,
+                    eventBus, progress, event.dataTransfer.files, statementContext.selectedServerGroup()));
         }
     }
 
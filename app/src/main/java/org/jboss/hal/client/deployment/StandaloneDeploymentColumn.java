@@ -38,6 +38,7 @@ import org.jboss.hal.client.deployment.wizard.UploadDeploymentStep;
 import org.jboss.hal.client.shared.uploadwizard.UploadElement;
 import org.jboss.hal.client.deployment.wizard.DeploymentState;
 import org.jboss.hal.config.Environment;
+import org.jboss.hal.config.Settings;
 import org.jboss.hal.core.CrudOperations;
 import org.jboss.hal.core.SuccessfulOutcome;
 import org.jboss.hal.core.deployment.Deployment;
@@ -100,6 +101,7 @@ public class StandaloneDeploymentColumn extends FinderColumn<Deployment> {
     static final AddressTemplate DEPLOYMENT_TEMPLATE = AddressTemplate.of(DEPLOYMENT_ADDRESS);
 
     private final Environment environment;
+    private final Settings settings;
     private final Dispatcher dispatcher;
     private final StatementContext statementContext;
     private final EventBus eventBus;
@@ -112,6 +114,7 @@ public class StandaloneDeploymentColumn extends FinderColumn<Deployment> {
             ColumnActionFactory columnActionFactory,
             ItemActionFactory itemActionFactory,
             Environment environment,
+            Settings settings,
             ServerActions serverActions,
             Dispatcher dispatcher,
             CrudOperations crud,
@@ -145,6 +148,7 @@ public class StandaloneDeploymentColumn extends FinderColumn<Deployment> {
                 .filterDescription(resources.messages().deploymentStandaloneColumnFilterDescription()));
 
         this.environment = environment;
+        this.settings = settings;
         this.dispatcher = dispatcher;
         this.statementContext = statementContext;
         this.eventBus = eventBus;
@@ -268,9 +272,8 @@ public class StandaloneDeploymentColumn extends FinderColumn<Deployment> {
     public void attach() {
         super.attach();
         if (JsHelper.supportsAdvancedUpload()) {
-            setOnDrop(event -> DeploymentTasks.upload(this, environment, dispatcher, eventBus, progress,
-                    event.dataTransfer.files, resources
-            ));
+            setOnDrop(event -> DeploymentTasks.upload(this, environment, settings, dispatcher, eventBus,
+                    progress, event.dataTransfer.files));
         }
     }
 
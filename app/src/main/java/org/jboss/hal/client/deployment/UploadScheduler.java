@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.client.deployment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import elemental2.dom.File;
+import org.jboss.hal.config.Environment;
+import org.jboss.hal.config.Settings;
+import org.jboss.hal.dmr.dispatch.Dispatcher.OnProgress;
+import org.jboss.hal.flow.FlowContext;
+import org.jboss.hal.flow.Progress;
+import org.jboss.hal.flow.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Completable;
+import rx.Observable;
+import rx.Single;
+
+import static org.jboss.hal.client.deployment.DeploymentTasks.CONTENT_HASHES;
+import static org.jboss.hal.client.deployment.DeploymentTasks.UPLOAD_PROGRESS;
+import static org.jboss.hal.client.deployment.DeploymentTasks.UPLOAD_STATISTICS;
+import static org.jboss.hal.config.Settings.Key.UPLOAD_PARALLELISM;
+import static org.jboss.hal.flow.Flow.series;
+
+/**
+ * Uploads multiple files concurrently. Each file has its own list of tasks (e.g. {@link
+ * DeploymentTasks.CheckDeployment} and {@link DeploymentTasks.UploadOrReplace}) which are executed in order using a
+ * dedicated {@link FlowContext}. Up to {@link Settings.Key#UPLOAD_PARALLELISM} files are processed at the same time.
+ * <p>
+ * The progress indicator reflects the uploaded bytes of all files. A failed file does not abort the other files: The
+ * results of all files are collected in one {@link UploadStatistics} instance which is emitted at the end.
+ */
+class UploadScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadScheduler.class);
+
+    private final Progress progress;
+    private final int parallelism;
+    private final List<Upload> uploads;
+    private final UploadStatistics statistics;
+    private Set<String> contentHashes;
+    private double totalBytes;
+    private int percent;
+
+    UploadScheduler(Environment environment, Settings settings, Progress progress) {
+        this.progress = progress;
+        this.parallelism = Math.max(1,
+                settings.get(UPLOAD_PARALLELISM).asInt(Settings.DEFAULT_UPLOAD_PARALLELISM));
+        this.uploads = new ArrayList<>();
+        this.statistics = new UploadStatistics(environment);
+        this.totalBytes = 0;
+        this.percent = 0;
+    }
+
+    void add(File file, List<Task<FlowContext>> tasks) {
+        uploads.add(new Upload(file, tasks));
+        totalBytes += file.size;
+    }
+
+    /** Processes all files and emits the statistics. Never fails: Errors are recorded in the statistics. */
+    Single<UploadStatistics> run() {
+        logger.debug("Upload {} file(s) using {} parallel upload(s)", uploads.size(), parallelism);
+        return Completable.merge(Observable.from(uploads).map(this::process), parallelism)
+                .doOnSubscribe(subscription -> progress.reset(100))
+                .doAfterTerminate(progress::finish)
+                .toSingle(() -> statistics);
+    }
+
+    private Completable process(Upload upload) {
+        return Completable.defer(() -> {
+            FlowContext context = new FlowContext();
+            context.set(UPLOAD_STATISTICS, statistics);
+            context.set(UPLOAD_PROGRESS, (OnProgress) (loaded, total) -> uploaded(upload, loaded));
+            if (contentHashes != null) {
+                context.set(CONTENT_HASHES, contentHashes);
+            }
+            return series(context, upload.tasks)
+                    .doOnSuccess(c -> {
+                        if (contentHashes == null) {
+                            contentHashes = c.get(CONTENT_HASHES);
+                        }
+                    })
+                    .toCompletable()
+                    .doOnError(throwable -> {
+                        logger.error("Unable to upload {}: {}", upload.file.name, throwable.getMessage());
+                        statistics.recordFailed(upload.file.name);
+                    })
+                    .onErrorComplete()
+                    .doOnCompleted(() -> uploaded(upload, upload.file.size));
+        });
+    }
+
+    private void uploaded(Upload upload, double loaded) {
+        upload.loaded = Math.max(upload.loaded, Math.min(loaded, upload.file.size));
+        double loadedBytes = 0;
+        for (Upload u : uploads) {
+            loadedBytes += u.loaded;
+        }
+        int current = totalBytes > 0 ? (int) (loadedBytes / totalBytes * 100) : 100;
+        while (percent < current) {
+            percent++;
+            progress.tick();
+        }
+    }
+
+
+    private static class Upload {
+
+        private final File file;
+        private final List<Task<FlowContext>> tasks;
+        private double loaded;
+
+        private Upload(File file, List<Task<FlowContext>> tasks) {
+            this.file = file;
+            this.tasks = tasks;
+            this.loaded = 0;
+        }
+    }
+}
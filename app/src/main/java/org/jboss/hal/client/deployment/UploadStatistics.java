@@ -23,6 +23,7 @@ import java.util.TreeSet;
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.safehtml.shared.SafeHtml;
 import com.google.gwt.safehtml.shared.SafeHtmlBuilder;
+import org.jboss.hal.ballroom.Format;
 import org.jboss.hal.config.Environment;
 import org.jboss.hal.resources.Messages;
 import org.jboss.hal.spi.Message;
@@ -30,7 +31,8 @@ import org.jboss.hal.spi.Message.Level;
 
 /**
  * Holds information about added, replaced and failed uploads and provides a message which summarizes the upload of one
- * or several files.
+ * or several files. Files which were already in the content repository and which have been deployed using their hash
+ * are counted together with the bytes which didn't need to be uploaded.
  */
 class UploadStatistics {
 
@@ -43,10 +45,14 @@ class UploadStatistics {
 
     private final Environment environment;
     private final Map<String, UploadStatus> status;
+    private int reused;
+    private long bytesSaved;
 
     UploadStatistics(Environment environment) {
         this.environment = environment;
         this.status = new HashMap<>();
+        this.reused = 0;
+        this.bytesSaved = 0;
     }
 
     void recordAdded(String name) {
@@ -61,6 +67,12 @@ class UploadStatistics {
         status.put(name, UploadStatus.FAILED);
     }
 
+    /** Records a file which was not uploaded, because its content was already in the content repository. */
+    void recordReused(long size) {
+        reused++;
+        bytesSaved += size;
+    }
+
     public Message getMessage() {
         SortedSet<String> added = new TreeSet<>();
         SortedSet<String> replaced = new TreeSet<>();
@@ -150,6 +162,10 @@ class UploadStatistics {
                 builder.append(MESSAGES.contentOpFailed(failed.size()));
             }
         }
+        if (reused > 0) {
+            builder.appendHtmlConstant("<br/>"); //NON-NLS
+            builder.append(MESSAGES.contentReused(reused, Format.humanReadableFileSize(bytesSaved)));
+        }
         return builder.toSafeHtml();
     }
 }
@@ -37,7 +37,7 @@ public class AddUnmanagedDialog {
     public AddUnmanagedDialog(Metadata metadata, Resources resources, AddResourceDialog.Callback callback) {
         ModelNode rp = ModelNodeHelper.failSafeGet(metadata.getDescription(),
                 String.join("/", OPERATIONS, ADD, REQUEST_PROPERTIES));
-        ModelNode vt = ModelNodeHelper.failSafeGet(rp, CONTENT + "/" + VALUE_TYPE);
+        ModelNode vt = ModelNodeHelper.failSafeGet(rp, CONTENT + "/" + VALUE_TYPE).clone();
         // the "path" attribute requires "archive", but archive may be false, that is a directory deployment
         // but the validation will not let pass, so remove the "requires" and manually set the value if user sets it
         vt.get(PATH).remove(REQUIRES);
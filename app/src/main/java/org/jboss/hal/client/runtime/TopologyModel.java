@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.client.runtime;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.jboss.hal.core.runtime.HasServersNode;
+import org.jboss.hal.core.runtime.group.ServerGroup;
+import org.jboss.hal.core.runtime.host.Host;
+import org.jboss.hal.core.runtime.server.Server;
+
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * The hosts, server groups and servers shown in the {@link TopologyPreview}. The model is read once and patched
+ * afterwards with the results of the targeted refresh tasks in {@link org.jboss.hal.core.runtime.TopologyTasks}.
+ * <p>
+ * A patch is only possible if the structure of the topology didn't change, i.e. if the refreshed host or server group
+ * still has the same servers. Otherwise the patch methods return {@code false} and the topology has to be read again.
+ */
+class TopologyModel {
+
+    private final List<Host> hosts;
+    private final List<ServerGroup> serverGroups;
+    private final List<Server> servers;
+
+    TopologyModel(List<Host> hosts, List<ServerGroup> serverGroups, List<Server> servers) {
+        this.hosts = hosts;
+        this.serverGroups = serverGroups;
+        this.servers = servers;
+    }
+
+    Host host(String name) {
+        return find(hosts, host -> host.getName().equals(name));
+    }
+
+    ServerGroup serverGroup(String name) {
+        return find(serverGroups, serverGroup -> serverGroup.getName().equals(name));
+    }
+
+    /** Replaces the server in the list of servers and in its host and server group. */
+    boolean replaceServer(Server server) {
+        Host host = host(server.getHost());
+        ServerGroup serverGroup = serverGroup(server.getServerGroup());
+        if (host != null && serverGroup != null && contains(host, server) && contains(serverGroup, server)) {
+            replace(servers, server);
+            host.replaceServer(server);
+            serverGroup.replaceServer(server);
+            return true;
+        }
+        return false;
+    }
+
+    /** Replaces the host and all of its servers. The host must have the same servers as before. */
+    boolean replaceHost(Host host) {
+        Host existing = host(host.getName());
+        if (existing != null && sameServers(existing, host)) {
+            hosts.set(hosts.indexOf(existing), host);
+            for (Server server : host.getServers()) {
+                replaceServer(server);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /** Replaces the server group and all of its servers. The server group must have the same servers as before. */
+    boolean replaceServerGroup(ServerGroup serverGroup) {
+        ServerGroup existing = serverGroup(serverGroup.getName());
+        if (existing != null && sameServers(existing, serverGroup)) {
+            serverGroups.set(serverGroups.indexOf(existing), serverGroup);
+            for (Server server : serverGroup.getServers()) {
+                replaceServer(server);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private void replace(List<Server> servers, Server server) {
+        for (int i = 0; i < servers.size(); i++) {
+            if (servers.get(i).getId().equals(server.getId())) {
+                servers.set(i, server);
+                return;
+            }
+        }
+    }
+
+    private boolean contains(HasServersNode node, Server server) {
+        return node.hasServers(s -> s.getId().equals(server.getId()));
+    }
+
+    private boolean sameServers(HasServersNode existing, HasServersNode updated) {
+        Set<String> existingIds = existing.getServers().stream().map(Server::getId).collect(toSet());
+        Set<String> updatedIds = updated.getServers().stream().map(Server::getId).collect(toSet());
+        return existingIds.equals(updatedIds);
+    }
+
+    private <T> T find(List<T> list, Predicate<T> predicate) {
+        for (T t : list) {
+            if (predicate.test(t)) {
+                return t;
+            }
+        }
+        return null;
+    }
+}
@@ -16,6 +16,7 @@
 package org.jboss.hal.client.runtime;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -93,6 +94,7 @@ import org.jboss.hal.resources.Resources;
 import org.jboss.hal.resources.UIConstants;
 import org.jboss.hal.spi.Message;
 import org.jboss.hal.spi.MessageEvent;
+import rx.Subscription;
 
 import static com.google.common.collect.Lists.asList;
 import static elemental2.dom.DomGlobal.clearTimeout;
@@ -102,7 +104,8 @@ import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.toList;
 import static org.jboss.gwt.elemento.core.Elements.*;
 import static org.jboss.gwt.elemento.core.EventType.click;
-import static org.jboss.hal.core.runtime.TopologyTasks.topology;
+import static org.jboss.hal.core.runtime.TopologyTasks.readHosts;
+import static org.jboss.hal.core.runtime.TopologyTasks.readServerGroups;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
 import static org.jboss.hal.flow.Flow.series;
 import static org.jboss.hal.resources.CSS.centerBlock;
@@ -140,6 +143,8 @@ class TopologyPreview extends PreviewContent<StaticItem> implements HostActionHa
 
     private static final String DOT = ".";
     private static final String CONTAINER = "container";
+    private static final Comparator<Host> HOST_ORDER = comparing((Host host) -> !host.isDomainController())
+            .thenComparing(Host::getName);
 
     private final SecurityContextRegistry securityContextRegistry;
     private final Environment environment;
@@ -161,6 +166,8 @@ class TopologyPreview extends PreviewContent<StaticItem> implements HostActionHa
     private final PreviewAttributes<Server> serverAttributes;
     private final HTMLElement serverUrl;
     private final LabelBuilder labelBuilder;
+    private TopologyModel model;
+    private Subscription subscription;
 
     TopologyPreview(SecurityContextRegistry securityContextRegistry,
             Environment environment,
@@ -301,6 +308,14 @@ class TopologyPreview extends PreviewContent<StaticItem> implements HostActionHa
         return token;
     }
 
+    @Override
+    public void detach() {
+        super.detach();
+        if (subscription != null) {
+            subscription.unsubscribe();
+        }
+    }
+
 
     // ------------------------------------------------------ dmr functions
 
@@ -317,109 +332,192 @@ class TopologyPreview extends PreviewContent<StaticItem> implements HostActionHa
         setVisible(topologySection, false);
         hideDetails();
 
+        if (subscription != null) {
+            subscription.unsubscribe();
+        }
+        model = null;
+
         // show the loading indicator if the operations take too long
         double timeoutHandle = setTimeout((o) -> setVisible(loadingSection, true), MEDIUM_TIMEOUT);
-        series(new FlowContext(progress.get()), topology(environment, dispatcher))
+        Progress topologyProgress = progress.get();
+        topologyProgress.reset();
+        subscription = readServerGroups(environment, dispatcher).subscribe(
+                serverGroups -> {
+                    clearTimeout(timeoutHandle);
+                    setVisible(loadingSection, false);
+                    Elements.removeChildrenFrom(topologySection);
+
+                    // render the server groups and add the hosts as they come in
+                    List<Host> hosts = new ArrayList<>();
+                    List<Server> servers = new ArrayList<>();
+                    HTMLElement tbody = tbody().element();
+                    topologySection.appendChild(buildTable(serverGroups, tbody));
+                    setVisible(topologySection, true);
+
+                    subscription = readHosts(environment, dispatcher)
+                            .doOnTerminate(topologyProgress::finish)
+                            .subscribe(
+                                    host -> addHost(tbody, host, hosts, serverGroups, servers),
+                                    this::topologyError,
+                                    () -> {
+                                        model = new TopologyModel(hosts, serverGroups, servers);
+
+                                        // restore selection
+                                        if (hostName != null) {
+                                            hosts.stream()
+                                                    .filter(host -> hostName.equals(host.getName()))
+                                                    .findAny()
+                                                    .ifPresent(host -> hostDetails(host));
+                                        }
+                                        if (serverGroupName != null) {
+                                            serverGroups.stream()
+                                                    .filter(serverGroup -> serverGroupName.equals(
+                                                            serverGroup.getName()))
+                                                    .findAny()
+                                                    .ifPresent(serverGroup -> serverGroupDetails(serverGroup));
+                                        }
+                                        if (serverName != null) {
+                                            servers.stream()
+                                                    .filter(server -> serverName.equals(server.getName()))
+                                                    .findAny()
+                                                    .ifPresent(server -> serverDetails(server));
+                                        }
+                                    });
+                },
+                error -> {
+                    clearTimeout(timeoutHandle);
+                    setVisible(loadingSection, false);
+                    topologyProgress.finish();
+                    topologyError(error);
+                });
+    }
+
+    /**
+     * Adds the host and its servers to the topology. The row of the host is inserted according to the order of the
+     * hosts, the elements of the server groups are updated.
+     */
+    private void addHost(HTMLElement tbody, Host host, List<Host> hosts, List<ServerGroup> serverGroups,
+            List<Server> servers) {
+        hosts.add(host);
+        hosts.sort(HOST_ORDER);
+        servers.addAll(host.getServers());
+        tbody.insertBefore(hostRow(host, serverGroups), tbody.children.item(hosts.indexOf(host)));
+
+        Set<String> serverGroupNames = new HashSet<>();
+        for (Server server : host.getServers()) {
+            serverGroups.stream()
+                    .filter(serverGroup -> serverGroup.getName().equals(server.getServerGroup()))
+                    .findAny()
+                    .ifPresent(serverGroup -> {
+                        serverGroup.addServer(server);
+                        serverGroupNames.add(serverGroup.getName());
+                    });
+        }
+        serverGroups.stream()
+                .filter(serverGroup -> serverGroupNames.contains(serverGroup.getName()))
+                .forEach(this::replaceServerGroupElement);
+        adjustTdHeight();
+    }
+
+    private void topologyError(Throwable error) {
+        MessageEvent.fire(eventBus, Message.error(resources.messages().topologyError(), error.getMessage()));
+    }
+
+    /** Reads the server and updates the server, its host and its server group. */
+    private void updateServer(Server server) {
+        if (model == null) {
+            update(null);
+            return;
+        }
+        series(new FlowContext(progress.get()),
+                TopologyTasks.server(environment, dispatcher, server.getHost(), server.getName()))
                 .subscribe(new Outcome<FlowContext>() {
                     @Override
                     public void onError(FlowContext context, Throwable error) {
-                        clearTimeout(timeoutHandle);
-                        setVisible(loadingSection, false);
                         MessageEvent.fire(eventBus,
-                                Message.error(resources.messages().topologyError(), error.getMessage()));
+                                Message.error(resources.messages().updateServerError(server.getName()),
+                                        error.getMessage()));
                     }
 
                     @Override
                     public void onSuccess(FlowContext context) {
-                        clearTimeout(timeoutHandle);
-                        setVisible(loadingSection, false);
-                        Elements.removeChildrenFrom(topologySection);
-
-                        List<Host> hosts = context.get(TopologyTasks.HOSTS);
-                        List<ServerGroup> serverGroups = context.get(TopologyTasks.SERVER_GROUPS);
                         List<Server> servers = context.get(TopologyTasks.SERVERS);
-
-                        topologySection.appendChild(buildTable(hosts, serverGroups, servers));
-                        setVisible(topologySection, true);
-                        adjustTdHeight();
-
-                        // restore selection
-                        if (hostName != null) {
-                            hosts.stream()
-                                    .filter(host -> hostName.equals(host.getName()))
-                                    .findAny()
-                                    .ifPresent(host -> hostDetails(host));
-                        }
-                        if (serverGroupName != null) {
-                            serverGroups.stream()
-                                    .filter(serverGroup -> serverGroupName.equals(serverGroup.getName()))
-                                    .findAny()
-                                    .ifPresent(serverGroup -> serverGroupDetails(serverGroup));
-                        }
-                        if (serverName != null) {
-                            servers.stream()
-                                    .filter(server -> serverName.equals(server.getName()))
-                                    .findAny()
-                                    .ifPresent(server -> serverDetails(server));
+                        if (servers.isEmpty() || !model.replaceServer(servers.get(0))) {
+                            update(null); // the topology has changed
+                            return;
                         }
+                        Server updatedServer = servers.get(0);
+                        replaceServerElement(updatedServer);
+                        // Update not only the server, but also the host and server group elements. Since the
+                        // server's state has changed the host and server group dropdown links need to be updated
+                        // as well.
+                        replaceHostElement(model.host(updatedServer.getHost()));
+                        replaceServerGroupElement(model.serverGroup(updatedServer.getServerGroup()));
                     }
                 });
     }
 
-    private void updateServer(Server server) {
-        series(new FlowContext(progress.get()), topology(environment, dispatcher))
+    /** Reads the host and updates the host, its servers and their server groups. */
+    private void updateHost(Host host) {
+        if (model == null) {
+            update(null);
+            return;
+        }
+        series(new FlowContext(progress.get()), TopologyTasks.host(environment, dispatcher, host.getName()))
                 .subscribe(new Outcome<FlowContext>() {
                     @Override
                     public void onError(FlowContext context, Throwable error) {
-                        MessageEvent.fire(eventBus,
-                                Message.error(resources.messages().updateServerError(server.getName()),
-                                        error.getMessage()));
+                        update(null);
                     }
 
                     @Override
                     public void onSuccess(FlowContext context) {
-                        Host host = null;
                         List<Host> hosts = context.get(TopologyTasks.HOSTS);
-                        for (Host h : hosts) {
-                            if (h.getName().equals(server.getHost())) {
-                                host = h;
-                                break;
-                            }
+                        if (hosts.isEmpty() || !model.replaceHost(hosts.get(0))) {
+                            update(null); // the topology has changed
+                            return;
                         }
-                        ServerGroup serverGroup = null;
-                        List<ServerGroup> serverGroups = context.get(TopologyTasks.SERVER_GROUPS);
-                        for (ServerGroup sg : serverGroups) {
-                            if (sg.getName().equals(server.getServerGroup())) {
-                                serverGroup = sg;
-                                break;
-                            }
+                        Host updatedHost = hosts.get(0);
+                        replaceHostElement(updatedHost);
+                        Set<String> serverGroups = new HashSet<>();
+                        for (Server server : updatedHost.getServers()) {
+                            replaceServerElement(server);
+                            serverGroups.add(server.getServerGroup());
                         }
+                        serverGroups.forEach(serverGroup -> replaceServerGroupElement(model.serverGroup(serverGroup)));
+                    }
+                });
+    }
 
-                        if (host != null && serverGroup != null) {
-                            // Does not matter where we take the updated server from (must be included in both
-                            // host and server group)
-                            Host finalHost = host;
-                            ServerGroup finalServerGroup = serverGroup;
-                            host.getServers().stream()
-                                    .filter(srv -> srv.getId().equals(server.getId()))
-                                    .findAny()
-                                    .ifPresent(updatedServer -> {
-                                        String updatedContainerId = Ids.build(updatedServer.getId(), CONTAINER);
-                                        replaceElement(document.getElementById(updatedContainerId),
-                                                () -> serverElement(updatedServer),
-                                                whatever -> serverDetails(updatedServer));
-                                    });
+    /** Reads the server group and updates the server group, its servers and their hosts. */
+    private void updateServerGroup(ServerGroup serverGroup) {
+        if (model == null) {
+            update(null);
+            return;
+        }
+        series(new FlowContext(progress.get()),
+                TopologyTasks.serverGroup(environment, dispatcher, serverGroup.getName()))
+                .subscribe(new Outcome<FlowContext>() {
+                    @Override
+                    public void onError(FlowContext context, Throwable error) {
+                        update(null);
+                    }
 
-                            // Update not only the server, but also the host and server group elements. Since the
-                            // server's state has changed the host and server group dropdown links need to be updated
-                            // as well.
-                            replaceElement(document.querySelector(hostSelector(host)),
-                                    () -> hostElement(finalHost),
-                                    whatever -> hostDetails(finalHost));
-                            replaceElement(document.querySelector(serverGroupSelector(serverGroup)),
-                                    () -> serverGroupElement(finalServerGroup),
-                                    updatedElement -> serverGroupDetails(finalServerGroup));
+                    @Override
+                    public void onSuccess(FlowContext context) {
+                        List<ServerGroup> serverGroups = context.get(TopologyTasks.SERVER_GROUPS);
+                        if (serverGroups.isEmpty() || !model.replaceServerGroup(serverGroups.get(0))) {
+                            update(null); // the topology has changed
+                            return;
+                        }
+                        ServerGroup updatedServerGroup = serverGroups.get(0);
+                        replaceServerGroupElement(updatedServerGroup);
+                        Set<String> hosts = new HashSet<>();
+                        for (Server server : updatedServerGroup.getServers()) {
+                            replaceServerElement(server);
+                            hosts.add(server.getHost());
                         }
+                        hosts.forEach(host -> replaceHostElement(model.host(host)));
                     }
                 });
     }
@@ -427,7 +525,7 @@ class TopologyPreview extends PreviewContent<StaticItem> implements HostActionHa
 
     // ------------------------------------------------------ UI methods
 
-    private HTMLElement buildTable(List<Host> hosts, List<ServerGroup> serverGroups, List<Server> servers) {
+    private HTMLElement buildTable(List<ServerGroup> serverGroups, HTMLElement tbody) {
         HTMLTableElement table = table().css(topology).element();
 
         // <colgroup>
@@ -454,33 +552,32 @@ class TopologyPreview extends PreviewContent<StaticItem> implements HostActionHa
         // </thead>
 
         // <tbody>
-        HTMLElement tbody = tbody().element();
-        for (Host host : hosts) {
-            HTMLElement tr;
-            tbody.appendChild(tr = tr().element());
-            tr.appendChild(hostElement(host));
-            for (ServerGroup serverGroup : serverGroups) {
-                List<HTMLElement> matchingServers = servers.stream()
-                        .filter(sc -> host.getName().equals(sc.getHost()) &&
-                                serverGroup.getName().equals(sc.getServerGroup()))
-                        .sorted(comparing(Server::getName))
-                        .map(this::serverElement)
-                        .collect(toList());
-                if (matchingServers.isEmpty()) {
-                    tr.appendChild(td().css(empty).element());
-                } else {
-                    tr.appendChild(td()
-                            .add(div().css(CSS.servers)
-                                    .addAll(matchingServers)).element());
-                }
-            }
-        }
         table.appendChild(tbody);
         // </tbody>
 
         return table;
     }
 
+    private HTMLElement hostRow(Host host, List<ServerGroup> serverGroups) {
+        HTMLElement tr = tr().element();
+        tr.appendChild(hostElement(host));
+        for (ServerGroup serverGroup : serverGroups) {
+            List<HTMLElement> matchingServers = host.getServers().stream()
+                    .filter(sc -> serverGroup.getName().equals(sc.getServerGroup()))
+                    .sorted(comparing(Server::getName))
+                    .map(this::serverElement)
+                    .collect(toList());
+            if (matchingServers.isEmpty()) {
+                tr.appendChild(td().css(empty).element());
+            } else {
+                tr.appendChild(td()
+                        .add(div().css(CSS.servers)
+                                .addAll(matchingServers)).element());
+            }
+        }
+        return tr;
+    }
+
     private HTMLElement hostElement(Host host) {
         HTMLElement dropdown;
         HTMLTableCellElement th = th()
@@ -596,6 +693,25 @@ class TopologyPreview extends PreviewContent<StaticItem> implements HostActionHa
         }
     }
 
+    private void replaceHostElement(Host host) {
+        if (host != null) {
+            replaceElement(document.querySelector(hostSelector(host)), () -> hostElement(host),
+                    whatever -> hostDetails(host));
+        }
+    }
+
+    private void replaceServerGroupElement(ServerGroup serverGroup) {
+        if (serverGroup != null) {
+            replaceElement(document.querySelector(serverGroupSelector(serverGroup)),
+                    () -> serverGroupElement(serverGroup), whatever -> serverGroupDetails(serverGroup));
+        }
+    }
+
+    private void replaceServerElement(Server server) {
+        replaceElement(document.getElementById(Ids.build(server.getId(), CONTAINER)), () -> serverElement(server),
+                whatever -> serverDetails(server));
+    }
+
     private void adjustTdHeight() {
         NodeList<Element> servers = document.querySelectorAll(DOT + topology + " ." + CSS.servers);
         Elements.stream(servers)
@@ -707,7 +823,7 @@ class TopologyPreview extends PreviewContent<StaticItem> implements HostActionHa
 
             stopProgress(hostSelector(host));
             event.getServers().forEach(server -> stopProgress(serverSelector(server)));
-            update(null);
+            updateHost(host);
         }
     }
 
@@ -788,7 +904,7 @@ class TopologyPreview extends PreviewContent<StaticItem> implements HostActionHa
     public void onServerGroupResult(ServerGroupResultEvent event) {
         if (isVisible()) {
             event.getServers().forEach(server -> stopProgress(serverSelector(server)));
-            update(null);
+            updateServerGroup(event.getServerGroup());
         }
     }
 
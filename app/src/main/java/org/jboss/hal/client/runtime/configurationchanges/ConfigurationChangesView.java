@@ -22,6 +22,7 @@ import javax.inject.Inject;
 import org.jboss.hal.ballroom.EmptyState;
 import org.jboss.hal.ballroom.Toolbar;
 import org.jboss.hal.ballroom.dataprovider.DataProvider;
+import org.jboss.hal.ballroom.dataprovider.Filter;
 import org.jboss.hal.core.mbui.listview.ModelNodeListView;
 import org.jboss.hal.core.mvp.HalViewImpl;
 import org.jboss.hal.dmr.ModelNode;
@@ -88,7 +89,8 @@ public class ConfigurationChangesView extends HalViewImpl implements Configurati
                 .toolbarAttribute(new Toolbar.Attribute<>(ADDRESS, resources.constants().address(),
                         (model, filter) -> model.getAddressSegments().contains(filter), null))
                 .toolbarAttribute(new Toolbar.Attribute<>(REMOTE_ADDRESS, constants.remoteAddress(),
-                        (node, filter) -> node.getRemoteAddress().toLowerCase().contains(filter.toLowerCase()),
+                        Filter.<ConfigurationChange>narrowing((node, filter) ->
+                                node.getRemoteAddress().toLowerCase().contains(filter.toLowerCase())),
                         comparing(ConfigurationChange::getRemoteAddress)))
                 .toolbarAttribute(new Toolbar.Attribute<>(ACCESS_MECHANISM, constants.accessMechanism(),
                         (node, filter) -> node.getAccessMechanism().toLowerCase().equals(filter.toLowerCase()),
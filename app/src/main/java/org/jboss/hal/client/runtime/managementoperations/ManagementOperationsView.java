@@ -22,6 +22,7 @@ import javax.inject.Inject;
 import org.jboss.hal.ballroom.EmptyState;
 import org.jboss.hal.ballroom.Toolbar;
 import org.jboss.hal.ballroom.dataprovider.DataProvider;
+import org.jboss.hal.ballroom.dataprovider.Filter;
 import org.jboss.hal.core.mbui.listview.ModelNodeListView;
 import org.jboss.hal.core.mvp.HalViewImpl;
 import org.jboss.hal.meta.Metadata;
@@ -68,15 +69,17 @@ public class ManagementOperationsView extends HalViewImpl implements ManagementO
                         comparing(ManagementOperations::getAccessMechanism)))
                 .toolbarAttribute(new Toolbar.Attribute<>(ADDRESS, resources.constants().address(),
                         // filter by three address attributes: address, host and server
-                        (model, filter) -> model.getAddress().contains(filter)
+                        Filter.<ManagementOperations>narrowing((model, filter) -> model.getAddress().contains(filter)
                                 || (model.getActiveAddressHost() != null && model.getActiveAddressHost().contains(filter))
-                                || (model.getActiveAddressServer() != null && model.getActiveAddressServer().contains(filter)),
+                                || (model.getActiveAddressServer() != null && model.getActiveAddressServer().contains(filter))),
                         null))
                 .toolbarAttribute(new Toolbar.Attribute<>(EXECUTION_STATUS, resources.constants().executionStatus(),
-                        (node, filter) -> node.getExecutionStatus().toLowerCase().contains(filter.toLowerCase()),
+                        Filter.<ManagementOperations>narrowing((node, filter) ->
+                                node.getExecutionStatus().toLowerCase().contains(filter.toLowerCase())),
                         comparing(ManagementOperations::getExecutionStatus)))
                 .toolbarAttribute(new Toolbar.Attribute<>(OPERATION, resources.constants().operation(),
-                        (model, filter) -> model.getOperation().contains(filter), null))
+                        Filter.<ManagementOperations>narrowing((model, filter) -> model.getOperation().contains(filter)),
+                        null))
                 .toolbarAction(new Toolbar.Action(Ids.build(ACTIVE_OPERATION, Ids.REFRESH),
                         constants.reload(), findDescription, () -> presenter.reload()))
                 .toolbarAction(new Toolbar.Action(Ids.build(ACTIVE_OPERATION, Ids.CANCEL_NON_PROGRESSING_OPERATION),
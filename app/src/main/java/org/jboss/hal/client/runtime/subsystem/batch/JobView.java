@@ -20,6 +20,7 @@ import javax.inject.Inject;
 import org.jboss.hal.ballroom.Toolbar.Action;
 import org.jboss.hal.ballroom.Toolbar.Attribute;
 import org.jboss.hal.ballroom.dataprovider.DataProvider;
+import org.jboss.hal.ballroom.dataprovider.Filter;
 import org.jboss.hal.core.mbui.listview.ModelNodeListView;
 import org.jboss.hal.core.mvp.HalViewImpl;
 import org.jboss.hal.dmr.NamedNode;
@@ -54,7 +55,8 @@ public class JobView extends HalViewImpl implements JobPresenter.MyView {
                         (node, filter) -> String.valueOf(node.getInstanceId()).equals(filter),
                         comparing(ExecutionNode::getInstanceId)))
                 .toolbarAttribute(new Attribute<>(BATCH_STATUS, Names.BATCH_STATUS,
-                        (node, filter) -> node.getBatchStatus().name().toLowerCase().contains(filter.toLowerCase()),
+                        Filter.<ExecutionNode>narrowing((node, filter) ->
+                                node.getBatchStatus().name().toLowerCase().contains(filter.toLowerCase())),
                         comparing(ExecutionNode::getBatchStatus)))
                 .toolbarAttribute(new Attribute<>(START_TIME, resources.constants().start(), null,
                         comparing(ExecutionNode::getStartTime)))
@@ -94,6 +94,7 @@ public class DestinationColumn extends FinderColumn<Destination> {
                 .onPreview(item -> new DestinationPreview(item, finderPathFactory, places, dispatcher, resources))
                 .useFirstActionAsBreadcrumbHandler()
                 .pinnable()
+                .virtualized()
                 .showCount()
                 .filterDescription(resources.messages().destinationFilterDescription())
                 .withFilter());
@@ -23,6 +23,7 @@ import org.jboss.hal.ballroom.EmptyState;
 import org.jboss.hal.ballroom.Toolbar;
 import org.jboss.hal.ballroom.Toolbar.Attribute;
 import org.jboss.hal.ballroom.dataprovider.DataProvider;
+import org.jboss.hal.ballroom.dataprovider.Filter;
 import org.jboss.hal.core.mbui.listview.ModelNodeListView;
 import org.jboss.hal.core.mvp.HalViewImpl;
 import org.jboss.hal.meta.Metadata;
@@ -62,7 +63,7 @@ public class JmsQueueView extends HalViewImpl implements JmsQueuePresenter.MyVie
                 item -> new JmsMessageDisplay(item, presenter, resources))
 
                 .toolbarAttribute(new Attribute<>(JMS_MESSAGE_ID, JMS_MESSAGE_ID,
-                        (model, filter) -> model.getMessageId().contains(filter),
+                        Filter.<JmsMessage>narrowing((model, filter) -> model.getMessageId().contains(filter)),
                         comparing(JmsMessage::getMessageId)))
                 .toolbarAttribute(new Attribute<>(JMS_TIMESTAMP, JMS_TIMESTAMP,
                         comparing(JmsMessage::getTimestamp)))
@@ -73,8 +74,8 @@ public class JmsQueueView extends HalViewImpl implements JmsQueuePresenter.MyVie
                                 model.get(JMS_PRIORITY).asString().equals(filter),
                         comparing(JmsMessage::getPriority)))
                 .toolbarAttribute(new Attribute<>(JMS_DELIVERY_MODE, JMS_DELIVERY_MODE,
-                        (model, filter) -> model.hasDefined(JMS_DELIVERY_MODE) &&
-                                model.get(JMS_DELIVERY_MODE).asString().contains(filter),
+                        Filter.<JmsMessage>narrowing((model, filter) -> model.hasDefined(JMS_DELIVERY_MODE) &&
+                                model.get(JMS_DELIVERY_MODE).asString().contains(filter)),
                         comparing(JmsMessage::getDeliveryMode)))
 
                 .toolbarAction(new Toolbar.Action(Ids.JMS_MESSAGE_LIST_REFRESH, resources.constants().refresh(),
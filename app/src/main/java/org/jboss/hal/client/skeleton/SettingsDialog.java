@@ -52,6 +52,7 @@ class SettingsDialog {
     private final boolean multipleLocales;
     private boolean changes;
     private FormItem<Long> pollTimeFormItem;
+    private FormItem<Long> readCacheSizeFormItem;
     private int defaultPollTime;
 
     SettingsDialog(Environment environment, Settings settings, Resources resources) {
@@ -83,6 +84,12 @@ class SettingsDialog {
         }
         attributes.add(POLL.key());
         attributes.add(POLL_TIME.key());
+        attributes.add(METADATA_PREFETCH.key());
+        attributes.add(DMR_WORKER.key());
+        attributes.add(HTTP_GET.key());
+        attributes.add(READ_CACHE.key());
+        attributes.add(READ_CACHE_SIZE.key());
+        attributes.add(UPLOAD_PARALLELISM.key());
         ModelNodeForm<ModelNode> form = new ModelNodeForm.Builder<>(Ids.SETTINGS_FORM, metadata)
                 .include(attributes)
                 .customFormItem(PAGE_SIZE.key(),
@@ -90,6 +97,8 @@ class SettingsDialog {
                 .build();
         form.<Boolean>getFormItem(POLL.key()).addValueChangeHandler(ev -> togglePollTime(ev.getValue()));
         pollTimeFormItem = form.getFormItem(POLL_TIME.key());
+        form.<Boolean>getFormItem(READ_CACHE.key()).addValueChangeHandler(ev -> toggleReadCacheSize(ev.getValue()));
+        readCacheSizeFormItem = form.getFormItem(READ_CACHE_SIZE.key());
 
         dialog = new ModifyResourceDialog(resources.constants().settings(), form,
                 (f, changedValues) -> {
@@ -116,6 +125,16 @@ class SettingsDialog {
             modelNode.get(LOCALE.key()).set(settings.get(LOCALE).value());
         }
         modelNode.get(PAGE_SIZE.key()).set(settings.get(PAGE_SIZE).asInt(Settings.DEFAULT_PAGE_SIZE));
+        modelNode.get(METADATA_PREFETCH.key()).set(settings.get(METADATA_PREFETCH).asBoolean());
+        modelNode.get(DMR_WORKER.key()).set(settings.get(DMR_WORKER).asBoolean());
+        modelNode.get(HTTP_GET.key()).set(settings.get(HTTP_GET).asBoolean());
+        boolean readCacheEnabled = settings.get(READ_CACHE).asBoolean();
+        modelNode.get(READ_CACHE.key()).set(readCacheEnabled);
+        toggleReadCacheSize(readCacheEnabled);
+        modelNode.get(READ_CACHE_SIZE.key())
+                .set(settings.get(READ_CACHE_SIZE).asInt(Settings.DEFAULT_READ_CACHE_SIZE));
+        modelNode.get(UPLOAD_PARALLELISM.key())
+                .set(settings.get(UPLOAD_PARALLELISM).asInt(Settings.DEFAULT_UPLOAD_PARALLELISM));
         dialog.show(modelNode);
     }
 
@@ -127,4 +146,14 @@ class SettingsDialog {
             pollTimeFormItem.clearValue();
         }
     }
+
+    private void toggleReadCacheSize(boolean enabled) {
+        Elements.setVisible(readCacheSizeFormItem.element(Form.State.EDITING), enabled);
+        if (enabled) {
+            readCacheSizeFormItem.setValue(
+                    (long) settings.get(READ_CACHE_SIZE).asInt(Settings.DEFAULT_READ_CACHE_SIZE));
+        } else {
+            readCacheSizeFormItem.clearValue();
+        }
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.client.deployment;
+
+import java.util.List;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ContentParserTest {
+
+    private ContentParser parser;
+
+    @Before
+    public void setUp() {
+        parser = new ContentParser();
+    }
+
+    @Test
+    public void topLevel() {
+        List<ContentEntry> entries = parser.parse("", asList(
+                file("index.html"), directory("WEB-INF/"), file("about.html"), directory("META-INF/")));
+
+        assertEquals(asList("META-INF", "WEB-INF", "about.html", "index.html"), names(entries));
+        assertTrue(entries.get(0).directory);
+        assertEquals("META-INF/", entries.get(0).path);
+        assertEquals(1, entries.get(0).depth);
+        assertFalse(entries.get(2).directory);
+    }
+
+    @Test
+    public void absolutePaths() {
+        List<ContentEntry> entries = parser.parse("WEB-INF/", asList(
+                file("WEB-INF/web.xml"), directory("WEB-INF/classes/")));
+
+        assertEquals(asList("classes", "web.xml"), names(entries));
+        assertEquals("WEB-INF/classes/", entries.get(0).path);
+        assertEquals("WEB-INF/web.xml", entries.get(1).path);
+        assertEquals(2, entries.get(1).depth);
+    }
+
+    @Test
+    public void relativePaths() {
+        List<ContentEntry> entries = parser.parse("WEB-INF/", asList(file("web.xml"), directory("classes/")));
+
+        assertEquals(asList("classes", "web.xml"), names(entries));
+        assertEquals("WEB-INF/classes/", entries.get(0).path);
+        assertEquals("WEB-INF/web.xml", entries.get(1).path);
+    }
+
+    @Test
+    public void deeperEntries() {
+        List<ContentEntry> entries = parser.parse("", asList(
+                directory("WEB-INF/"), file("WEB-INF/web.xml"), file("index.html")));
+
+        assertEquals(asList("WEB-INF", "index.html"), names(entries));
+    }
+
+    private ModelNode file(String path) {
+        ModelNode node = new ModelNode();
+        node.get("path").set(path);
+        node.get("directory").set(false);
+        node.get("file-size").set(42L);
+        return node;
+    }
+
+    private ModelNode directory(String path) {
+        ModelNode node = new ModelNode();
+        node.get("path").set(path);
+        node.get("directory").set(true);
+        return node;
+    }
+
+    private List<String> names(List<ContentEntry> entries) {
+        return entries.stream().map(entry -> entry.name).collect(toList());
+    }
+}
@@ -58,6 +58,7 @@ public class ProgressElement implements IsElement, Progress {
     private int value;
     private int max;
     private boolean determinate;
+    private boolean running;
 
     @SuppressWarnings("HardCodedStringLiteral")
     public ProgressElement(Size size, Label label, boolean reverse) {
@@ -122,6 +123,7 @@ public class ProgressElement implements IsElement, Progress {
             valueElement.textContent = String.valueOf(value);
         }
         Elements.setVisible(root, true);
+        running = true;
     }
 
     @Override
@@ -143,7 +145,17 @@ public class ProgressElement implements IsElement, Progress {
 
     @Override
     public void finish() {
+        running = false;
         // give the user a chance to see that we're finished
-        setTimeout((o) -> Elements.setVisible(root, false), MEDIUM_TIMEOUT);
+        setTimeout((o) -> {
+            if (!running) {
+                Elements.setVisible(root, false);
+            }
+        }, MEDIUM_TIMEOUT);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
     }
 }
@@ -362,7 +362,7 @@ public class Toolbar<T> implements Display<T>, IsElement<HTMLElement>, Attachabl
 
     private void sort(Attribute<T> attribute) {
         setSelectedSort(attribute);
-        dataProvider.setComparator(asc ? selectedSort.comparator : selectedSort.comparator.reversed());
+        dataProvider.setComparator(asc ? selectedSort.comparator : selectedSort.reversed);
     }
 
     private void setSelectedSort(Attribute<T> attribute) {
@@ -385,7 +385,7 @@ public class Toolbar<T> implements Display<T>, IsElement<HTMLElement>, Attachabl
         } else {
             sortOrderIcon.className = fontAwesome("sort-alpha-desc");
         }
-        dataProvider.setComparator(asc ? selectedSort.comparator : selectedSort.comparator.reversed());
+        dataProvider.setComparator(asc ? selectedSort.comparator : selectedSort.reversed);
     }
 
     private void selectDropdownItem(HTMLElement ul, String data, Attribute<T> attribute) {
@@ -405,6 +405,7 @@ public class Toolbar<T> implements Display<T>, IsElement<HTMLElement>, Attachabl
         private final String title;
         private final Filter<T> filter;
         private final Comparator<T> comparator;
+        private final Comparator<T> reversed; // same instance for each toggle, DataProvider caches the sort order
 
         public Attribute(String name, Filter<T> filter) {
             this(name, new LabelBuilder().label(name), filter, null);
@@ -431,6 +432,7 @@ public class Toolbar<T> implements Display<T>, IsElement<HTMLElement>, Attachabl
             this.title = title;
             this.filter = filter;
             this.comparator = comparator;
+            this.reversed = comparator != null ? comparator.reversed() : null;
         }
 
         @Override
@@ -15,6 +15,7 @@
  */
 package org.jboss.hal.ballroom.autocomplete;
 
+import com.google.web.bindery.event.shared.HandlerRegistration;
 import elemental2.dom.Element;
 import elemental2.dom.HTMLInputElement;
 import elemental2.dom.KeyboardEvent;
@@ -35,6 +36,8 @@ import static elemental2.dom.DomGlobal.setTimeout;
 import static jsinterop.annotations.JsPackage.GLOBAL;
 import static org.jboss.gwt.elemento.core.Elements.asHtmlElement;
 import static org.jboss.gwt.elemento.core.Elements.htmlElements;
+import static org.jboss.gwt.elemento.core.EventType.bind;
+import static org.jboss.gwt.elemento.core.EventType.focus;
 import static org.jboss.hal.ballroom.form.Form.State.EDITING;
 import static org.jboss.hal.resources.CSS.autocompleteSuggestions;
 import static org.jboss.hal.resources.CSS.formControl;
@@ -52,6 +55,7 @@ public class AutoComplete implements SuggestHandler, Attachable {
     private FormItem formItem;
     private Api api;
     private Options options;
+    private HandlerRegistration focusHandler;
 
     protected void init(Options options) {
         this.options = options;
@@ -67,15 +71,24 @@ public class AutoComplete implements SuggestHandler, Attachable {
                 }
             };
             api = new Api(options);
+            focusHandler = bind(options.selector, focus, event -> onFocus());
         }
     }
 
+    /** Called when the input element gains the focus. Override this method e.g. to prefetch suggestions. */
+    protected void onFocus() {
+    }
+
     @Override
     public void detach() {
         Element element = document.getElementById(formItem().getId(EDITING));
         if (api != null && element != null) {
             api.destroy();
             api = null;
+            if (focusHandler != null) {
+                focusHandler.removeHandler();
+                focusHandler = null;
+            }
         }
     }
 
@@ -22,6 +22,8 @@ import org.jboss.hal.dmr.dispatch.Dispatcher;
 import org.jboss.hal.js.JsonObject;
 import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.StatementContext;
+import rx.Subscription;
+import rx.functions.Action1;
 
 import java.util.List;
 
@@ -30,10 +32,25 @@ import static java.util.stream.Collectors.toList;
 import static java.util.stream.StreamSupport.stream;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
 
+/**
+ * Suggests the names of the child resources of one or several address templates.
+ * <p>
+ * The suggestions don't depend on the query, so the read operations are executed using {@link
+ * Dispatcher#executeCached(Operation)}: The result is fetched once when the input gains the focus and is filtered
+ * locally for each query. It's cached for a short time per resolved template and invalidated by write operations to
+ * related addresses. Only the response for the latest query is processed, responses for older queries are dropped.
+ */
 public class ReadChildrenAutoComplete extends AutoComplete {
 
     private static final String ERROR_MESSAGE = "Unable to read child resource suggestions for {}: {}";
 
+    private final Dispatcher dispatcher;
+    private final StatementContext statementContext;
+    private final Iterable<AddressTemplate> templates;
+    private final int numberOfTemplates;
+    private Subscription prefetch;
+    private Subscription subscription;
+
     public ReadChildrenAutoComplete(Dispatcher dispatcher, StatementContext statementContext,
                                     AddressTemplate template) {
         this(dispatcher, statementContext, singleton(template));
@@ -42,10 +59,13 @@ public class ReadChildrenAutoComplete extends AutoComplete {
     public ReadChildrenAutoComplete(Dispatcher dispatcher, StatementContext statementContext,
                                     Iterable<AddressTemplate> templates) {
         verifyTemplates(templates);
+        this.dispatcher = dispatcher;
+        this.statementContext = statementContext;
+        this.templates = templates;
+        this.numberOfTemplates = Iterables.size(templates);
 
         ResultProcessor resultProcessor;
         ItemRenderer<JsonObject> itemRenderer;
-        int numberOfTemplates = Iterables.size(templates);
 
         if (numberOfTemplates == 1) {
             AddressTemplate template = templates.iterator().next();
@@ -66,42 +86,64 @@ public class ReadChildrenAutoComplete extends AutoComplete {
 
         Options options = new OptionsBuilder<JsonObject>(
                 (query, response) -> {
-                    List<Operation> operations = stream(templates.spliterator(), false)
-                            .map(template -> template.resolve(statementContext))
-                            .map(address -> operation(address, numberOfTemplates))
-                            .collect(toList());
-                    if (operations.size() == 1) {
-                        dispatcher.execute(operations.get(0),
-                                result -> response.response(resultProcessor.process(query, result)),
-                                (operation, failure) -> {
-                                    logger.error(ERROR_MESSAGE, templates, failure);
-                                    response.response(new JsonObject[0]);
-
-                                },
-                                (operation, exception) -> {
-                                    logger.error(ERROR_MESSAGE, templates, exception.getMessage());
-                                    response.response(new JsonObject[0]);
-                                });
-
-                    } else {
-                        dispatcher.execute(new Composite(operations),
-                                (CompositeResult result) -> response.response(resultProcessor.process(query, result)),
-                                (operation, failure) -> {
-                                    logger.error(ERROR_MESSAGE, templates, failure);
-                                    response.response(new JsonObject[0]);
-
-                                },
-                                (operation, exception) -> {
-                                    logger.error(ERROR_MESSAGE, templates, exception.getMessage());
-                                    response.response(new JsonObject[0]);
-                                });
-                    }
+                    cancel(); // drop the response for the previous query
+                    subscription = execute(
+                            result -> response.response(resultProcessor.process(query, result)),
+                            result -> response.response(resultProcessor.process(query, result)),
+                            throwable -> {
+                                logger.error(ERROR_MESSAGE, templates, throwable.getMessage());
+                                response.response(new JsonObject[0]);
+                            });
                 })
                 .renderItem(itemRenderer)
                 .build();
         init(options);
     }
 
+    @Override
+    protected void onFocus() {
+        if (prefetch == null || prefetch.isUnsubscribed()) {
+            // fill the cache, failures are reported when the suggestions are requested
+            prefetch = execute(result -> {}, result -> {}, throwable -> {});
+        }
+    }
+
+    @Override
+    public void detach() {
+        if (prefetch != null) {
+            prefetch.unsubscribe();
+            prefetch = null;
+        }
+        cancel();
+        super.detach();
+    }
+
+    private Subscription execute(Action1<ModelNode> single, Action1<CompositeResult> composite,
+            Action1<Throwable> error) {
+        List<Operation> operations;
+        try {
+            operations = stream(templates.spliterator(), false)
+                    .map(template -> template.resolve(statementContext))
+                    .map(address -> operation(address, numberOfTemplates))
+                    .collect(toList());
+        } catch (RuntimeException e) {
+            error.call(e);
+            return null;
+        }
+        if (operations.size() == 1) {
+            return dispatcher.executeCached(operations.get(0)).subscribe(single, error);
+        } else {
+            return dispatcher.executeCached(new Composite(operations)).subscribe(composite, error);
+        }
+    }
+
+    private void cancel() {
+        if (subscription != null) {
+            subscription.unsubscribe();
+            subscription = null;
+        }
+    }
+
     private void verifyTemplates(Iterable<AddressTemplate> templates) {
         if (Iterables.isEmpty(templates)) {
             throw new IllegalArgumentException("Templates must not be empty in ReadChildrenAutoComplete");
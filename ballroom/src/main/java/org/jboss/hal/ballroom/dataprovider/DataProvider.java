@@ -15,43 +15,49 @@
  */
 package org.jboss.hal.ballroom.dataprovider;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collector;
-import java.util.stream.Stream;
 
-import com.google.common.collect.Lists;
 import org.jboss.hal.ballroom.listview.ListView;
 import org.jboss.hal.config.Settings;
 
 import static java.lang.Math.min;
-import static java.util.function.Function.identity;
-import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toMap;
 import static org.jboss.hal.config.Settings.DEFAULT_PAGE_SIZE;
 import static org.jboss.hal.config.Settings.Key.PAGE_SIZE;
 
 /**
  * Holds items and state for displays like {@link ListView}. Changes to the state is reflected in the connected
  * displays.
+ * <p>
+ * Filtering, sorting and paging work incrementally on item indexes:
+ * <ul>
+ * <li>The sort order is a permutation of the item indexes which is cached per comparator. Switching back to a
+ * comparator which was used before doesn't sort again.</li>
+ * <li>The filtered items are kept in sort order. Changing the comparator just reorders them, a {@linkplain
+ * Filter#narrowing(Filter) narrowing} filter whose value contains its previous value is applied to the filtered
+ * items only. Other filter changes test all items again.</li>
+ * <li>The visible items are a view of the current page. Paging doesn't touch filter or sort order.</li>
+ * </ul>
  */
 public class DataProvider<T> {
 
     private final Function<T, String> identifier;
     private final PageInfo pageInfo;
     private final SelectionInfo<T> selectionInfo;
-    private final Map<String, T> allItems;
+    private final List<T> allItems;
+    private final Map<String, Integer> indexes;
     private final Map<String, FilterValue<T>> filterValues;
+    private final Map<Comparator<T>, int[]> sortOrders;
     private final List<Display<T>> displays;
     private List<SelectHandler<T>> selectHandler;
-    private Map<String, T> filteredItems;
-    private Map<String, T> visibleItems;
+    private int[] filtered;
+    private int filteredSize;
     private Comparator<T> comparator;
 
     public DataProvider(Function<T, String> identifier, boolean multiSelect) {
@@ -62,12 +68,13 @@ public class DataProvider<T> {
         this.identifier = identifier;
         this.pageInfo = new PageInfo(pageSize);
         this.selectionInfo = new SelectionInfo<>(identifier, multiSelect);
-        this.allItems = new LinkedHashMap<>();
-        this.filteredItems = new LinkedHashMap<>();
-        this.visibleItems = new LinkedHashMap<>();
+        this.allItems = new ArrayList<>();
+        this.indexes = new HashMap<>();
         this.filterValues = new HashMap<>();
+        this.sortOrders = new HashMap<>();
         this.selectHandler = new ArrayList<>();
         this.displays = new ArrayList<>();
+        this.filtered = new int[0];
 
         reset();
     }
@@ -79,19 +86,35 @@ public class DataProvider<T> {
     public void update(Iterable<T> items) {
         reset();
         for (T item : items) {
-            allItems.put(getId(item), item);
+            Integer index = indexes.putIfAbsent(getId(item), allItems.size());
+            if (index == null) {
+                allItems.add(item);
+            } else {
+                allItems.set(index, item);
+            }
         }
-        applyFilterSortAndPaging();
+        filter();
+        updatePageInfo();
         showItems();
         updateSelection();
     }
 
     public boolean contains(T item) {
-        return allItems.containsKey(identifier.apply(item));
+        return indexes.containsKey(identifier.apply(item));
     }
 
     public boolean isVisible(T item) {
-        return visibleItems.containsKey(identifier.apply(item));
+        Integer index = indexes.get(identifier.apply(item));
+        if (index != null) {
+            int from = from();
+            int to = to();
+            for (int i = from; i < to; i++) {
+                if (filtered[i] == index) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     public String getId(T item) {
@@ -99,58 +122,146 @@ public class DataProvider<T> {
     }
 
     public Iterable<T> getAllItems() {
-        return allItems.values();
+        return allItems;
     }
 
     public Iterable<T> getFilteredItems() {
-        return filteredItems.values();
+        return new Window(0, filteredSize);
     }
 
     public Iterable<T> getVisibleItems() {
-        return visibleItems.values();
+        return new Window(from(), to());
     }
 
     private void reset() {
         allItems.clear();
+        indexes.clear();
+        sortOrders.clear();
+        filteredSize = 0;
         pageInfo.reset();
         selectionInfo.reset();
     }
 
-    private void applyFilterSortAndPaging() {
-        Stream<T> stream = allItems.values().stream();
-        if (!filterValues.isEmpty()) {
-            Predicate<T> predicate = null;
-            for (FilterValue<T> filterValue : filterValues.values()) {
-                if (predicate == null) {
-                    predicate = i -> filterValue.getFilter().test(i, filterValue.getValue());
-                } else {
-                    predicate = predicate.and(i -> filterValue.getFilter().test(i, filterValue.getValue()));
-                }
+    /** Tests all items (in sort order) against all filters. */
+    private void filter() {
+        int[] order = sortOrder();
+        if (filtered.length < order.length) {
+            filtered = new int[order.length];
+        }
+        filteredSize = 0;
+        for (int index : order) {
+            if (matches(allItems.get(index))) {
+                filtered[filteredSize++] = index;
+            }
+        }
+    }
+
+    /** Tests the filtered items against the specified filter only. The filtered items shrink in place. */
+    private void narrow(FilterValue<T> filterValue) {
+        int size = 0;
+        for (int i = 0; i < filteredSize; i++) {
+            int index = filtered[i];
+            if (filterValue.getFilter().test(allItems.get(index), filterValue.getValue())) {
+                filtered[size++] = index;
+            }
+        }
+        filteredSize = size;
+    }
+
+    /** Brings the filtered items in the current sort order without testing the filters again. */
+    private void reorder() {
+        boolean[] matched = new boolean[allItems.size()];
+        for (int i = 0; i < filteredSize; i++) {
+            matched[filtered[i]] = true;
+        }
+        int size = 0;
+        for (int index : sortOrder()) {
+            if (matched[index]) {
+                filtered[size++] = index;
+            }
+        }
+    }
+
+    private boolean matches(T item) {
+        for (FilterValue<T> filterValue : filterValues.values()) {
+            if (!filterValue.getFilter().test(item, filterValue.getValue())) {
+                return false;
             }
-            stream = stream.filter(predicate);
         }
-        if (comparator != null) {
-            stream = stream.sorted(comparator);
+        return true;
+    }
+
+    /** @return the item indexes sorted by the current comparator */
+    private int[] sortOrder() {
+        int[] order = sortOrders.get(comparator);
+        if (order == null) {
+            order = sortOrder(allItems, comparator);
+            sortOrders.put(comparator, order);
         }
-        List<T> values = stream.collect(toList());
-        if (values.size() > pageInfo.getPageSize()) {
-            filteredItems = values.stream().collect(toLinkedMap(identifier, identity()));
-            values = paged(values);
-            visibleItems = values.stream().collect(toLinkedMap(identifier, identity()));
+        return order;
+    }
+
+    /** @return the indexes of the specified items sorted by the comparator (stable) */
+    static <T> int[] sortOrder(List<T> items, Comparator<T> comparator) {
+        int size = items.size();
+        int[] order = new int[size];
+        if (comparator == null) {
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
         } else {
-            filteredItems = visibleItems = values.stream().collect(toLinkedMap(identifier, identity()));
+            Integer[] boxed = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                boxed[i] = i;
+            }
+            Arrays.sort(boxed, (i1, i2) -> comparator.compare(items.get(i1), items.get(i2)));
+            for (int i = 0; i < size; i++) {
+                order[i] = boxed[i];
+            }
         }
-        pageInfo.setTotal(filteredItems.size()); // total first!
-        pageInfo.setVisible(visibleItems.size());
+        return order;
+    }
+
+    private void updatePageInfo() {
+        pageInfo.setTotal(filteredSize); // total first!
+        pageInfo.setVisible(to() - from());
+    }
+
+    /** @return the position of the first visible item in the filtered items */
+    private int from() {
+        int page = min(pageInfo.getPage(), pageInfo.getPages() - 1);
+        return min(filteredSize, page * pageInfo.getPageSize());
+    }
+
+    /** @return the position after the last visible item in the filtered items */
+    private int to() {
+        return min(filteredSize, from() + pageInfo.getPageSize());
     }
 
-    private Collector<T, ?, Map<String, T>> toLinkedMap(Function<? super T, ? extends String> keyMapper,
-            Function<? super T, ? extends T> valueMapper) {
-        return toMap(keyMapper, valueMapper,
-                (u, v) -> {
-                    throw new IllegalStateException("Duplicate key " + u); //NON-NLS
-                },
-                LinkedHashMap::new);
+
+    /** Read-only view of a range of the filtered items */
+    private class Window extends AbstractList<T> {
+
+        private final int from;
+        private final int size;
+
+        private Window(int from, int to) {
+            this.from = from;
+            this.size = to - from;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size); //NON-NLS
+            }
+            return allItems.get(filtered[from + index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
     }
 
 
@@ -163,7 +274,7 @@ public class DataProvider<T> {
     /** Selects all items if {@ocde multiSelect == true}. Does not fire selection events */
     public void selectAll() {
         if (selectionInfo.isMultiSelect()) {
-            filteredItems.forEach((id, item) -> selectInternal(id, item, true));
+            getFilteredItems().forEach(item -> selectInternal(getId(item), item, true));
             updateSelection();
         }
     }
@@ -171,7 +282,7 @@ public class DataProvider<T> {
     /** Selects all visible items if {@ocde multiSelect == true}. Does not fire selection events */
     public void selectVisible() {
         if (selectionInfo.isMultiSelect()) {
-            visibleItems.forEach((id, item) -> selectInternal(id, item, true));
+            getVisibleItems().forEach(item -> selectInternal(getId(item), item, true));
             updateSelection();
         }
     }
@@ -179,7 +290,7 @@ public class DataProvider<T> {
     /** Clears the selection for all items */
     public void clearAllSelection() {
         if (selectionInfo.hasSelection()) {
-            filteredItems.forEach((id, item) -> selectInternal(id, item, false));
+            getFilteredItems().forEach(item -> selectInternal(getId(item), item, false));
             updateSelection();
         }
     }
@@ -187,7 +298,7 @@ public class DataProvider<T> {
     /** Clears the selection for all visible items */
     public void clearVisibleSelection() {
         if (selectionInfo.hasSelection()) {
-            visibleItems.forEach((id, item) -> selectInternal(id, item, false));
+            getVisibleItems().forEach(item -> selectInternal(getId(item), item, false));
             updateSelection();
         }
     }
@@ -223,8 +334,13 @@ public class DataProvider<T> {
     // ------------------------------------------------------ filter
 
     public void addFilter(String name, FilterValue<T> filter) {
-        filterValues.put(name, filter);
-        applyFilterSortAndPaging();
+        FilterValue<T> previous = filterValues.put(name, filter);
+        if (narrows(previous, filter)) {
+            narrow(filter);
+        } else {
+            filter();
+        }
+        updatePageInfo();
         showItems();
         updateSelection();
     }
@@ -232,7 +348,8 @@ public class DataProvider<T> {
     public void removeFilter(String name) {
         if (filterValues.containsKey(name)) {
             filterValues.remove(name);
-            applyFilterSortAndPaging();
+            filter();
+            updatePageInfo();
             showItems();
             updateSelection();
         }
@@ -241,7 +358,8 @@ public class DataProvider<T> {
     public void clearFilters() {
         if (!filterValues.isEmpty()) {
             filterValues.clear();
-            applyFilterSortAndPaging();
+            filter();
+            updatePageInfo();
             showItems();
             updateSelection();
         }
@@ -256,12 +374,20 @@ public class DataProvider<T> {
         return !filterValues.isEmpty();
     }
 
+    static <T> boolean narrows(FilterValue<T> previous, FilterValue<T> current) {
+        return previous != null
+                && previous.getFilter() == current.getFilter()
+                && current.getFilter().isNarrowing()
+                && previous.getValue() != null && current.getValue() != null
+                && current.getValue().contains(previous.getValue());
+    }
+
 
     // ------------------------------------------------------ sort
 
     public void setComparator(Comparator<T> comparator) {
         this.comparator = comparator;
-        applyFilterSortAndPaging();
+        reorder();
         showItems();
         updateSelection();
     }
@@ -277,7 +403,7 @@ public class DataProvider<T> {
         int oldPageSize = pageInfo.getPageSize();
         pageInfo.setPageSize(pageSize);
         if (oldPageSize != pageInfo.getPageSize()) {
-            applyFilterSortAndPaging();
+            updatePageInfo();
             showItems();
             updateSelection();
         }
@@ -303,7 +429,7 @@ public class DataProvider<T> {
         int oldPage = pageInfo.getPage();
         pageInfo.setPage(page);
         if (oldPage != pageInfo.getPage()) {
-            applyFilterSortAndPaging();
+            updatePageInfo();
             showItems();
             updateSelection();
         }
@@ -313,11 +439,6 @@ public class DataProvider<T> {
         return pageInfo;
     }
 
-    private List<T> paged(List<T> values) {
-        List<List<T>> pages = Lists.partition(values, pageInfo.getPageSize());
-        return pages.get(min(pageInfo.getPage(), pages.size() - 1));
-    }
-
 
     // ------------------------------------------------------ displays
 
@@ -327,7 +448,7 @@ public class DataProvider<T> {
 
     private void showItems() {
         for (Display<T> display : displays) {
-            display.showItems(visibleItems.values(), pageInfo);
+            display.showItems(getVisibleItems(), pageInfo);
         }
     }
 
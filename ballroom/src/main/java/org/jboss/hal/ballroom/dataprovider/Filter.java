@@ -19,5 +19,32 @@ package org.jboss.hal.ballroom.dataprovider;
 @FunctionalInterface
 public interface Filter<T> {
 
+    /**
+     * Marks the specified filter as narrowing: If the new value of a narrowing filter contains its previous value,
+     * every item which matches the new value also matches the previous value. That's true for substring filters like
+     * {@code (model, filter) -> model.getName().contains(filter)}, but not for filters which use {@code equals()}.
+     * <p>
+     * The {@link DataProvider} applies a narrowing filter to the currently filtered items only, instead of testing all
+     * items again.
+     */
+    static <T> Filter<T> narrowing(Filter<T> filter) {
+        return new Filter<T>() {
+            @Override
+            public boolean test(T model, String value) {
+                return filter.test(model, value);
+            }
+
+            @Override
+            public boolean isNarrowing() {
+                return true;
+            }
+        };
+    }
+
     boolean test(T model, String filter);
+
+    /** @return whether this filter is narrowing (see {@link #narrowing(Filter)}) */
+    default boolean isNarrowing() {
+        return false;
+    }
 }
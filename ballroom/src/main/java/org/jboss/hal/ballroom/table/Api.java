@@ -87,6 +87,12 @@ class Api<T> {
      */
     native Api<T> on(String event, CallbackUnionType<T> callback);
 
+    /**
+     * Removes the row(s) that have been found by the {@link #rows(RowSelection)}, {@link #rows(HTMLElement)} or {@link
+     * #rows(SelectorModifier)} selector methods. Call {@link #draw(String)} to update the display.
+     */
+    native Api<T> remove();
+
     /**
      * Select all rows, but apply the specified modifier (e.g. to return only selected rows). Chain the {@link #data()}
      * to get the actual data.
@@ -27,7 +27,6 @@ import org.jboss.gwt.elemento.core.Elements;
 import org.jboss.hal.ballroom.JQuery;
 import org.jboss.hal.ballroom.form.Form;
 import org.jboss.hal.ballroom.table.Api.CallbackUnionType;
-import org.jboss.hal.ballroom.table.Api.DrawCallback;
 import org.jboss.hal.ballroom.table.Api.SelectCallback;
 import org.jboss.hal.meta.security.AuthorisationDecision;
 import org.jboss.hal.meta.security.ElementGuard;
@@ -35,11 +34,7 @@ import org.jboss.hal.resources.UIConstants;
 
 import static elemental2.dom.DomGlobal.document;
 import static java.util.Arrays.asList;
-import static org.jboss.gwt.elemento.core.Elements.asHtmlElement;
-import static org.jboss.gwt.elemento.core.Elements.htmlElements;
 import static org.jboss.gwt.elemento.core.Elements.table;
-import static org.jboss.gwt.elemento.core.EventType.bind;
-import static org.jboss.gwt.elemento.core.EventType.click;
 import static org.jboss.hal.ballroom.table.RefreshMode.RESET;
 import static org.jboss.hal.resources.CSS.columnAction;
 import static org.jboss.hal.resources.CSS.dataTable;
@@ -85,7 +80,6 @@ import static org.jboss.hal.resources.UIConstants.data;
 public class DataTable<T> implements Table<T> {
 
     private static final String DESELECT = "deselect";
-    private static final String DRAW = "draw";
     private static final String ROW = "row";
     private static final String SELECT = "select";
     private static final String WRAPPER_SUFFIX = "_wrapper";
@@ -121,34 +115,32 @@ public class DataTable<T> implements Table<T> {
         if (api == null) {
             options.id = id;
             api = Api.<T>select(HASH + id).dataTable(options);
-            api.on(DRAW, CallbackUnionType.of((DrawCallback) (evt, settings) -> {
-                Map<String, InlineActionHandler<T>> columnActionHandler = options.columnActionHandler;
-                elemental2.dom.Element table = document.getElementById(options.id);
-                if (table != null && columnActionHandler != null && !columnActionHandler.isEmpty()) {
-                    Elements.stream(table.querySelectorAll("." + columnAction))
-                            .filter(htmlElements())
-                            .map(asHtmlElement())
-                            .forEach(link -> {
-                                InlineActionHandler<T> columnAction = columnActionHandler.get(link.id);
-                                if (columnAction != null) {
-                                    bind(link, click, event -> {
-                                        event.stopPropagation();
-                                        HTMLElement e = link; // find enclosing tr
-                                        while (e != null && e != document.body && !"tr".equalsIgnoreCase(
-                                                e.tagName)) {
-                                            e = (HTMLElement) e.parentNode;
-                                        }
-                                        if (e != null) {
-                                            T[] array = api.rows(e).data().toArray();
-                                            if (array.length != 0) {
-                                                columnAction.action(array[0]);
-                                            }
-                                        }
-                                    });
-                                }
-                            });
-                }
-            }));
+            Map<String, InlineActionHandler<T>> columnActionHandler = options.columnActionHandler;
+            if (columnActionHandler != null && !columnActionHandler.isEmpty()) {
+                // One handler for all column actions: survives redraws and row updates. Registered for the capture
+                // phase, so that it runs and stops the event before the row click handler of DataTables Select.
+                // Otherwise clicking a column action would (de)select the row.
+                tableElement.addEventListener("click", event -> { //NON-NLS
+                    HTMLElement link = null;
+                    HTMLElement e = (HTMLElement) event.target; // find column action and enclosing tr
+                    while (e != null && e != tableElement && !"tr".equalsIgnoreCase(e.tagName)) {
+                        if (link == null && e.classList.contains(columnAction)) {
+                            link = e;
+                        }
+                        e = (HTMLElement) e.parentNode;
+                    }
+                    if (link != null && e != null && e != tableElement) {
+                        InlineActionHandler<T> handler = columnActionHandler.get(link.id);
+                        if (handler != null) {
+                            event.stopPropagation();
+                            T[] array = api.rows(e).data().toArray();
+                            if (array.length != 0) {
+                                handler.action(array[0]);
+                            }
+                        }
+                    }
+                }, true);
+            }
         }
     }
 
@@ -306,17 +298,35 @@ public class DataTable<T> implements Table<T> {
     }
 
     /**
-     * Replaces the existing data with the new one. If necessary, restores the current selection based on the specified
-     * function.
+     * Replaces the existing data with the new one. If an identifier is given, only the rows which were removed, added
+     * or changed are replaced, all other rows are kept as they are. The table is redrawn only if there are changes. If
+     * necessary, restores the current selection based on the specified function.
+     * <p>
+     * Changed rows are removed and added again, so their position depends on the ordering of the table. This requires
+     * the ordering to be recalculated: For {@link RefreshMode#PAGE} all rows are replaced as if there was no
+     * identifier.
      *
      * @param data       the new data
-     * @param identifier a function which must return an unique identifier for a given row. Used to restore the
-     *                   selection after replacing the data.
+     * @param identifier a function which must return an unique identifier for a given row. Used to compute the changed
+     *                   rows and to restore the selection after replacing the data.
      */
     @Override
     public void update(Iterable<T> data, RefreshMode mode, Function<T, String> identifier) {
         List<T> selection = api().selectedRows();
-        api().clear().add(data).draw(mode.mode());
+        RowDiff<T> diff = identifier != null && mode != RefreshMode.PAGE
+                ? RowDiff.compute(getRows(), data, identifier)
+                : null;
+        if (diff != null) {
+            if (diff.isEmpty()) {
+                return;
+            }
+            if (!diff.removed.isEmpty()) {
+                api().rows((index, d, tr) -> d != null && diff.removed.contains(identifier.apply(d))).remove();
+            }
+            api().add(diff.added).draw(mode.mode());
+        } else {
+            api().clear().add(data).draw(mode.mode());
+        }
         if (identifier != null) {
             if (!selection.isEmpty()) {
                 Api.RowSelection<T> rows = (index, d1, tr) -> {
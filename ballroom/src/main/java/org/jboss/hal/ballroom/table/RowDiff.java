@@ -0,0 +1,86 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.ballroom.table;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Difference between the rows of a table and new data. Rows are matched by their identifier. A row whose data is not
+ * {@linkplain Object#equals(Object) equal} to the new data counts as changed and is replaced.
+ */
+class RowDiff<T> {
+
+    /**
+     * Computes the difference between the current rows and the new data.
+     *
+     * @return the difference or {@code null} if an identifier is {@code null} or not unique.
+     */
+    static <T> RowDiff<T> compute(Iterable<T> rows, Iterable<T> data, Function<T, String> identifier) {
+        Map<String, T> current = new HashMap<>();
+        for (T row : rows) {
+            String id = row != null ? identifier.apply(row) : null;
+            if (id == null || current.put(id, row) != null) {
+                return null;
+            }
+        }
+
+        RowDiff<T> diff = new RowDiff<>();
+        Set<String> ids = new HashSet<>();
+        if (data != null) {
+            for (T d : data) {
+                String id = d != null ? identifier.apply(d) : null;
+                if (id == null || !ids.add(id)) {
+                    return null;
+                }
+                T row = current.get(id);
+                if (row == null) {
+                    diff.added.add(d);
+                } else if (!Objects.equals(row, d)) {
+                    diff.removed.add(id);
+                    diff.added.add(d);
+                }
+            }
+        }
+        for (String id : current.keySet()) {
+            if (!ids.contains(id)) {
+                diff.removed.add(id);
+            }
+        }
+        return diff;
+    }
+
+    /** Identifiers of the rows to remove (removed and changed rows) */
+    final Set<String> removed;
+
+    /** Data to add (new and changed rows) */
+    final List<T> added;
+
+    private RowDiff() {
+        this.removed = new HashSet<>();
+        this.added = new ArrayList<>();
+    }
+
+    boolean isEmpty() {
+        return removed.isEmpty() && added.isEmpty();
+    }
+}
@@ -397,6 +397,47 @@ public class DataProviderTest {
         verify(display).showItems(itemsMatcher(BY_THREE), eq(new PageInfo(PAGE_SIZE, 0, 4, 4)));
     }
 
+    @Test
+    public void narrowFilter() throws Exception {
+        int[] tested = new int[1];
+        Filter<Integer> contains = Filter.narrowing((number, filter) -> {
+            tested[0]++;
+            return String.valueOf(number).contains(filter);
+        });
+        single.update(asList(items(42)));
+
+        reset(display);
+        single.addFilter("contains", new FilterValue<>(contains, "1"));
+        assertEquals(42, tested[0]);
+        verify(display).showItems(itemsMatcher(new int[]{1, 10, 11, 12, 13, 14, 15, 16, 17, 18}),
+                eq(new PageInfo(PAGE_SIZE, 0, PAGE_SIZE, 14)));
+
+        reset(display);
+        tested[0] = 0;
+        single.addFilter("contains", new FilterValue<>(contains, "11"));
+        assertEquals(14, tested[0]);
+        verify(display).showItems(itemsMatcher(new int[]{11}), eq(new PageInfo(PAGE_SIZE, 0, 1, 1)));
+
+        reset(display);
+        tested[0] = 0;
+        single.addFilter("contains", new FilterValue<>(contains, "2"));
+        assertEquals(42, tested[0]);
+        verify(display).showItems(itemsMatcher(new int[]{2, 12, 20, 21, 22, 23, 24, 25, 26, 27}),
+                eq(new PageInfo(PAGE_SIZE, 0, PAGE_SIZE, 13)));
+    }
+
+    @Test
+    public void narrows() throws Exception {
+        Filter<Integer> contains = Filter.narrowing((number, filter) -> String.valueOf(number).contains(filter));
+
+        assertTrue(DataProvider.narrows(new FilterValue<>(contains, "1"), new FilterValue<>(contains, "12")));
+        assertTrue(DataProvider.narrows(new FilterValue<>(contains, "1"), new FilterValue<>(contains, "21")));
+        assertFalse(DataProvider.narrows(new FilterValue<>(contains, "12"), new FilterValue<>(contains, "1")));
+        assertFalse(DataProvider.narrows(null, new FilterValue<>(contains, "1")));
+        assertFalse(DataProvider.narrows(new FilterValue<>(DIVISIBLE, "2"), new FilterValue<>(DIVISIBLE, "20")));
+        assertFalse(DataProvider.narrows(new FilterValue<>(DIVISIBLE, "1"), new FilterValue<>(contains, "12")));
+    }
+
     @Test
     public void removeUnknownFilter() throws Exception {
         single.update(asList(items(PAGE_SIZE)));
@@ -446,6 +487,36 @@ public class DataProviderTest {
     }
 
 
+    @Test
+    public void sortFiltered() throws Exception {
+        int[] items = {9, 0, 8, 3, 1, 6, 5};
+        Comparator<Integer> desc = Comparator.<Integer>naturalOrder().reversed();
+
+        single.update(asList(items));
+        single.addFilter("byThree", new FilterValue<>(DIVISIBLE, "3"));
+        assertVisibleFilteredAll(single, new int[]{9, 0, 3, 6}, new int[]{9, 0, 3, 6}, items);
+
+        single.setComparator(naturalOrder());
+        assertVisibleFilteredAll(single, new int[]{0, 3, 6, 9}, new int[]{0, 3, 6, 9}, items);
+
+        single.setComparator(desc);
+        assertVisibleFilteredAll(single, new int[]{9, 6, 3, 0}, new int[]{9, 6, 3, 0}, items);
+
+        single.removeFilter("byThree");
+        assertVisibleFilteredAll(single, new int[]{9, 8, 6, 5, 3, 1, 0}, new int[]{9, 8, 6, 5, 3, 1, 0}, items);
+    }
+
+    @Test
+    public void sortOrder() throws Exception {
+        List<Integer> items = Ints.asList(3, 1, 2, 1);
+
+        assertArrayEquals(new int[]{0, 1, 2, 3}, DataProvider.sortOrder(items, null));
+        assertArrayEquals(new int[]{1, 3, 2, 0}, DataProvider.sortOrder(items, naturalOrder()));
+        assertArrayEquals(new int[]{0, 2, 1, 3},
+                DataProvider.sortOrder(items, Comparator.<Integer>naturalOrder().reversed()));
+    }
+
+
     // ------------------------------------------------------ helper methods
 
     private void assertVisibleFilteredAll(DataProvider<Integer> dp, int[] visible, int[] filtered, int[] all) {
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.ballroom.table;
+
+import java.util.HashSet;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class RowDiffTest {
+
+    // rows are "<id>:<value>"
+    private static final Function<String, String> IDENTIFIER = row -> row.substring(0, row.indexOf(':'));
+
+    @Test
+    public void unchanged() {
+        RowDiff<String> diff = RowDiff.compute(asList("a:1", "b:2"), asList("b:2", "a:1"), IDENTIFIER);
+        assertTrue(diff.isEmpty());
+    }
+
+    @Test
+    public void changes() {
+        RowDiff<String> diff = RowDiff.compute(asList("a:1", "b:2", "c:3"), asList("a:1", "b:42", "d:4"),
+                IDENTIFIER);
+        assertEquals(new HashSet<>(asList("b", "c")), diff.removed);
+        assertEquals(asList("b:42", "d:4"), diff.added);
+    }
+
+    @Test
+    public void empty() {
+        RowDiff<String> diff = RowDiff.compute(emptyList(), asList("a:1", "b:2"), IDENTIFIER);
+        assertTrue(diff.removed.isEmpty());
+        assertEquals(asList("a:1", "b:2"), diff.added);
+
+        diff = RowDiff.compute(asList("a:1", "b:2"), null, IDENTIFIER);
+        assertEquals(new HashSet<>(asList("a", "b")), diff.removed);
+        assertTrue(diff.added.isEmpty());
+    }
+
+    @Test
+    public void duplicates() {
+        assertNull(RowDiff.compute(asList("a:1", "a:2"), asList("a:1"), IDENTIFIER));
+        assertNull(RowDiff.compute(asList("a:1"), asList("a:1", "a:2"), IDENTIFIER));
+    }
+}
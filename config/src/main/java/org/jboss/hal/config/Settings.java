@@ -37,6 +37,9 @@ public class Settings {
     // keep in sync with the poll-time attribute of settings.dmr
     public static final int DEFAULT_POLL_TIME = 10;
     public static final int[] PAGE_SIZE_VALUES = new int[]{10, 20, 50};
+    // keep in sync with the read-cache-size and upload-parallelism attributes of settings.dmr
+    public static final int DEFAULT_READ_CACHE_SIZE = 100;
+    public static final int DEFAULT_UPLOAD_PARALLELISM = 3;
     private static final int EXPIRES = 365; // days
 
     private final Map<Key, Value> values;
@@ -90,6 +93,12 @@ public class Settings {
         PAGE_SIZE("page-size", true),
         POLL("poll", true),
         POLL_TIME("poll-time", true),
+        DMR_WORKER("dmr-worker", true),
+        HTTP_GET("http-get", true),
+        METADATA_PREFETCH("metadata-prefetch", true),
+        READ_CACHE("read-cache", true),
+        READ_CACHE_SIZE("read-cache-size", true),
+        UPLOAD_PARALLELISM("upload-parallelism", true),
         RUN_AS("run-as", false); // can contain multiple roles separated by ","
 
         public static Key from(String key) {
@@ -98,16 +107,28 @@ public class Settings {
                     return TITLE;
                 case "collect-user-data":
                     return COLLECT_USER_DATA;
+                case "dmr-worker":
+                    return DMR_WORKER;
+                case "http-get":
+                    return HTTP_GET;
                 case "locale":
                     return LOCALE;
+                case "metadata-prefetch":
+                    return METADATA_PREFETCH;
                 case "page-size":
                     return PAGE_SIZE;
                 case "poll":
                     return POLL;
                 case "poll-time":
                     return POLL_TIME;
+                case "read-cache":
+                    return READ_CACHE;
+                case "read-cache-size":
+                    return READ_CACHE_SIZE;
                 case "run-as":
                     return RUN_AS;
+                case "upload-parallelism":
+                    return UPLOAD_PARALLELISM;
                 default:
                     return null;
             }
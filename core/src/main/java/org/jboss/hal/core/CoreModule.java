@@ -33,6 +33,7 @@ import org.jboss.hal.core.finder.ItemMonitor;
 import org.jboss.hal.core.mbui.MbuiContext;
 import org.jboss.hal.core.mbui.table.TableButtonFactory;
 import org.jboss.hal.core.modelbrowser.ModelBrowser;
+import org.jboss.hal.core.mvp.MetadataPrefetcher;
 import org.jboss.hal.core.mvp.Places;
 import org.jboss.hal.core.runtime.group.ServerGroupActions;
 import org.jboss.hal.core.runtime.host.HostActions;
@@ -65,6 +66,7 @@ public class CoreModule extends AbstractGinModule {
         bind(HostActions.class).in(Singleton.class);
         bind(ItemMonitor.class).in(Singleton.class);
         bind(ItemActionFactory.class).in(Singleton.class);
+        bind(MetadataPrefetcher.class).asEagerSingleton(); // to register the event handler
         bind(ModelBrowser.class);
         bind(Core.class).in(Singleton.class);
         bind(Places.class).in(Singleton.class);
@@ -50,6 +50,23 @@ public class Content extends NamedNode {
         get(MANAGED).set(managed);
     }
 
+    /**
+     * @return the SHA-1 hash of managed content as lower case hex string or {@code null} for unmanaged content
+     */
+    public String getHash() {
+        if (hasDefined(CONTENT) && !get(CONTENT).asList().isEmpty()) {
+            ModelNode content = get(CONTENT).asList().get(0);
+            if (content.hasDefined(HASH)) {
+                StringBuilder builder = new StringBuilder();
+                for (byte b : content.get(HASH).asBytes()) {
+                    builder.append(Integer.toHexString((b & 0xff) | 0x100).substring(1));
+                }
+                return builder.toString();
+            }
+        }
+        return null;
+    }
+
     public String getRuntimeName() {
         ModelNode runtimeName = get(RUNTIME_NAME);
         return runtimeName.isDefined() ? runtimeName.asString() : null;
@@ -89,6 +89,20 @@ public class ColumnRegistry {
         }
     }
 
+    /** @return the column if it has been resolved already, {@code null} otherwise */
+    FinderColumn peek(String id) {
+        return resolvedColumns.get(id);
+    }
+
+    /**
+     * @return {@code true} if the column has not been resolved yet and its required resources don't depend on the
+     * current selection
+     */
+    boolean canResolveAhead(String id) {
+        return !resolvedColumns.containsKey(id) &&
+                requiredResources.getResources(id).stream().noneMatch(r -> r.contains("{selected."));
+    }
+
     @SuppressWarnings("unchecked")
     private void lookupInternal(String id, LookupCallback callback) {
         if (columns.containsKey(id)) {
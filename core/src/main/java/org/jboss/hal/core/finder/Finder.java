@@ -39,6 +39,11 @@ import org.jboss.hal.ballroom.Attachable;
 import org.jboss.hal.config.Environment;
 import org.jboss.hal.core.finder.ColumnRegistry.LookupCallback;
 import org.jboss.hal.core.finder.FinderColumn.RefreshMode;
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.CompositeResult;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
 import org.jboss.hal.flow.FlowContext;
 import org.jboss.hal.flow.Outcome;
 import org.jboss.hal.flow.Progress;
@@ -56,6 +61,7 @@ import static java.util.stream.Collectors.toList;
 import static java.util.stream.StreamSupport.stream;
 import static org.jboss.gwt.elemento.core.Elements.div;
 import static org.jboss.hal.ballroom.Skeleton.applicationOffset;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RESULT;
 import static org.jboss.hal.flow.Flow.series;
 import static org.jboss.hal.resources.CSS.*;
 import static org.jboss.hal.resources.Ids.FINDER;
@@ -84,9 +90,11 @@ public class Finder implements IsElement<HTMLDivElement>, Attachable {
     private final PlaceManager placeManager;
     private final ColumnRegistry columnRegistry;
     private final SecurityContextRegistry securityContextRegistry;
+    private final Dispatcher dispatcher;
     private final Provider<Progress> progress;
     private final FinderContext context;
     private final LinkedHashMap<String, FinderColumn> columns;
+    private final Map<String, ModelNode> prefetched;
     private final Map<String, String> initialColumnsByToken;
     private final Map<String, PreviewContent> initialPreviewsByToken;
     private final HTMLDivElement root;
@@ -102,6 +110,7 @@ public class Finder implements IsElement<HTMLDivElement>, Attachable {
             PlaceManager placeManager,
             ColumnRegistry columnRegistry,
             SecurityContextRegistry securityContextRegistry,
+            Dispatcher dispatcher,
             @Footer Provider<Progress> progress) {
 
         this.environment = environment;
@@ -109,10 +118,12 @@ public class Finder implements IsElement<HTMLDivElement>, Attachable {
         this.placeManager = placeManager;
         this.columnRegistry = columnRegistry;
         this.securityContextRegistry = securityContextRegistry;
+        this.dispatcher = dispatcher;
         this.progress = progress;
 
         this.context = new FinderContext();
         this.columns = new LinkedHashMap<>();
+        this.prefetched = new HashMap<>();
         this.initialColumnsByToken = new HashMap<>();
         this.initialPreviewsByToken = new HashMap<>();
 
@@ -355,6 +366,11 @@ public class Finder implements IsElement<HTMLDivElement>, Attachable {
         return securityContextRegistry;
     }
 
+    /** @return the prefetched result of the items provider operation of the specified column (only once) */
+    ModelNode prefetched(String columnId) {
+        return prefetched.remove(columnId);
+    }
+
 
     // ------------------------------------------------------ public API
 
@@ -430,6 +446,10 @@ public class Finder implements IsElement<HTMLDivElement>, Attachable {
      * Please note that this might be a complex and long running operation since each segment in the path is turned into
      * a function. The function will load and initialize the column and select the item as specified in the segment.
      * <p>
+     * To reduce the number of round trips, the operations of all columns which use an {@link OperationItemsProvider}
+     * are computed up front and executed as one composite. The columns are then fed from the composite result. All
+     * other columns load their items one after another.
+     * <p>
      * If the path is empty, the fallback operation is executed.
      */
     public void select(String token, FinderPath path, Runnable fallback) {
@@ -467,13 +487,16 @@ public class Finder implements IsElement<HTMLDivElement>, Attachable {
                 }
             }
 
-            List<SelectTask> tasks = stream(path.spliterator(), false)
+            List<Task<FlowContext>> tasks = new ArrayList<>();
+            tasks.add(new PrefetchTask(path));
+            stream(path.spliterator(), false)
                     .map(segment -> new SelectTask(new FinderSegment(segment.getColumnId(), segment.getItemId())))
-                    .collect(toList());
+                    .forEach(tasks::add);
             series(new FlowContext(progress.get()), tasks)
                     .subscribe(new Outcome<FlowContext>() {
                         @Override
                         public void onError(FlowContext context, Throwable error) {
+                            prefetched.clear();
                             if (Finder.this.context.getPath().isEmpty()) {
                                 fallback.run();
 
@@ -486,6 +509,7 @@ public class Finder implements IsElement<HTMLDivElement>, Attachable {
 
                         @Override
                         public void onSuccess(FlowContext context) {
+                            prefetched.clear();
                             FinderColumn column = context.pop();
                             f1nally(column);
                         }
@@ -508,6 +532,101 @@ public class Finder implements IsElement<HTMLDivElement>, Attachable {
     }
 
 
+    /**
+     * Resolves the columns of the path and executes the operations of all {@link OperationItemsProvider}s as one
+     * composite. Never fails: Columns without prefetched result load their items as usual.
+     */
+    private class PrefetchTask implements Task<FlowContext> {
+
+        private final FinderPath path;
+
+        private PrefetchTask(FinderPath path) {
+            this.path = path;
+        }
+
+        @Override
+        public Completable call(FlowContext context) {
+            prefetched.clear();
+            return Completable.fromEmitter(emitter -> resolveAhead(path.iterator(), () -> {
+                List<String> columnIds = new ArrayList<>();
+                List<Operation> operations = new ArrayList<>();
+                collectOperations(columnIds, operations);
+                if (operations.size() < 2) {
+                    // nothing to gain
+                    emitter.onCompleted();
+                } else {
+                    dispatcher.execute(new Composite(operations), (CompositeResult result) -> {
+                                int index = 0;
+                                for (ModelNode step : result) {
+                                    if (!step.isFailure()) {
+                                        prefetched.put(columnIds.get(index), step.get(RESULT));
+                                    }
+                                    index++;
+                                }
+                                logger.debug("Prefetched items of columns {}", prefetched.keySet());
+                                emitter.onCompleted();
+                            },
+                            (operation, failure) -> {
+                                logger.debug("Unable to prefetch items of columns {}: {}", columnIds, failure);
+                                emitter.onCompleted();
+                            },
+                            (operation, exception) -> {
+                                logger.debug("Unable to prefetch items of columns {}: {}", columnIds,
+                                        exception.getMessage());
+                                emitter.onCompleted();
+                            });
+                }
+            }));
+        }
+
+        /** Resolves the columns which are not yet resolved, but do not depend on the selection. */
+        private void resolveAhead(Iterator<FinderSegment> segments, Runnable done) {
+            if (segments.hasNext()) {
+                String columnId = segments.next().getColumnId();
+                if (columnRegistry.canResolveAhead(columnId)) {
+                    columnRegistry.lookup(columnId, new LookupCallback() {
+                        @Override
+                        public void found(FinderColumn column) {
+                            resolveAhead(segments, done);
+                        }
+
+                        @Override
+                        public void error(String failure) {
+                            resolveAhead(segments, done);
+                        }
+                    });
+                } else {
+                    resolveAhead(segments, done);
+                }
+            } else {
+                done.run();
+            }
+        }
+
+        private void collectOperations(List<String> columnIds, List<Operation> operations) {
+            FinderPath previous = new FinderPath();
+            for (FinderSegment segment : path) {
+                FinderColumn column = columnRegistry.peek(segment.getColumnId());
+                if (column != null && column.getItemsProvider() instanceof OperationItemsProvider) {
+                    try {
+                        Operation operation = ((OperationItemsProvider) column.getItemsProvider())
+                                .operation(previous.copy());
+                        if (operation != null) {
+                            columnIds.add(segment.getColumnId());
+                            operations.add(operation);
+                        }
+                    } catch (RuntimeException e) {
+                        logger.debug("Unable to create operation for column '{}': {}", segment.getColumnId(),
+                                e.getMessage());
+                    }
+                }
+                previous.append(segment.getColumnId(), segment.getItemId(), segment.getColumnTitle(),
+                        segment.getItemTitle());
+            }
+        }
+    }
+
+
     private class SelectTask implements Task<FlowContext> {
 
         private final FinderSegment segment;
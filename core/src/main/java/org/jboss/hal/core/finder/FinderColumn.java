@@ -31,6 +31,7 @@ import com.google.gwt.user.client.rpc.AsyncCallback;
 import com.google.web.bindery.event.shared.HandlerRegistration;
 import elemental2.dom.DragEvent;
 import elemental2.dom.Element;
+import elemental2.dom.EventListener;
 import elemental2.dom.HTMLDivElement;
 import elemental2.dom.HTMLElement;
 import elemental2.dom.HTMLInputElement;
@@ -45,6 +46,7 @@ import org.jboss.hal.ballroom.Attachable;
 import org.jboss.hal.ballroom.Tooltip;
 import org.jboss.hal.ballroom.form.FormItemValidation;
 import org.jboss.hal.ballroom.form.UniqueNameValidation;
+import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.js.JsHelper;
 import org.jboss.hal.meta.security.AuthorisationDecision;
 import org.jboss.hal.meta.security.Constraint;
@@ -59,6 +61,7 @@ import org.jboss.hal.spi.NamedObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static elemental2.dom.DomGlobal.window;
 import static java.util.stream.Collectors.toList;
 import static org.jboss.gwt.elemento.core.Elements.header;
 import static org.jboss.gwt.elemento.core.Elements.*;
@@ -66,6 +69,7 @@ import static org.jboss.gwt.elemento.core.EventType.bind;
 import static org.jboss.gwt.elemento.core.EventType.click;
 import static org.jboss.gwt.elemento.core.EventType.keydown;
 import static org.jboss.gwt.elemento.core.EventType.keyup;
+import static org.jboss.gwt.elemento.core.EventType.scroll;
 import static org.jboss.gwt.elemento.core.InputType.text;
 import static org.jboss.gwt.elemento.core.Key.ArrowUp;
 import static org.jboss.gwt.elemento.core.Key.Escape;
@@ -116,6 +120,7 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
     private final ItemSelectionHandler<T> selectionHandler;
     private final List<HandlerRegistration> handlers;
     private final Map<String, FinderRow<T>> rows;
+    private final VirtualRows<T> virtualRows;
     private final FinderColumnStorage storage;
 
     private boolean asElement;
@@ -210,6 +215,7 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
         if (pinnable) {
             ulElement.classList.add(CSS.pinnable);
         }
+        virtualRows = builder.virtualized ? new VirtualRows<>(finder, this, ulElement, rows) : null;
 
         // no items marker
         noItems = li().css(empty)
@@ -286,11 +292,12 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
 
     private void updateHeader(int matched) {
         if (showCount) {
+            int size = virtualRows != null ? virtualRows.size() : rows.size();
             String titleWithSize;
-            if (matched == rows.size()) {
-                titleWithSize = title + " (" + rows.size() + ")";
+            if (matched == size) {
+                titleWithSize = title + " (" + size + ")";
             } else {
-                titleWithSize = title + " (" + matched + " / " + rows.size() + ")";
+                titleWithSize = title + " (" + matched + " / " + size + ")";
             }
             headerElement.textContent = titleWithSize;
             headerElement.title = titleWithSize;
@@ -305,6 +312,14 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
             handlers.add(bind(filterElement, keydown, this::onNavigation));
             handlers.add(bind(filterElement, keyup, this::onFilter));
         }
+        if (virtualRows != null) {
+            handlers.add(bind(ulElement, scroll, event -> virtualRows.scheduleRender()));
+            EventListener resize = event -> virtualRows.scheduleRender();
+            window.addEventListener("resize", resize); //NON-NLS
+            handlers.add(() -> window.removeEventListener("resize", resize)); //NON-NLS
+            // the height of the column is known now
+            virtualRows.refresh();
+        }
     }
 
     @Override
@@ -313,6 +328,9 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
             handler.removeHandler();
         }
         handlers.clear();
+        if (virtualRows != null) {
+            virtualRows.detach();
+        }
     }
 
 
@@ -330,18 +348,22 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
 
         int matched = 0;
         String filter = filterElement.value;
-        for (HTMLElement li : Elements.children(ulElement)) {
-            if (li == noItems) {
-                continue;
-            }
-            Object filterData = li.dataset.get(DATA_FILTER);
-            boolean match = filter == null
-                    || filter.trim().length() == 0
-                    || filterData == null
-                    || String.valueOf(filterData).toLowerCase().contains(filter.toLowerCase());
-            Elements.setVisible(li, match);
-            if (match) {
-                matched++;
+        if (virtualRows != null) {
+            matched = virtualRows.filter(filter);
+        } else {
+            for (HTMLElement li : Elements.children(ulElement)) {
+                if (li == noItems) {
+                    continue;
+                }
+                Object filterData = li.dataset.get(DATA_FILTER);
+                boolean match = filter == null
+                        || filter.trim().length() == 0
+                        || filterData == null
+                        || String.valueOf(filterData).toLowerCase().contains(filter.toLowerCase());
+                Elements.setVisible(li, match);
+                if (match) {
+                    matched++;
+                }
             }
         }
         updateHeader(matched);
@@ -358,11 +380,15 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
 
     private void clearFilter() {
         filterElement.value = "";
-        for (HTMLElement li : Elements.children(ulElement)) {
-            if (li == noItems) {
-                continue;
+        if (virtualRows != null) {
+            updateHeader(virtualRows.filter(null));
+        } else {
+            for (HTMLElement li : Elements.children(ulElement)) {
+                if (li == noItems) {
+                    continue;
+                }
+                Elements.setVisible(li, true);
             }
-            Elements.setVisible(li, true);
         }
         Elements.failSafeRemove(ulElement, noItems);
         Elements.setVisible(clearFilterElement, false);
@@ -375,6 +401,16 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
 
                 case ArrowUp:
                 case ArrowDown: {
+                    if (virtualRows != null) {
+                        String select = virtualRows.sibling(key == ArrowUp ? -1 : 1);
+                        if (select != null) {
+                            event.preventDefault();
+                            event.stopPropagation();
+
+                            row(select).click();
+                        }
+                        break;
+                    }
                     HTMLElement activeElement = activeElement();
                     if (!Elements.isVisible(activeElement)) {
                         activeElement = null;
@@ -416,9 +452,9 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
                 }
 
                 case ArrowRight: {
-                    HTMLElement activeElement = activeElement();
-                    String nextColumn = row(activeElement).getNextColumn();
-                    if (Elements.isVisible(activeElement) && nextColumn != null) {
+                    FinderRow<T> activeRow = visibleActiveRow();
+                    String nextColumn = activeRow != null ? activeRow.getNextColumn() : null;
+                    if (nextColumn != null) {
                         event.preventDefault();
                         event.stopPropagation();
 
@@ -433,10 +469,10 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
 
                                     @Override
                                     public void onSuccess(FinderColumn column) {
-                                        if (column.activeElement() == null && column.hasVisibleElements()) {
-                                            HTMLElement firstElement = column.nextVisibleElement(null);
-                                            column.markSelected(firstElement.id);
-                                            column.row(firstElement).updatePreview();
+                                        if (column.selectedRow() == null && column.hasVisibleElements()) {
+                                            String firstId = column.firstVisibleId();
+                                            column.markSelected(firstId);
+                                            column.row(firstId).updatePreview();
                                         }
                                         finder.updateContext();
                                         finder.updateHistory();
@@ -448,14 +484,14 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
                 }
 
                 case Enter: {
-                    HTMLElement activeItem = activeElement();
-                    T item = row(activeItem).getItem();
-                    ItemActionHandler<T> primaryAction = row(activeItem).getPrimaryAction();
-                    if (Elements.isVisible(activeItem) && item != null && primaryAction != null) {
+                    FinderRow<T> activeRow = visibleActiveRow();
+                    T item = activeRow != null ? activeRow.getItem() : null;
+                    ItemActionHandler<T> primaryAction = activeRow != null ? activeRow.getPrimaryAction() : null;
+                    if (item != null && primaryAction != null) {
                         event.preventDefault();
                         event.stopPropagation();
 
-                        row(activeItem).click();
+                        activeRow.click();
                         primaryAction.execute(item);
                     }
                     break;
@@ -482,7 +518,27 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
         return (HTMLElement) ulElement.querySelector("li." + active); //NON-NLS
     }
 
+    /** @return the selected row if it's not hidden by the filter, {@code null} otherwise */
+    private FinderRow<T> visibleActiveRow() {
+        if (virtualRows != null) {
+            return virtualRows.isSelectedVisible() ? virtualRows.selectedRow() : null;
+        }
+        HTMLElement activeElement = activeElement();
+        return activeElement != null && Elements.isVisible(activeElement) ? row(activeElement) : null;
+    }
+
+    private String firstVisibleId() {
+        if (virtualRows != null) {
+            return virtualRows.firstVisible();
+        }
+        HTMLElement firstElement = nextVisibleElement(null);
+        return firstElement != null ? firstElement.id : null;
+    }
+
     private boolean hasVisibleElements() {
+        if (virtualRows != null) {
+            return virtualRows.matched() > 0;
+        }
         for (HTMLElement element : Elements.children(ulElement)) {
             if (Elements.isVisible(element) && element != noItems) {
                 return true;
@@ -508,6 +564,9 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
     }
 
     FinderRow<T> row(String itemId) {
+        if (virtualRows != null) {
+            return virtualRows.row(itemId);
+        }
         return rows.get(itemId);
     }
 
@@ -519,6 +578,9 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
     }
 
     FinderRow<T> selectedRow() {
+        if (virtualRows != null) {
+            return virtualRows.selectedRow();
+        }
         HTMLElement activeItem = (HTMLElement) ulElement.querySelector("li." + active); //NON-NLS
         if (activeItem != null && rows.containsKey(activeItem.id)) {
             return rows.get(activeItem.id);
@@ -527,10 +589,20 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
     }
 
     boolean contains(String itemId) {
+        if (virtualRows != null) {
+            return virtualRows.contains(itemId);
+        }
         return rows.containsKey(itemId);
     }
 
     void markSelected(String itemId) {
+        if (virtualRows != null) {
+            T item = virtualRows.markSelected(itemId);
+            if (item != null && selectionHandler != null) {
+                selectionHandler.onSelect(item);
+            }
+            return;
+        }
         for (Map.Entry<String, FinderRow<T>> entry : rows.entrySet()) {
             boolean select = itemId.equals(entry.getKey());
             entry.getValue().markSelected(select);
@@ -541,6 +613,10 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
     }
 
     void resetSelection() {
+        if (virtualRows != null) {
+            virtualRows.resetSelection();
+            return;
+        }
         HTMLElement element = activeElement();
         if (element != null) {
             element.classList.remove(active);
@@ -554,6 +630,11 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
     void unpin(FinderRow<T> row) {
         row.element().classList.remove(pinned);
         row.element().classList.add(unpinned);
+        if (virtualRows != null) {
+            storage.unpinItem(row.getId());
+            virtualRows.move(row.getId(), false);
+            return;
+        }
 
         // move row to unpinned section
         ulElement.removeChild(row.element());
@@ -576,6 +657,11 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
     void pin(FinderRow<T> row) {
         row.element().classList.remove(unpinned);
         row.element().classList.add(pinned);
+        if (virtualRows != null) {
+            storage.pinItem(row.getId());
+            virtualRows.move(row.getId(), true);
+            return;
+        }
 
         // move row to pinned section
         ulElement.removeChild(row.element());
@@ -624,10 +710,16 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
         }
     }
 
+    @SuppressWarnings("unchecked")
     void setItems(AsyncCallback<FinderColumn> callback) {
+        ModelNode prefetched = finder.prefetched(id);
         if (!initialItems.isEmpty()) {
             setItems(initialItems, callback);
 
+        } else if (prefetched != null && itemsProvider instanceof OperationItemsProvider) {
+            // result of a composite operation executed by Finder.select()
+            setItems(((OperationItemsProvider<T>) itemsProvider).items(prefetched), callback);
+
         } else if (itemsProvider != null) {
             itemsProvider.get(finder.getContext(), new AsyncCallback<List<T>>() {
                 @Override
@@ -655,6 +747,17 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
         if (filterElement != null) {
             filterElement.value = "";
         }
+        if (virtualRows != null) {
+            virtualRows.setItems(items, pinnable ? storage.pinnedItems() : Collections.emptySet());
+            updateHeader(items.size());
+            if (items.isEmpty()) {
+                ulElement.appendChild(noItems);
+            }
+            if (callback != null) {
+                callback.onSuccess(this);
+            }
+            return;
+        }
 
         List<T> pinnedItems = new ArrayList<>();
         List<T> unpinnedItems = new ArrayList<>();
@@ -754,6 +857,10 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
         return itemRenderer;
     }
 
+    PreviewCallback<T> getPreviewCallback() {
+        return previewCallback;
+    }
+
     /**
      * Sometimes you need to reference {@code this} in the items provider. This is not possible if the items provider is
      * part of the builder which is passed to {@code super()}. In this case the items provider can be specified
@@ -866,7 +973,7 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
                 FinderRow<T> oldRow = selectedRow();
                 refresh(() -> {
                     if (oldRow != null) {
-                        FinderRow<T> updatedRow = rows.get(oldRow.getId());
+                        FinderRow<T> updatedRow = row(oldRow.getId());
                         if (updatedRow != null) {
                             updatedRow.click();
                             updatedRow.element().scrollIntoView(false);
@@ -888,7 +995,7 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
      */
     public void refresh(String selectItemId) {
         refresh(() -> {
-            FinderRow<T> row = rows.get(selectItemId);
+            FinderRow<T> row = row(selectItemId);
             if (row != null) {
                 row.click();
             } else {
@@ -983,6 +1090,7 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
         private boolean showCount;
         private boolean withFilter;
         private boolean pinnable;
+        private boolean virtualized;
         private PreviewCallback<T> previewCallback;
         private BreadcrumbItemHandler<T> breadcrumbItemHandler;
         private boolean firstActionAsBreadcrumbHandler;
@@ -1037,6 +1145,15 @@ public class FinderColumn<T> implements IsElement<HTMLDivElement>, Attachable {
             return this;
         }
 
+        /**
+         * Renders only the visible rows plus an overscan buffer. Use this for columns which might contain thousands of
+         * items. Filtering, keyboard navigation and pinning work as usual, but the rows must have a uniform height.
+         */
+        public Builder<T> virtualized() {
+            this.virtualized = true;
+            return this;
+        }
+
         public Builder<T> initialItems(List<T> items) {
             if (items != null && !items.isEmpty()) {
                 this.items.addAll(items);
@@ -15,6 +15,10 @@
  */
 package org.jboss.hal.core.finder;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
 import javax.inject.Inject;
 
 import com.google.web.bindery.event.shared.EventBus;
@@ -34,7 +38,11 @@ import static org.jboss.hal.resources.UIConstants.MEDIUM_TIMEOUT;
  */
 public class ItemMonitor {
 
+    // virtualized columns re-create rows when they're scrolled into view: they use this set to restore the progress
+    private static final Set<String> itemsInProgress = new HashSet<>();
+
     public static void startProgress(final String itemId) {
+        itemsInProgress.add(itemId);
         elemental2.dom.Element element = document.getElementById(itemId);
         if (element != null) {
             element.classList.add(withProgress);
@@ -42,12 +50,22 @@ public class ItemMonitor {
     }
 
     public static void stopProgress(final String itemId) {
+        itemsInProgress.remove(itemId);
         elemental2.dom.Element element = document.getElementById(itemId);
         if (element != null) {
             element.classList.remove(withProgress);
         }
     }
 
+    static boolean inProgress(String itemId) {
+        return itemsInProgress.contains(itemId);
+    }
+
+    /** Forgets the progress of items which are removed or no longer shown. */
+    static void clearProgress(Collection<String> itemIds) {
+        itemsInProgress.removeAll(itemIds);
+    }
+
 
     private final EventBus eventBus;
     private double timeoutHandle = -1;
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.core.finder;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.google.gwt.user.client.rpc.AsyncCallback;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+
+/**
+ * Items provider which loads the items of a column using one DMR operation. The operation must only depend on the
+ * finder path, not on the current selection or statement context. Thus the finder can compute the operations of
+ * several columns up front and execute them as one composite when selecting a deep link.
+ *
+ * @see Finder#select(String, FinderPath, Runnable)
+ */
+public class OperationItemsProvider<T> implements ItemsProvider<T> {
+
+    private final Dispatcher dispatcher;
+    private final Function<FinderPath, Operation> operation;
+    private final Function<ModelNode, List<T>> items;
+
+    /**
+     * @param dispatcher the dispatcher used to execute the operation
+     * @param operation  function which returns the operation for the specified path. The path contains the segments of
+     *                   the previous columns. Returns {@code null} if the operation cannot be determined.
+     * @param items      function which turns the result of the operation into items
+     */
+    public OperationItemsProvider(Dispatcher dispatcher, Function<FinderPath, Operation> operation,
+            Function<ModelNode, List<T>> items) {
+        this.dispatcher = dispatcher;
+        this.operation = operation;
+        this.items = items;
+    }
+
+    @Override
+    public void get(FinderContext context, AsyncCallback<List<T>> callback) {
+        Operation operation = operation(context.getPath());
+        if (operation != null) {
+            dispatcher.execute(operation, result -> callback.onSuccess(items(result)));
+        } else {
+            callback.onFailure(new IllegalStateException("Unable to create operation for " + context.getPath()));
+        }
+    }
+
+    Operation operation(FinderPath path) {
+        return operation.apply(path);
+    }
+
+    List<T> items(ModelNode result) {
+        return items.apply(result);
+    }
+}
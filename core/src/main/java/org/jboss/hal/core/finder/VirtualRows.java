@@ -0,0 +1,414 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.core.finder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import elemental2.dom.HTMLElement;
+import org.jboss.gwt.elemento.core.Elements;
+import org.jboss.hal.ballroom.Tooltip;
+import org.jboss.hal.resources.Strings;
+import org.jboss.hal.resources.UIConstants;
+
+import static elemental2.dom.DomGlobal.requestAnimationFrame;
+import static org.jboss.hal.resources.CSS.active;
+import static org.jboss.hal.resources.CSS.last;
+import static org.jboss.hal.resources.CSS.withProgress;
+import static org.jboss.hal.resources.UIConstants.HASH;
+
+/**
+ * Windowed rendering of the rows of a {@linkplain FinderColumn.Builder#virtualized() virtualized} finder column. Only
+ * the rows in the visible part of the column plus an overscan buffer are part of the DOM. The space of all other rows
+ * is reserved using the padding of the list element.
+ * <p>
+ * Rows are created when they're rendered for the first time and are dropped when they leave the window. The selected
+ * row is kept, even if it's scrolled out of view. Filtering works on an in-memory index of the filter data and doesn't
+ * touch the DOM except for rendering the new window.
+ * <p>
+ * The window depends on the height of the column. As long as the column is not attached, a default height is used.
+ * That's why the column calls {@link #refresh()} when it's attached and {@link #scheduleRender()} when the window is
+ * resized.
+ */
+class VirtualRows<T> {
+
+    static final int OVERSCAN = 10;
+    static final int DEFAULT_ROW_HEIGHT = 50; // px, see finder.less
+    private static final int DEFAULT_VIEWPORT = 1_000; // px, used as long as the column is not attached
+
+    private final Finder finder;
+    private final FinderColumn<T> column;
+    private final HTMLElement ulElement;
+    private final Map<String, FinderRow<T>> rows;
+    private final List<Entry<T>> entries;
+    private final Map<String, Entry<T>> entriesById;
+    private List<Entry<T>> visible;
+    private String filter;
+    private String selectedId;
+    private int rowHeight;
+    private int firstIndex;
+    private int lastIndex;
+    private boolean renderScheduled;
+
+    /**
+     * @param rows the rows of the column. Contains the rendered rows and the selected row only.
+     */
+    VirtualRows(Finder finder, FinderColumn<T> column, HTMLElement ulElement, Map<String, FinderRow<T>> rows) {
+        this.finder = finder;
+        this.column = column;
+        this.ulElement = ulElement;
+        this.rows = rows;
+        this.entries = new ArrayList<>();
+        this.entriesById = new HashMap<>();
+        this.visible = entries;
+        this.rowHeight = DEFAULT_ROW_HEIGHT;
+    }
+
+
+    // ------------------------------------------------------ items
+
+    void setItems(List<T> items, Set<String> pinnedIds) {
+        Set<String> removed = new HashSet<>(entriesById.keySet());
+        rows.clear();
+        entries.clear();
+        entriesById.clear();
+        selectedId = null;
+        filter = null;
+
+        List<Entry<T>> unpinned = new ArrayList<>();
+        for (T item : items) {
+            ItemDisplay<T> display = display(item);
+            Entry<T> entry = new Entry<>(item, display, pinnedIds.contains(display.getId()));
+            entriesById.put(entry.id, entry);
+            if (entry.pinned) {
+                entries.add(entry);
+            } else {
+                unpinned.add(entry);
+            }
+        }
+        entries.addAll(unpinned);
+        removed.removeAll(entriesById.keySet());
+        ItemMonitor.clearProgress(removed);
+        visible = entries;
+        ulElement.scrollTop = 0;
+        render(true);
+    }
+
+    /** Moves the row to the pinned / unpinned section. Uses the same order as the non-virtualized column. */
+    void move(String id, boolean pinned) {
+        Entry<T> entry = entry(id);
+        if (entry != null) {
+            entries.remove(entry);
+            entry.pinned = pinned;
+            int index = 0;
+            while (index < entries.size() && entries.get(index).pinned) {
+                index++;
+            }
+            int from = pinned ? 0 : index;
+            int to = pinned ? index : entries.size();
+            int position = to;
+            for (int i = from; i < to; i++) {
+                if (entries.get(i).title().compareTo(entry.title()) > 0) {
+                    position = i;
+                    break;
+                }
+            }
+            entries.add(position, entry);
+            filter(filter);
+            if (pinned) {
+                reveal(id);
+            }
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    boolean contains(String id) {
+        return entry(id) != null;
+    }
+
+
+    // ------------------------------------------------------ filter
+
+    /** @return the number of matching rows */
+    int filter(String filter) {
+        this.filter = filter;
+        if (filter == null || filter.trim().length() == 0) {
+            visible = entries;
+        } else {
+            String lowerCaseFilter = filter.toLowerCase();
+            visible = new ArrayList<>();
+            for (Entry<T> entry : entries) {
+                if (matches(entry.filterData, lowerCaseFilter)) {
+                    visible.add(entry);
+                }
+            }
+        }
+        render(true);
+        return visible.size();
+    }
+
+    int matched() {
+        return visible.size();
+    }
+
+    static boolean matches(String lowerCaseFilterData, String lowerCaseFilter) {
+        return lowerCaseFilterData == null || lowerCaseFilterData.contains(lowerCaseFilter);
+    }
+
+
+    // ------------------------------------------------------ selection & navigation
+
+    FinderRow<T> row(String id) {
+        Entry<T> entry = entry(id);
+        if (entry != null) {
+            reveal(id);
+            return materialize(entry);
+        }
+        return null;
+    }
+
+    FinderRow<T> selectedRow() {
+        if (selectedId != null) {
+            Entry<T> entry = entry(selectedId);
+            if (entry != null) {
+                return materialize(entry);
+            }
+        }
+        return null;
+    }
+
+    /** @return the selected item or {@code null} if there's no item with the specified id */
+    T markSelected(String id) {
+        Entry<T> selected = entry(id);
+        selectedId = selected != null ? id : null;
+        rows.forEach((rowId, row) -> row.markSelected(rowId.equals(selectedId)));
+        if (selectedId != null) {
+            materialize(entry(selectedId)).markSelected(true);
+        }
+        evict();
+        return selected != null ? selected.item : null;
+    }
+
+    void resetSelection() {
+        if (selectedId != null) {
+            FinderRow<T> row = rows.get(selectedId);
+            if (row != null) {
+                row.element().classList.remove(active);
+            }
+            selectedId = null;
+            evict();
+        }
+    }
+
+    /** @return whether the selected row is among the matching rows */
+    boolean isSelectedVisible() {
+        return selectedId != null && indexOf(selectedId) != -1;
+    }
+
+    String firstVisible() {
+        return visible.isEmpty() ? null : visible.get(0).id;
+    }
+
+    /** @return the id of the matching row before (direction < 0) or after (direction > 0) the selected row */
+    String sibling(int direction) {
+        if (visible.isEmpty()) {
+            return null;
+        }
+        int index = selectedId != null ? indexOf(selectedId) : -1;
+        if (index == -1) {
+            return direction < 0 ? visible.get(visible.size() - 1).id : visible.get(0).id;
+        }
+        int sibling = index + direction;
+        return sibling >= 0 && sibling < visible.size() ? visible.get(sibling).id : null;
+    }
+
+    /** Scrolls the row into the window and renders it. */
+    void reveal(String id) {
+        int index = indexOf(id);
+        if (index != -1 && (index < firstIndex || index >= lastIndex || !rows.containsKey(id))) {
+            int top = index * rowHeight;
+            int viewport = ulElement.clientHeight > 0 ? (int) ulElement.clientHeight : DEFAULT_VIEWPORT;
+            if (top < ulElement.scrollTop) {
+                ulElement.scrollTop = top;
+            } else if (top + rowHeight > ulElement.scrollTop + viewport) {
+                ulElement.scrollTop = top + rowHeight - viewport;
+            }
+            render(true);
+        }
+    }
+
+
+    // ------------------------------------------------------ render
+
+    /** Renders the window for the current height of the column. Must be called once the column is attached. */
+    void refresh() {
+        render(false);
+    }
+
+    /** Forgets the progress of all items. Must be called when the column is detached. */
+    void detach() {
+        ItemMonitor.clearProgress(entriesById.keySet());
+    }
+
+    /** Renders the window in the next animation frame (used when the column is scrolled or resized) */
+    void scheduleRender() {
+        if (!renderScheduled) {
+            renderScheduled = true;
+            requestAnimationFrame(timestamp -> {
+                renderScheduled = false;
+                render(false);
+            });
+        }
+    }
+
+    private void render(boolean force) {
+        int viewport = ulElement.clientHeight > 0 ? (int) ulElement.clientHeight : DEFAULT_VIEWPORT;
+        int[] range = range((int) ulElement.scrollTop, viewport, rowHeight, visible.size(), OVERSCAN);
+        if (!force && range[0] == firstIndex && range[1] == lastIndex) {
+            return;
+        }
+        firstIndex = range[0];
+        lastIndex = range[1];
+
+        boolean newRows = false;
+        Elements.removeChildrenFrom(ulElement);
+        for (int i = firstIndex; i < lastIndex; i++) {
+            Entry<T> entry = visible.get(i);
+            newRows |= !rows.containsKey(entry.id);
+            FinderRow<T> row = materialize(entry);
+            boolean lastPinned = entry.pinned && (i == visible.size() - 1 || !visible.get(i + 1).pinned);
+            if (lastPinned) {
+                row.element().classList.add(last);
+            } else {
+                row.element().classList.remove(last);
+            }
+            if (ItemMonitor.inProgress(entry.id)) {
+                row.element().classList.add(withProgress);
+            } else {
+                row.element().classList.remove(withProgress);
+            }
+            ulElement.appendChild(row.element());
+        }
+        ulElement.style.paddingTop = (firstIndex * rowHeight) + "px"; //NON-NLS
+        ulElement.style.paddingBottom = ((visible.size() - lastIndex) * rowHeight) + "px"; //NON-NLS
+        evict();
+
+        if (firstIndex < lastIndex && ulElement.firstElementChild != null) {
+            int measured = (int) ((HTMLElement) ulElement.firstElementChild).offsetHeight;
+            if (measured > 0 && measured != rowHeight) {
+                // the actual height is known once the first row was rendered: render again using that height
+                rowHeight = measured;
+                render(true);
+                return;
+            }
+        }
+        if (newRows) {
+            initTooltips();
+        }
+    }
+
+    /**
+     * Calculates the rows to render.
+     *
+     * @return an array with the index of the first (inclusive) and the last (exclusive) row to render
+     */
+    static int[] range(int scrollTop, int viewport, int rowHeight, int size, int overscan) {
+        int height = Math.max(1, rowHeight);
+        int first = Math.max(0, scrollTop / height - overscan);
+        int last = Math.min(size, (scrollTop + viewport + height - 1) / height + overscan);
+        if (first > last) {
+            // scrolled beyond the end (e.g. after filtering)
+            first = Math.max(0, last - (viewport / height) - overscan);
+        }
+        return new int[]{first, last};
+    }
+
+    private FinderRow<T> materialize(Entry<T> entry) {
+        return rows.computeIfAbsent(entry.id, id -> {
+            FinderRow<T> row = newRow(entry.item, entry.pinned, entry.display);
+            row.markSelected(id.equals(selectedId));
+            return row;
+        });
+    }
+
+    ItemDisplay<T> display(T item) {
+        return column.getItemRenderer().render(item);
+    }
+
+    FinderRow<T> newRow(T item, boolean pinned, ItemDisplay<T> display) {
+        return new FinderRow<>(finder, column, item, pinned, display, column.getPreviewCallback());
+    }
+
+    void initTooltips() {
+        Tooltip.select(HASH + column.getId() + " [data-" + UIConstants.TOGGLE + "=" + //NON-NLS
+                UIConstants.TOOLTIP + "]").init();
+    }
+
+    /** Removes all rows which are neither rendered nor selected. */
+    private void evict() {
+        Set<String> keep = new HashSet<>();
+        for (int i = firstIndex; i < lastIndex && i < visible.size(); i++) {
+            keep.add(visible.get(i).id);
+        }
+        if (selectedId != null) {
+            keep.add(selectedId);
+        }
+        rows.keySet().retainAll(keep);
+    }
+
+    private Entry<T> entry(String id) {
+        return entriesById.get(id);
+    }
+
+    private int indexOf(String id) {
+        for (int i = 0; i < visible.size(); i++) {
+            if (visible.get(i).id.equals(id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+
+    private static class Entry<T> {
+
+        private final T item;
+        private final ItemDisplay<T> display;
+        private final String id;
+        private final String filterData;
+        private boolean pinned;
+
+        private Entry(T item, ItemDisplay<T> display, boolean pinned) {
+            this.item = item;
+            this.display = display;
+            this.id = Strings.sanitize(display.getId());
+            String filterData = display.getFilterData();
+            this.filterData = filterData != null ? filterData.toLowerCase() : null;
+            this.pinned = pinned;
+        }
+
+        private String title() {
+            return display.getTitle() != null ? display.getTitle() : "";
+        }
+    }
+}
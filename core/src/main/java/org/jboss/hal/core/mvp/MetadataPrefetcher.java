@@ -0,0 +1,262 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.core.mvp;
+
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.inject.Inject;
+
+import com.google.gwt.user.client.rpc.AsyncCallback;
+import com.google.web.bindery.event.shared.EventBus;
+import com.gwtplatform.mvp.client.proxy.NavigationEvent;
+import com.gwtplatform.mvp.client.proxy.NavigationHandler;
+import elemental2.webstorage.WebStorageWindow;
+import jsinterop.annotations.JsFunction;
+import jsinterop.annotations.JsMethod;
+import jsinterop.annotations.JsType;
+import jsinterop.base.Js;
+import jsinterop.base.JsPropertyMap;
+import org.jboss.hal.config.Settings;
+import org.jboss.hal.core.ApplicationReadyEvent;
+import org.jboss.hal.core.ApplicationReadyEvent.ApplicationReadyHandler;
+import org.jboss.hal.dmr.dispatch.Dispatcher;
+import org.jboss.hal.meta.MetadataCache;
+import org.jboss.hal.meta.description.ResourceDescriptionRegistry;
+import org.jboss.hal.meta.processing.MetadataProcessor;
+import org.jboss.hal.meta.resource.RequiredResources;
+import org.jboss.hal.meta.security.SecurityContextRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static elemental2.dom.DomGlobal.setTimeout;
+import static elemental2.dom.DomGlobal.window;
+import static jsinterop.annotations.JsPackage.GLOBAL;
+import static org.jboss.hal.config.Settings.Key.METADATA_PREFETCH;
+
+/**
+ * Processes the {@linkplain RequiredResources required resources} of presenters and columns in the background, so
+ * that the first visit of a page does not wait for read-resource-description operations.
+ * <p>
+ * Prefetching starts after the application is ready. Name tokens which were used often and recently come first (see
+ * {@link NavigationHistory}), the remaining ids follow. One id is processed at a time and only if the browser is idle
+ * ({@code requestIdleCallback}) and no other DMR request is in flight. Otherwise the prefetcher backs off. Prefetching
+ * stops once the metadata caches are half full, so it never evicts metadata of pages which have been visited already.
+ * <p>
+ * Ids whose resources depend on the current selection (e.g. {@code {selected.host}}) are skipped. Prefetching can be
+ * turned off using {@link Settings.Key#METADATA_PREFETCH}.
+ */
+public class MetadataPrefetcher implements ApplicationReadyHandler, NavigationHandler {
+
+    private static final int IDLE_TIMEOUT = 2_000; // ms
+    private static final int FALLBACK_DELAY = 500; // ms
+    private static final double MIN_TIME_REMAINING = 10; // ms
+    private static final int MIN_BACK_OFF = 1_000; // ms
+    private static final int MAX_BACK_OFF = 30_000; // ms
+    private static final String SELECTION = "{selected.";
+    private static final Logger logger = LoggerFactory.getLogger(MetadataPrefetcher.class);
+
+    private final Settings settings;
+    private final Dispatcher dispatcher;
+    private final RequiredResources requiredResources;
+    private final MetadataProcessor metadataProcessor;
+    private final ResourceDescriptionRegistry resourceDescriptionRegistry;
+    private final SecurityContextRegistry securityContextRegistry;
+    private final NavigationHistory history;
+    private final Queue<String> queue;
+    private boolean started;
+    private boolean prefetching;
+    private int backOff;
+    private int prefetched;
+    private int failed;
+
+    @Inject
+    public MetadataPrefetcher(EventBus eventBus,
+            Settings settings,
+            Dispatcher dispatcher,
+            RequiredResources requiredResources,
+            MetadataProcessor metadataProcessor,
+            ResourceDescriptionRegistry resourceDescriptionRegistry,
+            SecurityContextRegistry securityContextRegistry) {
+        this.settings = settings;
+        this.dispatcher = dispatcher;
+        this.requiredResources = requiredResources;
+        this.metadataProcessor = metadataProcessor;
+        this.resourceDescriptionRegistry = resourceDescriptionRegistry;
+        this.securityContextRegistry = securityContextRegistry;
+        this.history = new NavigationHistory(WebStorageWindow.of(window).localStorage);
+        this.queue = new LinkedList<>();
+        this.backOff = MIN_BACK_OFF;
+
+        eventBus.addHandler(ApplicationReadyEvent.getType(), this);
+        eventBus.addHandler(NavigationEvent.getType(), this);
+    }
+
+    @Override
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (!started && settings.get(METADATA_PREFETCH).asBoolean()) {
+            started = true;
+            queue.addAll(candidates());
+            logger.debug("Start to prefetch metadata for {} ids", queue.size());
+            scheduleIdle();
+        }
+    }
+
+    @Override
+    public void onNavigation(NavigationEvent event) {
+        if (event.getRequest() != null && event.getRequest().getNameToken() != null) {
+            history.visit(event.getRequest().getNameToken());
+        }
+    }
+
+    private Set<String> candidates() {
+        Set<String> ids = new TreeSet<>(requiredResources.getIds());
+        ids.removeIf(id -> requiredResources.getResources(id).stream().anyMatch(r -> r.contains(SELECTION)));
+
+        Set<String> candidates = new LinkedHashSet<>();
+        for (String token : history.ranked()) {
+            if (ids.contains(token)) {
+                candidates.add(token);
+            }
+        }
+        candidates.addAll(ids);
+        return candidates;
+    }
+
+
+    // ------------------------------------------------------ idle slices
+
+    private void scheduleIdle() {
+        JsPropertyMap<Object> global = Js.cast(window);
+        if (global.has("requestIdleCallback")) { //NON-NLS
+            JsPropertyMap<Object> options = JsPropertyMap.of();
+            options.set("timeout", IDLE_TIMEOUT); //NON-NLS
+            Bridge.requestIdleCallback(this::onIdle, options);
+        } else {
+            setTimeout(whatever -> onIdle(null), FALLBACK_DELAY);
+        }
+    }
+
+    private void onIdle(IdleDeadline deadline) {
+        if (prefetching) {
+            return;
+        }
+        if (dispatcher.getInFlight() > 0) {
+            // back off while other requests are in flight
+            setTimeout(whatever -> scheduleIdle(), backOff);
+            backOff = Math.min(backOff * 2, MAX_BACK_OFF);
+            return;
+        }
+        backOff = MIN_BACK_OFF;
+
+        if (deadline != null && !deadline.didTimeout && deadline.timeRemaining() < MIN_TIME_REMAINING) {
+            scheduleIdle();
+            return;
+        }
+        if (overBudget(resourceDescriptionRegistry.getCache()) || overBudget(securityContextRegistry.getCache())) {
+            logger.debug("Stop to prefetch metadata: Budget exceeded ({} prefetched, {} failed, {} left)",
+                    prefetched, failed, queue.size());
+            queue.clear();
+            return;
+        }
+
+        String id = queue.poll();
+        if (id == null) {
+            logger.debug("Finished to prefetch metadata ({} prefetched, {} failed)", prefetched, failed);
+            return;
+        }
+        prefetch(id);
+    }
+
+    private void prefetch(String id) {
+        prefetching = true;
+        try {
+            metadataProcessor.prefetch(id, new AsyncCallback<Void>() {
+                @Override
+                public void onFailure(Throwable throwable) {
+                    failed(id, throwable);
+                }
+
+                @Override
+                public void onSuccess(Void whatever) {
+                    prefetching = false;
+                    prefetched++;
+                    scheduleIdle();
+                }
+            });
+        } catch (RuntimeException e) {
+            // e.g. templates which cannot be resolved at the moment
+            failed(id, e);
+        }
+    }
+
+    private void failed(String id, Throwable throwable) {
+        prefetching = false;
+        failed++;
+        logger.debug("Unable to prefetch metadata for {}: {}", id, throwable != null ? throwable.getMessage() : null);
+        scheduleIdle();
+    }
+
+    private boolean overBudget(MetadataCache<?> cache) {
+        return cache.getWeight() > cache.getMaxWeight() / 2;
+    }
+
+
+    // ------------------------------------------------------ statistics
+
+    public int getPrefetched() {
+        return prefetched;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    /** @return the number of ids which are waiting to be prefetched */
+    public int getQueued() {
+        return queue.size();
+    }
+
+
+    // ------------------------------------------------------ requestIdleCallback
+
+    @JsType(isNative = true)
+    private static class Bridge {
+
+        @JsMethod(namespace = GLOBAL)
+        static native double requestIdleCallback(IdleCallback callback, JsPropertyMap<Object> options);
+    }
+
+
+    @JsFunction
+    @FunctionalInterface
+    private interface IdleCallback {
+
+        void onIdle(IdleDeadline deadline);
+    }
+
+
+    @JsType(isNative = true, namespace = GLOBAL, name = "Object")
+    private static class IdleDeadline {
+
+        boolean didTimeout;
+
+        native double timeRemaining();
+    }
+}
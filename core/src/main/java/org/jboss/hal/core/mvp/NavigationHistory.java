@@ -0,0 +1,101 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.core.mvp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Splitter;
+import elemental2.webstorage.Storage;
+import org.jboss.hal.resources.Ids;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Ranks name tokens by recent usage. Each visit adds one to the score of the visited token, while the scores of all
+ * other tokens decay. Thus tokens which are used often and recently get the highest score. The scores are stored in
+ * the local storage.
+ */
+class NavigationHistory {
+
+    static final double DECAY = 0.9;
+    static final double MIN_SCORE = 0.01;
+    static final int MAX_TOKENS = 50;
+
+    private final Storage storage;
+    private final Map<String, Double> scores;
+
+    NavigationHistory(Storage storage) {
+        this.storage = storage;
+        this.scores = new HashMap<>();
+        if (storage != null) {
+            parse(storage.getItem(Ids.NAVIGATION_STORAGE));
+        }
+    }
+
+    void visit(String token) {
+        scores.replaceAll((t, score) -> score * DECAY);
+        scores.merge(token, 1.0, Double::sum);
+        scores.values().removeIf(score -> score < MIN_SCORE);
+        if (scores.size() > MAX_TOKENS) {
+            List<String> ranked = ranked();
+            scores.keySet().retainAll(ranked.subList(0, MAX_TOKENS));
+        }
+        if (storage != null) {
+            storage.setItem(Ids.NAVIGATION_STORAGE, toString());
+        }
+    }
+
+    /** @return the visited tokens, highest score first */
+    List<String> ranked() {
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .collect(toList());
+    }
+
+    double score(String token) {
+        return scores.getOrDefault(token, 0.0);
+    }
+
+    void parse(String value) {
+        scores.clear();
+        if (value != null) {
+            for (String entry : Splitter.on(',').omitEmptyStrings().split(value)) {
+                int index = entry.lastIndexOf('=');
+                if (index > 0) {
+                    try {
+                        scores.put(entry.substring(0, index), Double.parseDouble(entry.substring(index + 1)));
+                    } catch (NumberFormatException ignore) {
+                        // skip invalid entries
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        List<String> entries = new ArrayList<>();
+        for (String token : ranked()) {
+            entries.add(token + "=" + scores.get(token));
+        }
+        return String.join(",", entries);
+    }
+}
@@ -52,6 +52,21 @@ public abstract class HasServersNode extends NamedNode {
         servers.add(server);
     }
 
+    /**
+     * Replaces the server with the same {@linkplain Server#getId() id} as the specified server.
+     *
+     * @return {@code true} if the server was replaced, {@code false} if there's no such server
+     */
+    public boolean replaceServer(Server server) {
+        for (int i = 0; i < servers.size(); i++) {
+            if (servers.get(i).getId().equals(server.getId())) {
+                servers.set(i, server);
+                return true;
+            }
+        }
+        return false;
+    }
+
     public List<Server> getServers() {
         return servers;
     }
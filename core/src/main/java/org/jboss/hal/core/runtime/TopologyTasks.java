@@ -46,12 +46,14 @@ import org.jboss.hal.spi.MessageEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Completable;
+import rx.Observable;
 import rx.Single;
 import rx.functions.Func1;
 
 import static java.lang.Math.max;
 import static java.util.Collections.emptyList;
 import static java.util.Comparator.comparing;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
@@ -68,6 +70,8 @@ public final class TopologyTasks {
 
     private static final String HOST_NAMES = "topologyFunctions.hostNames";           // List<String>
     private static final String WILDCARD = "*";
+    private static final int MAX_HOSTS_IN_FLIGHT = 4;
+    private static final int HOST_TIMEOUT = 15; // seconds
     private static final Logger logger = LoggerFactory.getLogger(TopologyTasks.class);
 
     // ------------------------------------------------------ topology
@@ -106,7 +110,6 @@ public final class TopologyTasks {
         tasks.add(new Hosts(environment, dispatcher));
         tasks.add(new DisconnectedHosts(environment, dispatcher));
         tasks.add(new ServerGroups(environment, dispatcher));
-        tasks.add(new StartedServers(environment, dispatcher));
         tasks.add(new Topology(environment));
         return tasks;
     }
@@ -126,7 +129,6 @@ public final class TopologyTasks {
         tasks.add(new HostsNames(environment, dispatcher));
         tasks.add(new Hosts(environment, dispatcher));
         tasks.add(new DisconnectedHosts(environment, dispatcher));
-        tasks.add(new StartedServers(environment, dispatcher));
         tasks.add(new Topology(environment));
         return tasks;
     }
@@ -145,7 +147,6 @@ public final class TopologyTasks {
         tasks.add(new HostsNames(environment, dispatcher));
         tasks.add(new Hosts(environment, dispatcher));
         tasks.add(new ServerGroups(environment, dispatcher));
-        tasks.add(new StartedServers(environment, dispatcher));
         tasks.add(new Topology(environment));
         return tasks;
     }
@@ -201,6 +202,62 @@ public final class TopologyTasks {
         return tasks;
     }
 
+    /**
+     * Returns a list of tasks to read one server. Use this to refresh a server after its state has changed.
+     *
+     * <p>The context is populated with the following keys:
+     * <ul>
+     * <li>{@link #SERVERS}: A list with the server or an empty list if the server does not exist.</li>
+     * </ul>
+     * A started server contains additional attributes and optional server boot errors.
+     */
+    public static List<Task<FlowContext>> server(Environment environment, Dispatcher dispatcher, String host,
+            String server) {
+        List<Task<FlowContext>> tasks = new ArrayList<>();
+        tasks.add(new SingleServer(environment, dispatcher, host, server));
+        tasks.add(new StartedServers(environment, dispatcher));
+        return tasks;
+    }
+
+    /**
+     * Returns a list of tasks to read one host and its servers. Use this to refresh a host after its state has
+     * changed.
+     *
+     * <p>The context is populated with the following keys:
+     * <ul>
+     * <li>{@link #HOSTS}: A list with the host. The host contains its servers.</li>
+     * <li>{@link #SERVERS}: The list of servers of the host.</li>
+     * </ul>
+     * Started servers contain additional attributes and optional server boot errors.
+     */
+    public static List<Task<FlowContext>> host(Environment environment, Dispatcher dispatcher, String host) {
+        List<Task<FlowContext>> tasks = new ArrayList<>();
+        tasks.add(new SingleHost(environment, dispatcher, host));
+        return tasks;
+    }
+
+    /**
+     * Returns a list of tasks to read one server group and its servers. Use this to refresh a server group after the
+     * state of its servers has changed.
+     *
+     * <p>The context is populated with the following keys:
+     * <ul>
+     * <li>{@link #SERVER_GROUPS}: A list with the server group. The server group contains its servers.</li>
+     * <li>{@link #SERVERS}: The list of servers of the server group.</li>
+     * </ul>
+     * Started servers contain additional attributes and optional server boot errors.
+     */
+    public static List<Task<FlowContext>> serverGroup(Environment environment, Dispatcher dispatcher,
+            String serverGroup) {
+        List<Task<FlowContext>> tasks = new ArrayList<>();
+        tasks.add(new HostsNames(environment, dispatcher));
+        tasks.add(new SingleServerGroup(environment, dispatcher, serverGroup));
+        tasks.add(new ServersOfServerGroup(environment, dispatcher, serverGroup));
+        tasks.add(new StartedServers(environment, dispatcher));
+        tasks.add(new Topology(environment));
+        return tasks;
+    }
+
     // ------------------------------------------------------ public callbacks
 
     /**
@@ -222,20 +279,186 @@ public final class TopologyTasks {
 
         @Override
         public Single<T> call(Throwable throwable) {
-            Host h;
-            if (throwable.getMessage() != null &&
-                    throwable.getMessage().contains(ERROR_WFY_CTL_0379)) {
-                h = Host.booting(hostName);
-            } else {
-                h = Host.failed(hostName);
-            }
-            hosts.add(h);
-            logger.warn("Unable to read host {}: {}", hostName, throwable.getMessage());
+            hosts.add(hostError(hostName, throwable));
             T resumeWith = resume.apply(throwable);
             return Single.just(resumeWith);
         }
     }
 
+    private static Host hostError(String hostName, Throwable throwable) {
+        logger.warn("Unable to read host {}: {}", hostName, throwable.getMessage());
+        if (throwable.getMessage() != null && throwable.getMessage().contains(ERROR_WFY_CTL_0379)) {
+            return Host.booting(hostName);
+        } else {
+            return Host.failed(hostName);
+        }
+    }
+
+
+    // ------------------------------------------------------ progressive loading
+
+    /**
+     * Reads all hosts (connected and disconnected) and emits each host together with its servers as soon as it has
+     * been read. Up to {@value #MAX_HOSTS_IN_FLIGHT} hosts are read in parallel, so the hosts are emitted in no
+     * particular order. Disconnected hosts are emitted last.
+     * <p>
+     * Hosts which cannot be read or which don't respond within {@value #HOST_TIMEOUT} seconds are emitted as
+     * {@linkplain Host#isFailed() failed} or {@linkplain Host#isBooting() booting} hosts without servers. Started
+     * servers contain additional attributes and optional server boot errors.
+     */
+    public static Observable<Host> readHosts(Environment environment, Dispatcher dispatcher) {
+        if (environment.isStandalone()) {
+            return Observable.empty();
+        }
+        Observable<Host> connectedHosts = readHostNames(dispatcher)
+                .flatMapObservable(hostNames -> Observable.from(hostNames))
+                .flatMapSingle(host -> readHost(dispatcher, host), false, MAX_HOSTS_IN_FLIGHT);
+        Observable<Host> disconnectedHosts = readDisconnectedHosts(dispatcher)
+                .flatMapObservable(hosts -> Observable.from(hosts));
+        return connectedHosts.concatWith(disconnectedHosts);
+    }
+
+    /** Reads the server groups ordered by name. The server groups don't contain any servers. */
+    public static Single<List<ServerGroup>> readServerGroups(Environment environment, Dispatcher dispatcher) {
+        if (environment.isStandalone()) {
+            return Single.just(emptyList());
+        }
+        Operation operation = new Operation.Builder(ResourceAddress.root(), READ_CHILDREN_RESOURCES_OPERATION)
+                .param(CHILD_TYPE, ModelDescriptionConstants.SERVER_GROUP)
+                .param(INCLUDE_RUNTIME, true)
+                .build();
+        return dispatcher.execute(operation)
+                .map(result -> result.asPropertyList().stream()
+                        .map(ServerGroup::new)
+                        .sorted(comparing(ServerGroup::getName))
+                        .collect(toList()))
+                .doOnError(throwable -> logger.error("TopologyTasks.ServerGroups failed: {}",
+                        throwable.getMessage()));
+    }
+
+    private static Single<List<String>> readHostNames(Dispatcher dispatcher) {
+        Operation operation = new Operation.Builder(ResourceAddress.root(), READ_CHILDREN_NAMES_OPERATION)
+                .param(CHILD_TYPE, ModelDescriptionConstants.HOST)
+                .build();
+        return dispatcher.execute(operation)
+                .map(result -> result.asList().stream()
+                        .map(ModelNode::asString)
+                        .collect(toList()))
+                .doOnError(throwable -> logger.error("TopologyTasks.HostNames failed: {}", throwable.getMessage()));
+    }
+
+    /**
+     * Reads the host, its server configs and the runtime attributes of its started servers. Both composites are
+     * limited to {@value #HOST_TIMEOUT} seconds. If the host cannot be read, a booting or failed host is returned.
+     * If only the started servers cannot be read, the host is returned without the additional server attributes.
+     */
+    private static Single<Host> readHost(Dispatcher dispatcher, String host) {
+        ResourceAddress hostAddress = new ResourceAddress().add(ModelDescriptionConstants.HOST, host);
+        Operation hostOperation = new Operation.Builder(hostAddress, READ_RESOURCE_OPERATION)
+                .param(INCLUDE_RUNTIME, true)
+                .build();
+        ResourceAddress serverConfigAddress = new ResourceAddress()
+                .add(ModelDescriptionConstants.HOST, host)
+                .add(SERVER_CONFIG, WILDCARD);
+        Operation serverConfigOperation = new Operation.Builder(serverConfigAddress, READ_RESOURCE_OPERATION)
+                .param(INCLUDE_RUNTIME, true)
+                .build();
+        Composite composite = new Composite(hostOperation, serverConfigOperation);
+        return dispatcher.execute(composite)
+                .timeout(HOST_TIMEOUT, SECONDS)
+                .map((CompositeResult result) -> {
+                    Host h = new Host(result.step(0).get(RESULT));
+                    List<ModelNode> nodes = result.step(1).get(RESULT).asList();
+                    nodes.stream()
+                            .filter(node -> !node.isFailure())
+                            .map(node -> new Server(h.getAddressName(), node.get(RESULT)))
+                            .forEach(h::addServer);
+                    return h;
+                })
+                .doOnError(throwable -> logger.error("TopologyTasks.Hosts failed: {}", throwable.getMessage()))
+                .onErrorReturn(throwable -> hostError(host, throwable))
+                .flatMap(h -> readStartedServers(dispatcher, h.getServers())
+                        .timeout(HOST_TIMEOUT, SECONDS)
+                        .onErrorComplete()
+                        .toSingleDefault(h));
+    }
+
+    private static Single<List<Host>> readDisconnectedHosts(Dispatcher dispatcher) {
+        ResourceAddress address = new ResourceAddress()
+                .add(CORE_SERVICE, MANAGEMENT)
+                .add(HOST_CONNECTION, WILDCARD);
+        Operation operation = new Operation.Builder(address, QUERY)
+                .param(SELECT, new ModelNode().add(EVENTS))
+                .param(WHERE, new ModelNode().set(CONNECTED, false))
+                .build();
+        return dispatcher.execute(operation)
+                .map(result -> result.asList().stream()
+                        .filter(node -> !node.isFailure())
+                        .map(node -> {
+                            String name = new ResourceAddress(node.get(ADDRESS)).lastValue();
+                            long registered = 0;
+                            long unregistered = 0;
+                            for (ModelNode event : failSafeList(node, RESULT + "/" + EVENTS)) {
+                                if (event.hasDefined(TYPE) && event.hasDefined(TIMESTAMP)) {
+                                    if (REGISTERED.equals(event.get(TYPE).asString())) {
+                                        registered = max(registered, event.get(TIMESTAMP).asLong());
+                                    } else if (UNREGISTERED.equals(event.get(TYPE).asString())) {
+                                        unregistered = max(unregistered, event.get(TIMESTAMP).asLong());
+                                    }
+                                }
+                            }
+                            Date disconnected = unregistered != 0 ? new Date(unregistered) : null;
+                            Date lastConnected = registered != 0 ? new Date(registered) : null;
+                            return Host.disconnected(name, disconnected, lastConnected);
+                        })
+                        .collect(toList()))
+                .doOnError(throwable -> logger.error("TopologyTasks.DisconnectedHosts failed: {}",
+                        throwable.getMessage()));
+    }
+
+    /** Reads the runtime attributes and boot errors of the started servers in one composite. */
+    private static Completable readStartedServers(Dispatcher dispatcher, List<Server> servers) {
+        List<Operation> operations = new ArrayList<>();
+        for (Server server : servers) {
+            if (server.isStarted()) {
+                operations.add(new Operation.Builder(server.getServerAddress(), READ_RESOURCE_OPERATION)
+                        .param(ATTRIBUTES_ONLY, true)
+                        .param(INCLUDE_RUNTIME, true)
+                        .build());
+                operations.add(new Operation.Builder(server.getServerAddress().add(CORE_SERVICE, MANAGEMENT),
+                        READ_BOOT_ERRORS).build());
+            }
+        }
+        if (operations.isEmpty()) {
+            return Completable.complete();
+        }
+        return dispatcher.execute(new Composite(operations))
+                .doOnSuccess((CompositeResult result) -> {
+                    Map<String, Server> serverConfigsByName = servers.stream()
+                            .collect(toMap(Server::getId, identity()));
+
+                    for (Iterator<ModelNode> iterator = result.iterator(); iterator.hasNext(); ) {
+                        ModelNode attributes = iterator.next().get(RESULT);
+                        String serverId = Ids.hostServer(attributes.get(ModelDescriptionConstants.HOST).asString(),
+                                attributes.get(NAME).asString());
+                        Server runningServer = serverConfigsByName.get(serverId);
+                        if (runningServer != null) {
+                            runningServer.addServerAttributes(attributes);
+                            if (iterator.hasNext()) {
+                                List<ModelNode> bootErrors = iterator.next().get(RESULT).asList();
+                                runningServer.setBootErrors(!bootErrors.isEmpty());
+                            } else {
+                                logger.error("No second step containing the boot errors for server {}",
+                                        runningServer.getName());
+                            }
+                        }
+                    }
+                })
+                .doOnError(throwable -> logger.error("TopologyTasks.StartedServers failed: {}",
+                        throwable.getMessage()))
+                .toCompletable();
+    }
+
     // ------------------------------------------------------ tasks
 
     private static class Topology implements Task<FlowContext> {
@@ -319,16 +542,7 @@ public final class TopologyTasks {
             context.set(HOST_NAMES, hostNames);
 
             if (!environment.isStandalone()) {
-                Operation operation = new Operation.Builder(ResourceAddress.root(), READ_CHILDREN_NAMES_OPERATION)
-                        .param(CHILD_TYPE, ModelDescriptionConstants.HOST)
-                        .build();
-                completable = dispatcher.execute(operation)
-                        .doOnSuccess(result -> hostNames.addAll(result.asList().stream()
-                                .map(ModelNode::asString)
-                                .collect(toList())))
-                        .doOnError(throwable -> logger.error("TopologyTasks.HostNames failed: {}",
-                                throwable.getMessage()))
-                        .toCompletable();
+                completable = readHostNames(dispatcher).doOnSuccess(hostNames::addAll).toCompletable();
             }
             return completable;
         }
@@ -355,101 +569,89 @@ public final class TopologyTasks {
             if (!environment.isStandalone()) {
                 List<String> hostNames = context.get(HOST_NAMES);
                 if (hostNames != null && !hostNames.isEmpty()) {
-                    List<Completable> completables = hostNames.stream()
-                            .map(host -> {
-                                ResourceAddress hostAddress = new ResourceAddress()
-                                        .add(ModelDescriptionConstants.HOST, host);
-                                Operation hostOperation = new Operation.Builder(hostAddress, READ_RESOURCE_OPERATION)
-                                        .param(INCLUDE_RUNTIME, true)
-                                        .build();
-                                ResourceAddress serverConfigAddress = new ResourceAddress()
-                                        .add(ModelDescriptionConstants.HOST, host)
-                                        .add(SERVER_CONFIG, WILDCARD);
-                                Operation serverConfigOperation = new Operation.Builder(serverConfigAddress,
-                                        READ_RESOURCE_OPERATION)
-                                        .param(INCLUDE_RUNTIME, true)
-                                        .build();
-                                Composite composite = new Composite(hostOperation, serverConfigOperation);
-                                return dispatcher.execute(composite)
-                                        .doOnSuccess((CompositeResult result) -> {
-                                            Host h = new Host(result.step(0).get(RESULT));
-                                            hosts.add(h);
-
-                                            List<ModelNode> nodes = result.step(1).get(RESULT).asList();
-                                            nodes.stream()
-                                                    .filter(node -> !node.isFailure())
-                                                    .map(node -> new Server(h.getAddressName(), node.get(RESULT)))
-                                                    .forEach(server -> {
-                                                        h.addServer(server);
-                                                        servers.add(server);
-                                                    });
-                                        })
-                                        .doOnError(throwable -> logger.error("TopologyTasks.Hosts failed: {}",
-                                                throwable.getMessage()))
-                                        .onErrorResumeNext(new HostError<>(host, hosts,
-                                                error -> new CompositeResult(new ModelNode())))
-                                        .toCompletable();
-                            })
-                            .collect(toList());
-                    completable = Completable.concat(completables);
+                    Host[] results = new Host[hostNames.size()];
+                    List<Completable> completables = new ArrayList<>();
+                    for (int i = 0; i < hostNames.size(); i++) {
+                        int index = i;
+                        completables.add(readHost(dispatcher, hostNames.get(i))
+                                .doOnSuccess(host -> results[index] = host)
+                                .toCompletable());
+                    }
+                    completable = Completable.merge(Observable.from(completables), MAX_HOSTS_IN_FLIGHT)
+                            .doOnCompleted(() -> {
+                                // keep the order of the host names and not the order the responses came in
+                                for (Host host : results) {
+                                    hosts.add(host);
+                                    servers.addAll(host.getServers());
+                                }
+                            });
                 }
             }
             return completable;
         }
     }
 
-    private static class DisconnectedHosts implements Task<FlowContext> {
+    private static class SingleHost implements Task<FlowContext> {
 
         private final Environment environment;
         private final Dispatcher dispatcher;
+        private final String host;
 
-        private DisconnectedHosts(Environment environment, Dispatcher dispatcher) {
+        private SingleHost(Environment environment, Dispatcher dispatcher, String host) {
+            this.environment = environment;
+            this.dispatcher = dispatcher;
+            this.host = host;
+        }
+
+        @Override
+        public Completable call(FlowContext context) {
+            List<Host> hosts = new ArrayList<>();
+            List<Server> servers = new ArrayList<>();
+            context.set(HOSTS, hosts);
+            context.set(SERVERS, servers);
+
+            if (!environment.isStandalone()) {
+                return readHost(dispatcher, host)
+                        .doOnSuccess(h -> {
+                            hosts.add(h);
+                            servers.addAll(h.getServers());
+                        })
+                        .toCompletable();
+            }
+            return Completable.complete();
+        }
+    }
+
+    private static class SingleServer implements Task<FlowContext> {
+
+        private final Environment environment;
+        private final Dispatcher dispatcher;
+        private final String host;
+        private final String server;
+
+        private SingleServer(Environment environment, Dispatcher dispatcher, String host, String server) {
             this.environment = environment;
             this.dispatcher = dispatcher;
+            this.host = host;
+            this.server = server;
         }
 
         @Override
         public Completable call(FlowContext context) {
             Completable completable = Completable.complete();
+            List<Server> servers = new ArrayList<>();
+            context.set(SERVERS, servers);
 
             if (!environment.isStandalone()) {
                 ResourceAddress address = new ResourceAddress()
-                        .add(CORE_SERVICE, MANAGEMENT)
-                        .add(HOST_CONNECTION, WILDCARD);
-                Operation operation = new Operation.Builder(address, QUERY)
-                        .param(SELECT, new ModelNode().add(EVENTS))
-                        .param(WHERE, new ModelNode().set(CONNECTED, false))
+                        .add(ModelDescriptionConstants.HOST, host)
+                        .add(SERVER_CONFIG, server);
+                Operation operation = new Operation.Builder(address, READ_RESOURCE_OPERATION)
+                        .param(INCLUDE_RUNTIME, true)
                         .build();
                 completable = dispatcher.execute(operation)
-                        .doOnSuccess(result -> {
-                            List<Host> disconnectedHosts = result.asList().stream()
-                                    .filter(node -> !node.isFailure())
-                                    .map(node -> {
-                                        String name = new ResourceAddress(node.get(ADDRESS)).lastValue();
-                                        long registered = 0;
-                                        long unregistered = 0;
-                                        for (ModelNode event : failSafeList(node, RESULT + "/" + EVENTS)) {
-                                            if (event.hasDefined(TYPE) && event.hasDefined(TIMESTAMP)) {
-                                                if (REGISTERED.equals(event.get(TYPE).asString())) {
-                                                    registered = max(registered, event.get(TIMESTAMP).asLong());
-                                                } else if (UNREGISTERED.equals(event.get(TYPE).asString())) {
-                                                    unregistered = max(unregistered, event.get(TIMESTAMP).asLong());
-                                                }
-                                            }
-                                        }
-                                        Date disconnected = unregistered != 0 ? new Date(unregistered) : null;
-                                        Date lastConnected = registered != 0 ? new Date(registered) : null;
-                                        return Host.disconnected(name, disconnected, lastConnected);
-                                    })
-                                    .collect(toList());
-                            List<Host> hosts = context.get(HOSTS);
-                            if (hosts == null) {
-                                hosts = new ArrayList<>();
-                                context.set(HOSTS, hosts);
-                            }
-                            hosts.addAll(disconnectedHosts);
-                        })
-                        .doOnError(throwable -> logger.error("TopologyTasks.DisconnectedHosts failed: {}",
+                        .doOnSuccess(result -> servers.add(new Server(host, result)))
+                        .doOnError(throwable -> logger.error("TopologyTasks.SingleServer failed: {}",
                                 throwable.getMessage()))
                         .toCompletable();
             }
@@ -457,14 +659,16 @@ public final class TopologyTasks {
         }
     }
 
-    private static class ServerGroups implements Task<FlowContext> {
+    private static class SingleServerGroup implements Task<FlowContext> {
 
         private final Environment environment;
         private final Dispatcher dispatcher;
+        private final String serverGroup;
 
-        private ServerGroups(Environment environment, Dispatcher dispatcher) {
+        private SingleServerGroup(Environment environment, Dispatcher dispatcher, String serverGroup) {
             this.environment = environment;
             this.dispatcher = dispatcher;
+            this.serverGroup = serverGroup;
         }
 
         @Override
@@ -474,17 +678,14 @@ public final class TopologyTasks {
             context.set(SERVER_GROUPS, serverGroups);
 
             if (!environment.isStandalone()) {
-                Operation operation = new Operation.Builder(ResourceAddress.root(),
-                        READ_CHILDREN_RESOURCES_OPERATION)
-                        .param(CHILD_TYPE, ModelDescriptionConstants.SERVER_GROUP)
+                ResourceAddress address = new ResourceAddress()
+                        .add(ModelDescriptionConstants.SERVER_GROUP, serverGroup);
+                Operation operation = new Operation.Builder(address, READ_RESOURCE_OPERATION)
                         .param(INCLUDE_RUNTIME, true)
                         .build();
                 completable = dispatcher.execute(operation)
-                        .doOnSuccess(result -> serverGroups.addAll(result.asPropertyList().stream()
-                                .map(ServerGroup::new)
-                                .sorted(comparing(ServerGroup::getName))
-                                .collect(toList())))
-                        .doOnError(throwable -> logger.error("TopologyTasks.ServerGroups failed: {}",
+                        .doOnSuccess(result -> serverGroups.add(new ServerGroup(serverGroup, result)))
+                        .doOnError(throwable -> logger.error("TopologyTasks.SingleServerGroup failed: {}",
                                 throwable.getMessage()))
                         .toCompletable();
             }
@@ -492,6 +693,54 @@ public final class TopologyTasks {
         }
     }
 
+    private static class DisconnectedHosts implements Task<FlowContext> {
+
+        private final Environment environment;
+        private final Dispatcher dispatcher;
+
+        private DisconnectedHosts(Environment environment, Dispatcher dispatcher) {
+            this.environment = environment;
+            this.dispatcher = dispatcher;
+        }
+
+        @Override
+        public Completable call(FlowContext context) {
+            Completable completable = Completable.complete();
+
+            if (!environment.isStandalone()) {
+                completable = readDisconnectedHosts(dispatcher)
+                        .doOnSuccess(disconnectedHosts -> {
+                            List<Host> hosts = context.get(HOSTS);
+                            if (hosts == null) {
+                                hosts = new ArrayList<>();
+                                context.set(HOSTS, hosts);
+                            }
+                            hosts.addAll(disconnectedHosts);
+                        })
+                        .toCompletable();
+            }
+            return completable;
+        }
+    }
+
+    private static class ServerGroups implements Task<FlowContext> {
+
+        private final Environment environment;
+        private final Dispatcher dispatcher;
+
+        private ServerGroups(Environment environment, Dispatcher dispatcher) {
+            this.environment = environment;
+            this.dispatcher = dispatcher;
+        }
+
+        @Override
+        public Completable call(FlowContext context) {
+            List<ServerGroup> serverGroups = new ArrayList<>();
+            context.set(SERVER_GROUPS, serverGroups);
+            return readServerGroups(environment, dispatcher).doOnSuccess(serverGroups::addAll).toCompletable();
+        }
+    }
+
     private static class ServersOfHost implements Task<FlowContext> {
 
         private final Environment environment;
@@ -671,51 +920,8 @@ public final class TopologyTasks {
 
             if (!environment.isStandalone()) {
                 List<Server> servers = context.get(SERVERS);
-
                 if (servers != null) {
-                    List<Operation> operations = new ArrayList<>();
-                    for (Server server : servers) {
-                        if (server.isStarted()) {
-                            operations.add(new Operation.Builder(server.getServerAddress(), READ_RESOURCE_OPERATION)
-                                    .param(ATTRIBUTES_ONLY, true)
-                                    .param(INCLUDE_RUNTIME, true)
-                                    .build());
-                            operations.add(
-                                    new Operation.Builder(server.getServerAddress().add(CORE_SERVICE, MANAGEMENT),
-                                            READ_BOOT_ERRORS
-                                    ).build());
-                        }
-                        if (!operations.isEmpty()) {
-                            Composite composite = new Composite(operations);
-                            completable = dispatcher.execute(composite)
-                                    .doOnSuccess((CompositeResult result) -> {
-                                        Map<String, Server> serverConfigsByName = servers.stream()
-                                                .collect(toMap(Server::getId, identity()));
-
-                                        for (Iterator<ModelNode> iterator = result.iterator(); iterator.hasNext(); ) {
-                                            ModelNode attributes = iterator.next().get(RESULT);
-                                            String serverId = Ids.hostServer(
-                                                    attributes.get(ModelDescriptionConstants.HOST).asString(),
-                                                    attributes.get(NAME).asString());
-                                            Server runningServer = serverConfigsByName.get(serverId);
-                                            if (runningServer != null) {
-                                                runningServer.addServerAttributes(attributes);
-                                                if (iterator.hasNext()) {
-                                                    List<ModelNode> bootErrors = iterator.next().get(RESULT).asList();
-                                                    runningServer.setBootErrors(!bootErrors.isEmpty());
-                                                } else {
-                                                    logger.error(
-                                                            "No second step containing the boot errors for server {}",
-                                                            runningServer.getName());
-                                                }
-                                            }
-                                        }
-                                    })
-                                    .doOnError(throwable -> logger.error("TopologyTasks.StartedServers failed: {}",
-                                            throwable.getMessage()))
-                                    .toCompletable();
-                        }
-                    }
+                    completable = readStartedServers(dispatcher, servers);
                 }
             }
             return completable;
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.core.finder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gwt.junit.GWTMockUtilities;
+import elemental2.dom.CSSStyleDeclaration;
+import elemental2.dom.DOMTokenList;
+import elemental2.dom.HTMLElement;
+import elemental2.dom.HTMLLIElement;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("HardCodedStringLiteral")
+public class VirtualRowsTest {
+
+    private HTMLElement ulElement;
+    private List<String> rendered;
+    private TestableVirtualRows virtualRows;
+
+    @Before
+    public void setUp() {
+        GWTMockUtilities.disarm();
+        rendered = new ArrayList<>();
+        ulElement = mock(HTMLElement.class);
+        ulElement.style = mock(CSSStyleDeclaration.class);
+        virtualRows = new TestableVirtualRows(ulElement);
+        doAnswer(invocation -> {
+            rendered.add(virtualRows.ids.get(invocation.<HTMLElement>getArgument(0)));
+            return invocation.getArgument(0);
+        }).when(ulElement).appendChild(any());
+
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add("item-" + i);
+        }
+        virtualRows.setItems(items, Collections.emptySet());
+    }
+
+    @After
+    public void tearDown() {
+        GWTMockUtilities.restore();
+    }
+
+    @Test
+    public void top() {
+        assertArrayEquals(new int[]{0, 30}, VirtualRows.range(0, 1000, 50, 1000, 10));
+    }
+
+    @Test
+    public void scrolled() {
+        // rows 100 - 119 are visible
+        assertArrayEquals(new int[]{90, 130}, VirtualRows.range(5000, 1000, 50, 1000, 10));
+    }
+
+    @Test
+    public void partialRow() {
+        // rows 100 - 120 are (partially) visible
+        assertArrayEquals(new int[]{90, 131}, VirtualRows.range(5010, 1000, 50, 1000, 10));
+    }
+
+    @Test
+    public void bottom() {
+        assertArrayEquals(new int[]{970, 1000}, VirtualRows.range(49000, 1000, 50, 1000, 10));
+    }
+
+    @Test
+    public void lessRowsThanViewport() {
+        assertArrayEquals(new int[]{0, 5}, VirtualRows.range(0, 1000, 50, 5, 10));
+    }
+
+    @Test
+    public void scrolledBeyondEnd() {
+        // the scroll position is outdated after the rows have been filtered
+        assertArrayEquals(new int[]{0, 5}, VirtualRows.range(49000, 1000, 50, 5, 10));
+    }
+
+    @Test
+    public void empty() {
+        assertArrayEquals(new int[]{0, 0}, VirtualRows.range(0, 1000, 50, 0, 10));
+    }
+
+    @Test
+    public void matches() {
+        assertTrue(VirtualRows.matches("jms.queue.dlq", "queue"));
+        assertTrue(VirtualRows.matches(null, "queue"));
+        assertFalse(VirtualRows.matches("jms.topic.news", "queue"));
+    }
+
+    @Test
+    public void detached() {
+        // no height: uses the default viewport of 1000px
+        assertEquals(items(0, 30), rendered);
+    }
+
+    @Test
+    public void attached() {
+        ulElement.clientHeight = 2000;
+        rendered.clear();
+        virtualRows.refresh();
+        assertEquals(items(0, 50), rendered);
+    }
+
+    @Test
+    public void refreshSameHeight() {
+        rendered.clear();
+        virtualRows.refresh();
+        assertTrue(rendered.isEmpty());
+    }
+
+    @Test
+    public void filter() {
+        rendered.clear();
+        assertEquals(11, virtualRows.filter("item-1"));
+        List<String> expected = new ArrayList<>();
+        expected.add("item-1");
+        expected.addAll(items(10, 20));
+        assertEquals(expected, rendered);
+    }
+
+    @Test
+    public void reveal() {
+        rendered.clear();
+        virtualRows.reveal("item-80");
+        // item-80 is the last row in the viewport
+        assertEquals(3050, (int) ulElement.scrollTop);
+        assertEquals(items(51, 91), rendered);
+    }
+
+    private List<String> items(int from, int to) {
+        List<String> items = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            items.add("item-" + i);
+        }
+        return items;
+    }
+
+
+    private static class TestableVirtualRows extends VirtualRows<String> {
+
+        private final Map<HTMLElement, String> ids;
+
+        TestableVirtualRows(HTMLElement ulElement) {
+            super(null, null, ulElement, new HashMap<>());
+            this.ids = new HashMap<>();
+        }
+
+        @Override
+        ItemDisplay<String> display(String item) {
+            return new ItemDisplay<String>() {
+                @Override
+                public String getId() {
+                    return item;
+                }
+
+                @Override
+                public String getTitle() {
+                    return item;
+                }
+            };
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        FinderRow<String> newRow(String item, boolean pinned, ItemDisplay<String> display) {
+            HTMLLIElement element = mock(HTMLLIElement.class);
+            element.classList = mock(DOMTokenList.class);
+            FinderRow<String> row = mock(FinderRow.class);
+            when(row.element()).thenReturn(element);
+            ids.put(element, item);
+            return row;
+        }
+
+        @Override
+        void initTooltips() {
+            // no tooltips in unit tests
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.core.mvp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NavigationHistoryTest {
+
+    private NavigationHistory history;
+
+    @Before
+    public void setUp() {
+        history = new NavigationHistory(null);
+    }
+
+    @Test
+    public void empty() {
+        assertTrue(history.ranked().isEmpty());
+    }
+
+    @Test
+    public void frequency() {
+        history.visit("a");
+        history.visit("b");
+        history.visit("b");
+
+        assertEquals(asList("b", "a"), history.ranked());
+    }
+
+    @Test
+    public void recency() {
+        history.visit("a");
+        history.visit("b");
+
+        assertEquals(asList("b", "a"), history.ranked());
+        assertEquals(NavigationHistory.DECAY, history.score("a"), 0.0001);
+        assertEquals(1.0, history.score("b"), 0.0001);
+    }
+
+    @Test
+    public void limit() {
+        List<String> entries = new ArrayList<>();
+        for (int i = 0; i < NavigationHistory.MAX_TOKENS + 10; i++) {
+            entries.add("token-" + i + "=1.0");
+        }
+        history.parse(String.join(",", entries));
+        history.visit("foo");
+
+        assertEquals(NavigationHistory.MAX_TOKENS, history.ranked().size());
+        assertEquals("foo", history.ranked().get(0));
+    }
+
+    @Test
+    public void forget() {
+        history.visit("a");
+        for (int i = 0; i < 50; i++) {
+            history.visit("b");
+        }
+
+        assertEquals(asList("b"), history.ranked());
+    }
+
+    @Test
+    public void roundTrip() {
+        history.visit("a");
+        history.visit("b");
+        history.visit("b");
+
+        NavigationHistory other = new NavigationHistory(null);
+        other.parse(history.toString());
+        assertEquals(history.ranked(), other.ranked());
+        assertEquals(history.score("a"), other.score("a"), 0.0001);
+    }
+
+    @Test
+    public void parseInvalid() {
+        history.parse("a=1.0,b=foo,=2.0,c");
+
+        assertEquals(asList("a"), history.ranked());
+    }
+}
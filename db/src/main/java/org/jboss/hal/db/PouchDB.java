@@ -67,10 +67,19 @@ public class PouchDB {
     /** Returns all documents whose ID starts with the specified ID. */
     @JsOverlay
     public final Promise<List<Document>> prefixSearch(String id) {
+        return rangeSearch(id, id);
+    }
+
+    /**
+     * Returns all documents whose ID is between the first ID and the last ID (inclusive). Documents whose ID starts
+     * with the last ID are included as well. Uses one range scan, no matter how many documents are in between.
+     */
+    @JsOverlay
+    public final Promise<List<Document>> rangeSearch(String first, String last) {
         AllDocsOptions options = new AllDocsOptions();
         options.include_docs = true;
-        options.startkey = id;
-        options.endkey = id + "\ufff0";
+        options.startkey = first;
+        options.endkey = last + "\ufff0";
 
         return allDocs(options).then(response -> {
             List<Document> documents = new ArrayList<>();
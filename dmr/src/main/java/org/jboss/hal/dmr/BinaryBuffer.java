@@ -0,0 +1,274 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.util.Arrays;
+
+import com.google.common.base.Charsets;
+import com.google.gwt.core.client.GWT;
+import elemental2.core.DataView;
+import elemental2.core.Uint8Array;
+
+/**
+ * Random access byte storage used by {@link BinaryDataInput} and {@link BinaryDataOutput}. In the browser the bytes
+ * live in an {@code Uint8Array} and multi byte values are read and written using a {@code DataView}. On the JVM (unit
+ * tests) a plain {@code byte[]} is used instead.
+ * <p>
+ * All multi byte values use big endian byte order as required by the DMR binary format.
+ */
+abstract class BinaryBuffer {
+
+    static BinaryBuffer allocate(int capacity) {
+        return GWT.isScript() ? new TypedBuffer(capacity) : new ByteArrayBuffer(capacity);
+    }
+
+    /** Creates a buffer from a binary string as returned by {@code atob()}: One char per byte. */
+    static BinaryBuffer fromBinaryString(String binary) {
+        if (GWT.isScript()) {
+            return new TypedBuffer(TypedBuffer.decodeBinaryString(binary));
+        }
+        byte[] bytes = new byte[binary.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) binary.charAt(i);
+        }
+        return new ByteArrayBuffer(bytes);
+    }
+
+    static BinaryBuffer wrap(byte[] bytes) {
+        if (GWT.isScript()) {
+            TypedBuffer buffer = new TypedBuffer(bytes.length);
+            for (int i = 0; i < bytes.length; i++) {
+                buffer.putByte(i, bytes[i]);
+            }
+            return buffer;
+        }
+        return new ByteArrayBuffer(bytes);
+    }
+
+
+    // ------------------------------------------------------ abstract methods
+
+    /** @return the number of bytes which can be stored in this buffer without growing it */
+    abstract int capacity();
+
+    /** Grows this buffer so that it can hold at least {@code capacity} bytes. Existing bytes are kept. */
+    abstract void grow(int capacity);
+
+    /** @return the unsigned byte at the specified index */
+    abstract int getByte(int index);
+
+    abstract void putByte(int index, int value);
+
+    abstract int getInt(int index);
+
+    abstract void putInt(int index, int value);
+
+    abstract double getDouble(int index);
+
+    abstract void putDouble(int index, double value);
+
+    /** Decodes the bytes in the specified range as one char per byte. Callers must ensure all bytes are < 0x80. */
+    abstract String getAscii(int from, int to);
+
+    /** @return the first {@code length} bytes as binary string suitable for {@code btoa()}: One char per byte. */
+    abstract String toBinaryString(int length);
+
+    /** @return a new buffer with a copy of the bytes in the specified range */
+    abstract BinaryBuffer slice(int from, int to);
+
+
+    // ------------------------------------------------------ implementations
+
+    /** Browser implementation based on {@code Uint8Array} and {@code DataView} */
+    private static class TypedBuffer extends BinaryBuffer {
+
+        private Uint8Array bytes;
+        private DataView view;
+
+        TypedBuffer(int capacity) {
+            this(new Uint8Array(capacity));
+        }
+
+        TypedBuffer(Uint8Array bytes) {
+            this.bytes = bytes;
+            this.view = new DataView(bytes.buffer);
+        }
+
+        @Override
+        int capacity() {
+            return bytes.length;
+        }
+
+        @Override
+        void grow(int capacity) {
+            Uint8Array grown = new Uint8Array(capacity);
+            copy(bytes, grown);
+            bytes = grown;
+            view = new DataView(grown.buffer);
+        }
+
+        @Override
+        int getByte(int index) {
+            return view.getInt8(index) & 0xFF;
+        }
+
+        @Override
+        void putByte(int index, int value) {
+            view.setInt8(index, (byte) value);
+        }
+
+        @Override
+        int getInt(int index) {
+            return view.getInt32(index);
+        }
+
+        @Override
+        void putInt(int index, int value) {
+            view.setInt32(index, value);
+        }
+
+        @Override
+        double getDouble(int index) {
+            return view.getFloat64(index);
+        }
+
+        @Override
+        void putDouble(int index, double value) {
+            view.setFloat64(index, value);
+        }
+
+        @Override
+        String getAscii(int from, int to) {
+            return encodeBinaryString(bytes, from, to);
+        }
+
+        @Override
+        String toBinaryString(int length) {
+            return encodeBinaryString(bytes, 0, length);
+        }
+
+        @Override
+        BinaryBuffer slice(int from, int to) {
+            return new TypedBuffer(slice(bytes, from, to));
+        }
+
+        private static native Uint8Array decodeBinaryString(String binary) /*-{
+            var length = binary.length;
+            var bytes = new Uint8Array(length);
+            for (var i = 0; i < length; i++) {
+                bytes[i] = binary.charCodeAt(i);
+            }
+            return bytes;
+        }-*/;
+
+        // String.fromCharCode.apply() fails for large arrays, so encode in chunks
+        private static native String encodeBinaryString(Uint8Array bytes, int from, int to) /*-{
+            var chunk = 0x8000;
+            var parts = [];
+            for (var i = from; i < to; i += chunk) {
+                parts.push(String.fromCharCode.apply(null, bytes.subarray(i, Math.min(i + chunk, to))));
+            }
+            return parts.join('');
+        }-*/;
+
+        private static native void copy(Uint8Array source, Uint8Array target) /*-{
+            target.set(source);
+        }-*/;
+
+        private static native Uint8Array slice(Uint8Array source, int from, int to) /*-{
+            return source.slice(from, to);
+        }-*/;
+    }
+
+
+    /** JVM implementation based on {@code byte[]} */
+    private static class ByteArrayBuffer extends BinaryBuffer {
+
+        private byte[] bytes;
+
+        ByteArrayBuffer(int capacity) {
+            this(new byte[capacity]);
+        }
+
+        ByteArrayBuffer(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        int capacity() {
+            return bytes.length;
+        }
+
+        @Override
+        void grow(int capacity) {
+            byte[] grown = new byte[capacity];
+            System.arraycopy(bytes, 0, grown, 0, bytes.length);
+            bytes = grown;
+        }
+
+        @Override
+        int getByte(int index) {
+            return bytes[index] & 0xFF;
+        }
+
+        @Override
+        void putByte(int index, int value) {
+            bytes[index] = (byte) value;
+        }
+
+        @Override
+        int getInt(int index) {
+            return (getByte(index) << 24) | (getByte(index + 1) << 16) | (getByte(index + 2) << 8) | getByte(
+                    index + 3);
+        }
+
+        @Override
+        void putInt(int index, int value) {
+            bytes[index] = (byte) (value >>> 24);
+            bytes[index + 1] = (byte) (value >>> 16);
+            bytes[index + 2] = (byte) (value >>> 8);
+            bytes[index + 3] = (byte) value;
+        }
+
+        @Override
+        double getDouble(int index) {
+            long bits = ((long) getInt(index) << 32) | (getInt(index + 4) & 0xFFFFFFFFL);
+            return Double.longBitsToDouble(bits);
+        }
+
+        @Override
+        void putDouble(int index, double value) {
+            long bits = Double.doubleToLongBits(value);
+            putInt(index, (int) (bits >>> 32));
+            putInt(index + 4, (int) bits);
+        }
+
+        @Override
+        String getAscii(int from, int to) {
+            return new String(bytes, from, to - from, Charsets.ISO_8859_1);
+        }
+
+        @Override
+        String toBinaryString(int length) {
+            return new String(bytes, 0, length, Charsets.ISO_8859_1);
+        }
+
+        @Override
+        BinaryBuffer slice(int from, int to) {
+            return new ByteArrayBuffer(Arrays.copyOfRange(bytes, from, to));
+        }
+    }
+}
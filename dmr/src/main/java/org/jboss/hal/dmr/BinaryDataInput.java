@@ -0,0 +1,327 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+/**
+ * Reads the DMR binary format from a {@link BinaryBuffer}. Produces exactly the same values as {@link DataInput}, but
+ * reads multi byte values directly from the buffer and decodes ASCII-only strings in bulk. Short ASCII strings are
+ * interned using the {@link KeyTable}.
+ */
+class BinaryDataInput extends DataInput {
+
+    private final BinaryBuffer buffer;
+    private final int length;
+    private final ObjectExtents extents; // null if objects are read eagerly
+    private final KeyTable keys;
+    private int pos;
+
+    BinaryDataInput(BinaryBuffer buffer) {
+        this(buffer, buffer.capacity(), false);
+    }
+
+    BinaryDataInput(BinaryBuffer buffer, int length) {
+        this(buffer, length, false);
+    }
+
+    /**
+     * @param lazy whether objects should be read lazily. Lazy objects keep a reference to the buffer and read their
+     *             entries on first access.
+     */
+    BinaryDataInput(BinaryBuffer buffer, int length, boolean lazy) {
+        this(buffer, length, lazy ? new ObjectExtents() : null);
+    }
+
+    /**
+     * Creates an input which reads objects lazily and uses the specified extents to skip objects which have already
+     * been scanned.
+     */
+    BinaryDataInput(BinaryBuffer buffer, int length, ObjectExtents extents) {
+        super(new byte[0]);
+        this.buffer = buffer;
+        this.length = length;
+        this.extents = extents;
+        this.keys = KeyTable.INSTANCE;
+        this.pos = 0;
+    }
+
+    boolean isLazy() {
+        return extents != null;
+    }
+
+    BinaryBuffer buffer() {
+        return buffer;
+    }
+
+    ObjectExtents extents() {
+        return extents;
+    }
+
+    void seek(int position) {
+        if (position < 0 || position > length) {
+            throw new RuntimeException("EOF");
+        }
+        pos = position;
+    }
+
+    /** @return the number of bytes read so far */
+    int position() {
+        return pos;
+    }
+
+    /** @return the total number of bytes which can be read */
+    int length() {
+        return length;
+    }
+
+    private void require(int count) {
+        if (pos + count > length) {
+            throw new RuntimeException("EOF");
+        }
+    }
+
+
+    // ------------------------------------------------------ read a-z
+
+    @Override
+    boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    @Override
+    byte readByte() {
+        require(1);
+        return (byte) buffer.getByte(pos++);
+    }
+
+    @Override
+    char readChar() {
+        return (char) readUnsignedShort();
+    }
+
+    @Override
+    double readDouble() {
+        require(8);
+        double value = buffer.getDouble(pos);
+        pos += 8;
+        return value;
+    }
+
+    @Override
+    void readFully(byte[] b) {
+        require(b.length);
+        for (int i = 0; i < b.length; i++) {
+            b[i] = (byte) buffer.getByte(pos++);
+        }
+    }
+
+    @Override
+    int readInt() {
+        require(4);
+        int value = buffer.getInt(pos);
+        pos += 4;
+        return value;
+    }
+
+    @Override
+    long readLong() {
+        require(8);
+        int high = buffer.getInt(pos);
+        int low = buffer.getInt(pos + 4);
+        pos += 8;
+        return ((long) high << 32) | (low & 0xFFFFFFFFL);
+    }
+
+    @Override
+    short readShort() {
+        return (short) readUnsignedShort();
+    }
+
+    private int readUnsignedByte() {
+        require(1);
+        return buffer.getByte(pos++);
+    }
+
+    private int readUnsignedShort() {
+        require(2);
+        int value = (buffer.getByte(pos) << 8) | buffer.getByte(pos + 1);
+        pos += 2;
+        return value;
+    }
+
+    @Override
+    String readKey() {
+        return readUTF(true);
+    }
+
+    @Override
+    String readUTF() {
+        return readUTF(false);
+    }
+
+    /**
+     * @param key whether the string is the name of an object entry or property. Only names are added to the {@link
+     *            KeyTable}. Values are only looked up, so that arbitrary values don't crowd out the names.
+     */
+    private String readUTF(boolean key) {
+        int bytes = readUnsignedShort();
+        require(bytes);
+
+        // fast path: most DMR strings (keys, names, types) are pure ASCII and short ones are interned
+        int end = pos + bytes;
+        boolean ascii = true;
+        for (int i = pos; i < end && ascii; i++) {
+            ascii = buffer.getByte(i) < 0x80;
+        }
+        if (ascii) {
+            String value = keys.intern(buffer, pos, end, key);
+            pos = end;
+            return value;
+        }
+
+        StringBuilder sb = new StringBuilder(bytes);
+        while (bytes > 0) {
+            bytes -= readUTFChar(sb);
+        }
+        return sb.toString();
+    }
+
+    // ------------------------------------------------------ skip
+
+    void skipUTF() {
+        int bytes = readUnsignedShort();
+        skip(bytes);
+    }
+
+    /**
+     * Skips the entries of the object whose number of entries has just been read. If objects are read lazily, the
+     * extents of the object are recorded (or used if already known), so that each object is scanned only once.
+     */
+    void skipEntries(int count) {
+        if (count == 0) {
+            return;
+        }
+        if (extents != null) {
+            int end = extents.endOf(pos);
+            if (end >= 0) {
+                seek(end);
+                return;
+            }
+        }
+        int index = extents != null ? extents.start(pos) : -1;
+        for (int i = 0; i < count; i++) {
+            skipUTF();
+            skipNode();
+        }
+        if (extents != null) {
+            extents.end(index, pos);
+        }
+    }
+
+    /** Skips the next node without creating any values. */
+    void skipNode() {
+        ModelType type;
+        try {
+            type = ModelType.forChar((char) (readByte() & 0xff));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(e.getMessage(), e.getCause());
+        }
+        int count;
+        switch (type) {
+            case OBJECT:
+                skipEntries(readInt());
+                break;
+            case LIST:
+                count = readInt();
+                for (int i = 0; i < count; i++) {
+                    skipNode();
+                }
+                break;
+            case PROPERTY:
+                skipUTF();
+                skipNode();
+                break;
+            case BIG_DECIMAL:
+            case EXPRESSION:
+            case STRING:
+                skipUTF();
+                break;
+            case BIG_INTEGER:
+            case BYTES:
+                skip(readInt());
+                break;
+            case BOOLEAN:
+            case TYPE:
+                skip(1);
+                break;
+            case INT:
+                skip(4);
+                break;
+            case DOUBLE:
+            case LONG:
+                skip(8);
+                break;
+            case UNDEFINED:
+            default:
+                break;
+        }
+    }
+
+    private void skip(int count) {
+        require(count);
+        pos += count;
+    }
+
+    // must be kept in sync with DataInput.readUTFChar()
+    private int readUTFChar(StringBuilder sb) {
+        int a = readUnsignedByte();
+        if (a < 0x80) {
+            sb.append((char) a);
+            return 1;
+        } else if (a < 0xc0) {
+            sb.append('?');
+            return 1;
+        } else if (a < 0xe0) {
+            int b = readUnsignedByte();
+            if ((b & 0xc0) != 0x80) {
+                sb.append('?');
+                // probably a US-ASCII char after a Latin-1 char
+                sb.append((char) b);
+            } else {
+                sb.append((char) ((a & 0x1F) << 6 | b & 0x3F));
+            }
+            return 2;
+        } else if (a < 0xf0) {
+            int b = readUnsignedByte();
+            if ((b & 0xc0) != 0x80) {
+                sb.append('?');
+                sb.append((char) b);
+                return 2;
+            }
+            int c = readUnsignedByte();
+            if ((c & 0xc0) != 0x80) {
+                // probably a US-ASCII char after two Latin-1 chars?
+                sb.append('?').append('?');
+                sb.append((char) c);
+            } else {
+                sb.append((char) ((a & 0x0F) << 12 | (b & 0x3F) << 6 | c & 0x3F));
+            }
+            return 3;
+        } else {
+            sb.append('?');
+            return 1;
+        }
+    }
+}
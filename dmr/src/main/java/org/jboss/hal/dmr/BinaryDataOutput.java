@@ -0,0 +1,137 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+/**
+ * Writes the DMR binary format into a pre-sized {@link BinaryBuffer} which grows as needed. Produces exactly the same
+ * bytes as {@link DataOutput}.
+ */
+class BinaryDataOutput extends DataOutput {
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private BinaryBuffer buffer;
+    private int size;
+
+    BinaryDataOutput() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    BinaryDataOutput(int capacity) {
+        this.buffer = BinaryBuffer.allocate(Math.max(capacity, 16));
+        this.size = 0;
+    }
+
+    /** @return the written bytes as binary string suitable for {@code btoa()} */
+    @Override
+    public String toString() {
+        return buffer.toBinaryString(size);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void ensureCapacity(int count) {
+        int required = size + count;
+        int capacity = buffer.capacity();
+        if (required > capacity) {
+            buffer.grow(Math.max(required, capacity << 1));
+        }
+    }
+
+
+    // ------------------------------------------------------ write a-z
+
+    @Override
+    void write(byte[] bits) {
+        ensureCapacity(bits.length);
+        for (byte bit : bits) {
+            buffer.putByte(size++, bit);
+        }
+    }
+
+    @Override
+    void writeBoolean(boolean v) {
+        writeByte(v ? 1 : 0);
+    }
+
+    @Override
+    void writeByte(int v) {
+        ensureCapacity(1);
+        buffer.putByte(size++, v);
+    }
+
+    @Override
+    void writeChar(int v) {
+        writeShort(v);
+    }
+
+    @Override
+    void writeDouble(double v) {
+        ensureCapacity(8);
+        buffer.putDouble(size, v);
+        size += 8;
+    }
+
+    @Override
+    void writeInt(int v) {
+        ensureCapacity(4);
+        buffer.putInt(size, v);
+        size += 4;
+    }
+
+    @Override
+    void writeLong(long v) {
+        ensureCapacity(8);
+        buffer.putInt(size, (int) (v >>> 32));
+        buffer.putInt(size + 4, (int) v);
+        size += 8;
+    }
+
+    private void writeShort(int v) {
+        ensureCapacity(2);
+        buffer.putByte(size++, v >>> 8);
+        buffer.putByte(size++, v);
+    }
+
+    @Override
+    void writeUTF(String s) {
+        int length = s.length();
+        // reserve the worst case and write the encoded bytes directly behind the length
+        ensureCapacity(2 + length * 3);
+        int start = size;
+        int bl = start + 2;
+        char c;
+        for (int i = 0; i < length; i++) {
+            c = s.charAt(i);
+            if (c > 0 && c <= 0x7f) {
+                buffer.putByte(bl++, c);
+            } else if (c <= 0x07ff) {
+                buffer.putByte(bl++, 0xc0 | 0x1f & c >> 6);
+                buffer.putByte(bl++, 0x80 | 0x3f & c);
+            } else {
+                buffer.putByte(bl++, 0xe0 | 0x0f & c >> 12);
+                buffer.putByte(bl++, 0x80 | 0x3f & c >> 6);
+                buffer.putByte(bl++, 0x80 | 0x3f & c);
+            }
+        }
+        int encoded = bl - start - 2;
+        buffer.putByte(start, encoded >>> 8);
+        buffer.putByte(start + 1, encoded);
+        size = bl;
+    }
+}
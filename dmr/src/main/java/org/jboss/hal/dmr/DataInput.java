@@ -118,6 +118,11 @@ class DataInput {
         return ((a << 8) | b);
     }
 
+    /** Reads the name of an object entry or a property. */
+    String readKey() {
+        return readUTF();
+    }
+
     String readUTF() {
         int bytes = readUnsignedShort();
         StringBuilder sb = new StringBuilder();
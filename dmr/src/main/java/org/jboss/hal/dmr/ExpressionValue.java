@@ -162,6 +162,11 @@ class ExpressionValue extends ModelValue {
         this.expressionString = expressionString;
     }
 
+    @Override
+    int estimateSize() {
+        return NODE_SIZE + expressionString.length();
+    }
+
     @Override
     void writeExternal(DataOutput out) {
         out.writeUTF(expressionString);
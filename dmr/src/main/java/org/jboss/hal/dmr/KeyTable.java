@@ -0,0 +1,145 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import jsinterop.annotations.JsType;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+
+/**
+ * Intern table for short ASCII strings read by {@link BinaryDataInput}. The same keys and values (like {@code
+ * description}, {@code type}, {@code nillable} or {@code read-write}) appear thousands of times in each
+ * read-resource-description result. The table makes sure they're decoded to the same string instance, which is then
+ * retained only once by the metadata registries.
+ * <p>
+ * Strings are looked up by their bytes, so no string needs to be created for a hit. The table uses open addressing
+ * with linear probing and has a fixed capacity. Only the seeded constants and the names of object entries and
+ * properties are added, values are only looked up. Once the table is half full, new names are no longer added.
+ * <p>
+ * Use {@code hal.dmr.KeyTable.INSTANCE.getHits()} and {@code getMisses()} in the browser console to check the
+ * efficiency of the table.
+ */
+@JsType
+public final class KeyTable {
+
+    /** Strings longer than this are neither looked up nor added. */
+    static final int MAX_LENGTH = 32;
+    private static final int CAPACITY = 4096; // must be a power of two
+    private static final String[] SEED = new String[]{
+            ACCESS_CONSTRAINTS, ACCESS_TYPE, ADDRESS, ALLOWED, ALTERNATIVES, ATTRIBUTE_GROUP, ATTRIBUTES,
+            CAPABILITY_REFERENCE, CHILDREN, CONFIGURATION, DEFAULT, DEPRECATED, DESCRIPTION, EXPRESSIONS_ALLOWED,
+            HAL_RECURSIVE, MAX, METRIC, MIN, MODEL_DESCRIPTION, NAME, NILLABLE, OPERATION, OPERATIONS, OUTCOME,
+            READ_ONLY, READ_WRITE, REPLY_PROPERTIES, REQUEST_PROPERTIES, REQUIRED, REQUIRES, RESTART_REQUIRED,
+            RESULT, RUNTIME, STORAGE, STRING, SUCCESS, TYPE, UNIT, VALUE, VALUE_TYPE,
+            // common values which are only looked up
+            "all-services", JVM, NONE, "no-services", "resource-services"
+    };
+
+    public static final KeyTable INSTANCE = new KeyTable();
+
+    private final String[] strings;
+    private final int[] hashes;
+    private int size;
+    private int hits;
+    private int misses;
+
+    KeyTable() {
+        this.strings = new String[CAPACITY];
+        this.hashes = new int[CAPACITY];
+        for (String seed : SEED) {
+            add(seed, hash(seed));
+        }
+    }
+
+    /**
+     * Returns the string for the ASCII bytes {@code [from, to)} of the buffer. Returns a shared instance if the string
+     * is already known.
+     *
+     * @param add whether to add the string to the table if it's not yet known
+     */
+    String intern(BinaryBuffer buffer, int from, int to, boolean add) {
+        int length = to - from;
+        if (length > MAX_LENGTH) {
+            return buffer.getAscii(from, to);
+        }
+
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + buffer.getByte(i);
+        }
+        int mask = CAPACITY - 1;
+        for (int index = hash & mask; strings[index] != null; index = (index + 1) & mask) {
+            String candidate = strings[index];
+            if (hashes[index] == hash && candidate.length() == length && matches(candidate, buffer, from)) {
+                hits++;
+                return candidate;
+            }
+        }
+
+        misses++;
+        String string = buffer.getAscii(from, to);
+        if (add && size < CAPACITY / 2) {
+            add(string, hash);
+        }
+        return string;
+    }
+
+    private boolean matches(String candidate, BinaryBuffer buffer, int from) {
+        for (int i = 0; i < candidate.length(); i++) {
+            if (candidate.charAt(i) != buffer.getByte(from + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(String string, int hash) {
+        int mask = CAPACITY - 1;
+        int index = hash & mask;
+        while (strings[index] != null) {
+            if (strings[index].equals(string)) {
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        strings[index] = string;
+        hashes[index] = hash;
+        size++;
+    }
+
+    /** Same as {@link String#hashCode()} for ASCII strings */
+    private static int hash(String string) {
+        int hash = 0;
+        for (int i = 0; i < string.length(); i++) {
+            hash = 31 * hash + string.charAt(i);
+        }
+        return hash;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** @return the number of strings which were returned from the table */
+    public int getHits() {
+        return hits;
+    }
+
+    /** @return the number of strings which had to be created */
+    public int getMisses() {
+        return misses;
+    }
+}
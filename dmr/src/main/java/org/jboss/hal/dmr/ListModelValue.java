@@ -66,6 +66,15 @@ class ListModelValue extends ModelValue {
         }
     }
 
+    @Override
+    int estimateSize() {
+        int size = NODE_SIZE;
+        for (ModelNode node : list) {
+            size += node.estimateSize();
+        }
+        return size;
+    }
+
     @Override
     ModelValue protect() {
         List<ModelNode> list = this.list;
@@ -257,6 +257,7 @@ public interface ModelDescriptionConstants {
     String DEPLOYMENT_PERMISSIONS = "deployment-permissions";
     String DEPLOYMENT_SCANNER = "deployment-scanner";
     String DEPRECATED = "deprecated";
+    String DEPTH = "depth";
     String DESCRIPTION = "description";
     String DESTINATION = "destination";
     String DESTINATION_ADDRESS = "destination-address";
@@ -45,7 +45,8 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.SUCCESS;
 public class ModelNode implements Cloneable {
 
     /**
-     * Creates a new node from a base64 encoded string
+     * Creates a new node from a base64 encoded string. Objects are read lazily: Their entries are read from the decoded
+     * buffer when the object is accessed for the first time.
      *
      * @param encoded The base64 encoded string.
      *
@@ -56,18 +57,11 @@ public class ModelNode implements Cloneable {
         String safeEncoded = CharMatcher.breakingWhitespace().removeFrom(encoded);
         ModelNode node = new ModelNode();
         String decoded = Base64.decode(safeEncoded);
-        node.readExternal(new DataInput(toBytes(decoded)));
+        BinaryBuffer buffer = BinaryBuffer.fromBinaryString(decoded);
+        node.readExternal(new BinaryDataInput(buffer, buffer.capacity(), true));
         return node;
     }
 
-    private static native byte[] toBytes(String str) /*-{
-        var bytes = [];
-        for (var i = 0; i < str.length; ++i) {
-            bytes.push(str.charCodeAt(i));
-        }
-        return bytes;
-    }-*/;
-
     private static final String NEW_VALUE_IS_NULL = "newValue is null";
 
     private boolean protect = false;
@@ -842,6 +836,10 @@ public class ModelNode implements Cloneable {
      * it will be initialized to be of type object.
      * <p>
      * When called on property values, the name must match the property name.
+     * <p>
+     * If this node is {@linkplain #protect() protected} and no such child exists, a new undefined node is returned
+     * which is not attached to this node. The returned node is protected as well, so modifying it fails just like
+     * modifying this node.
      *
      * @param name the child name
      *
@@ -852,7 +850,9 @@ public class ModelNode implements Cloneable {
     public ModelNode get(String name) {
         ModelValue value = this.value;
         if (value == ModelValue.UNDEFINED) {
-            checkProtect();
+            if (protect) {
+                return undefinedProtected();
+            }
             this.value = new ObjectModelValue();
             return this.value.getChild(name);
         }
@@ -1370,9 +1370,20 @@ public class ModelNode implements Cloneable {
     }
 
     public String toBase64String() {
-        DataOutput out = new DataOutput();
+        return Base64.encode(toBinaryString());
+    }
+
+    /**
+     * Returns this node in DMR binary format as a binary string (one char per byte). Objects which have not been read
+     * yet are copied as is, so this doesn't read them. Nodes with the same binary string are structurally identical.
+     *
+     * @return the node as binary string
+     */
+    @JsIgnore
+    public String toBinaryString() {
+        DataOutput out = new BinaryDataOutput();
         writeExternal(out);
-        return Base64.encode(out.toString());
+        return out.toString();
     }
 
     /**
@@ -1455,6 +1466,18 @@ public class ModelNode implements Cloneable {
         return value.getType();
     }
 
+    /**
+     * Estimates the size of this node in the DMR binary format: Strings count with their length, all other values with
+     * a fixed size. Objects which have not been read yet count with the length of their encoded entries, so the
+     * estimate doesn't read them.
+     *
+     * @return the estimated size in bytes
+     */
+    @JsIgnore
+    public int estimateSize() {
+        return value.estimateSize();
+    }
+
     /**
      * Write this node's content in binary format to the given target.
      *
@@ -1474,10 +1497,27 @@ public class ModelNode implements Cloneable {
      * @param in the source from which the content should be read
      */
     void readExternal(DataInput in) {
+        checkProtect();
+        ModelType type;
+        try {
+            type = ModelType.forChar((char) (in.readByte() & 0xff));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(e.getMessage(), e.getCause());
+        }
+        readExternal(type, in);
+    }
+
+    /**
+     * Read this node's content of the given type in binary format from the given source. The type has already been
+     * read from the source.
+     *
+     * @param type the type of the content
+     * @param in   the source from which the content should be read
+     */
+    void readExternal(ModelType type, DataInput in) {
         checkProtect();
         byte[] b; // used by some of these
         try {
-            ModelType type = ModelType.forChar((char) (in.readByte() & 0xff));
             switch (type) {
                 case UNDEFINED:
                     value = ModelValue.UNDEFINED;
@@ -1514,7 +1554,11 @@ public class ModelNode implements Cloneable {
                     value = new LongModelValue(in.readLong());
                     return;
                 case OBJECT:
-                    value = new ObjectModelValue(in);
+                    if (in instanceof BinaryDataInput && ((BinaryDataInput) in).isLazy()) {
+                        value = ObjectModelValue.lazy((BinaryDataInput) in);
+                    } else {
+                        value = new ObjectModelValue(in);
+                    }
                     return;
                 case PROPERTY:
                     value = new PropertyModelValue(in);
@@ -1533,6 +1577,40 @@ public class ModelNode implements Cloneable {
         }
     }
 
+    /** @return a new undefined and protected node. Used for missing children of protected nodes. */
+    static ModelNode undefinedProtected() {
+        ModelNode node = new ModelNode();
+        node.protect();
+        return node;
+    }
+
+    /** @return {@code true} if this node has been {@linkplain #protect() protected} */
+    @JsIgnore
+    public boolean isProtected() {
+        return protect;
+    }
+
+    /**
+     * Replaces the child with the specified name by the specified node. Unlike {@code get(name).set(node)} the node is
+     * <em>not</em> copied, but used as is. This is meant for sharing {@linkplain #protect() protected} sub-nodes
+     * between structurally identical nodes.
+     *
+     * @throws IllegalArgumentException if this node is not of type {@link ModelType#OBJECT}
+     */
+    @JsIgnore
+    public void share(String name, ModelNode node) {
+        checkProtect();
+        if (!(value instanceof ObjectModelValue)) {
+            throw new IllegalArgumentException("Node is not of type " + ModelType.OBJECT);
+        }
+        ((ObjectModelValue) value).share(name, node);
+    }
+
+    /** @return {@code true} if this node is an object whose entries have not been read yet */
+    boolean isLazy() {
+        return value instanceof ObjectModelValue && ((ObjectModelValue) value).isLazy();
+    }
+
     private void checkProtect() {
         if (protect) {
             throw new UnsupportedOperationException();
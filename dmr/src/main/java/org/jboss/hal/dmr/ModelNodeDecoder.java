@@ -0,0 +1,161 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import com.google.common.base.CharMatcher;
+
+/**
+ * Decodes the DMR binary format in slices. Instead of reading the whole tree at once like {@link
+ * ModelNode#fromBase64(String)}, each call to {@link #decode(int)} reads a limited number of nodes and returns. The
+ * caller can yield control between the calls, so that decoding a huge payload does not block the UI thread.
+ * <p>
+ * Objects, lists and properties are read using an explicit stack. All other values are read in one go using {@link
+ * ModelNode#readExternal(ModelType, DataInput)}. The result is identical to the result of {@link
+ * ModelNode#fromBase64(String)}.
+ */
+public class ModelNodeDecoder {
+
+    /**
+     * Creates a new decoder for the specified base64 encoded payload. Only the base64 decoding takes place here, the
+     * nodes are decoded using {@link #decode(int)}.
+     */
+    public static ModelNodeDecoder fromBase64(String encoded) {
+        String safeEncoded = CharMatcher.breakingWhitespace().removeFrom(encoded);
+        String decoded = Base64.decode(safeEncoded);
+        return new ModelNodeDecoder(new BinaryDataInput(BinaryBuffer.fromBinaryString(decoded)));
+    }
+
+    private final BinaryDataInput in;
+    private final ModelNode root;
+    private final Deque<Frame> stack;
+    private boolean started;
+    private int nodes;
+
+    ModelNodeDecoder(BinaryDataInput in) {
+        this.in = in;
+        this.root = new ModelNode();
+        this.stack = new ArrayDeque<>();
+        this.started = false;
+        this.nodes = 0;
+    }
+
+    /**
+     * Decodes up to {@code maxNodes} nodes.
+     *
+     * @return {@code true} if the payload has been decoded completely, {@code false} otherwise
+     */
+    public boolean decode(int maxNodes) {
+        int budget = maxNodes;
+        while (budget > 0 && !isDone()) {
+            ModelNode node;
+            if (!started) {
+                started = true;
+                node = root;
+            } else {
+                Frame frame = stack.peek();
+                frame.remaining--;
+                if (frame.type == ModelType.OBJECT) {
+                    node = frame.node.get(in.readKey());
+                } else if (frame.type == ModelType.LIST) {
+                    node = frame.node.add();
+                } else {
+                    node = frame.node; // the value of a property
+                }
+            }
+            read(node);
+            while (!stack.isEmpty() && stack.peek().remaining == 0) {
+                stack.pop();
+            }
+            nodes++;
+            budget--;
+        }
+        return isDone();
+    }
+
+    private void read(ModelNode node) {
+        ModelType type;
+        try {
+            type = ModelType.forChar((char) (in.readByte() & 0xff));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(e.getMessage(), e.getCause());
+        }
+        switch (type) {
+            case OBJECT:
+                node.setEmptyObject();
+                push(node, type, in.readInt());
+                break;
+            case LIST:
+                node.setEmptyList();
+                push(node, type, in.readInt());
+                break;
+            case PROPERTY:
+                // the property keeps a copy of the value: push the live value, not the one passed to set()
+                node.set(in.readKey(), new ModelNode());
+                push(node.asProperty().getValue(), type, 1);
+                break;
+            default:
+                node.readExternal(type, in);
+                break;
+        }
+    }
+
+    private void push(ModelNode node, ModelType type, int count) {
+        if (count > 0) {
+            stack.push(new Frame(node, type, count));
+        }
+    }
+
+    public boolean isDone() {
+        return started && stack.isEmpty();
+    }
+
+    /** @return the decoded node. Only complete if {@link #isDone()} returns {@code true}. */
+    public ModelNode getNode() {
+        return root;
+    }
+
+    /** @return the number of nodes decoded so far */
+    public int getNodes() {
+        return nodes;
+    }
+
+    /** @return the number of bytes decoded so far */
+    public int getPosition() {
+        return in.position();
+    }
+
+    /** @return the size of the binary payload in bytes */
+    public int getLength() {
+        return in.length();
+    }
+
+
+    private static class Frame {
+
+        final ModelNode node;
+        final ModelType type;
+        int remaining;
+
+        Frame(ModelNode node, ModelType type, int remaining) {
+            this.node = node;
+            this.type = type;
+            this.remaining = remaining;
+        }
+    }
+}
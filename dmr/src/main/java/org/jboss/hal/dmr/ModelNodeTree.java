@@ -0,0 +1,124 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import jsinterop.base.Any;
+
+/**
+ * Rebuilds a model node from the structured representation created by {@code js/dmr-worker.js}. The worker decodes the
+ * DMR binary format and posts the result as nested arrays, where the first element is the {@linkplain ModelType type
+ * character}:
+ *
+ * <pre>
+ * ["o", key1, node1, key2, node2, ...]  object
+ * ["l", node1, node2, ...]              list
+ * ["p", name, node]                     property
+ * ["s", "value"]                        string (also "e" expression and "d" big decimal)
+ * ["I", 42]                             int
+ * ["J", high, low]                      long as two 32 bit ints
+ * ["D", 4.2]                            double
+ * ["Z", true]                           boolean
+ * ["t", "s"]                            type
+ * ["b", [bytes]]                        bytes (also "i" big integer)
+ * ["u"]                                 undefined
+ * </pre>
+ *
+ * Arrays and strings can be copied cheaply using the structured clone algorithm. Rebuilding the model node only creates
+ * the nodes and does not need to decode any bytes or UTF-8 strings.
+ */
+public final class ModelNodeTree {
+
+    public static ModelNode fromTree(Any tree) {
+        ModelNode node = new ModelNode();
+        read(node, tree.asArray());
+        return node;
+    }
+
+    private static void read(ModelNode node, Any[] tree) {
+        ModelType type;
+        try {
+            type = ModelType.forChar(tree[0].asString().charAt(0));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(e.getMessage(), e.getCause());
+        }
+        switch (type) {
+            case OBJECT:
+                node.setEmptyObject();
+                for (int i = 1; i < tree.length; i += 2) {
+                    read(node.get(tree[i].asString()), tree[i + 1].asArray());
+                }
+                break;
+            case LIST:
+                node.setEmptyList();
+                for (int i = 1; i < tree.length; i++) {
+                    read(node.add(), tree[i].asArray());
+                }
+                break;
+            case PROPERTY:
+                ModelNode value = new ModelNode();
+                read(value, tree[2].asArray());
+                node.set(tree[1].asString(), value);
+                break;
+            case STRING:
+                node.set(tree[1].asString());
+                break;
+            case EXPRESSION:
+                node.setExpression(tree[1].asString());
+                break;
+            case BIG_DECIMAL:
+                node.set(new BigDecimal(tree[1].asString()));
+                break;
+            case INT:
+                node.set(tree[1].asInt());
+                break;
+            case LONG:
+                node.set(((long) tree[1].asInt() << 32) | (tree[2].asInt() & 0xFFFFFFFFL));
+                break;
+            case DOUBLE:
+                node.set(tree[1].asDouble());
+                break;
+            case BOOLEAN:
+                node.set(tree[1].asBoolean());
+                break;
+            case TYPE:
+                node.set(ModelType.forChar(tree[1].asString().charAt(0)));
+                break;
+            case BYTES:
+                node.set(bytes(tree[1].asArray()));
+                break;
+            case BIG_INTEGER:
+                node.set(new BigInteger(bytes(tree[1].asArray())));
+                break;
+            case UNDEFINED:
+            default:
+                break;
+        }
+    }
+
+    private static byte[] bytes(Any[] array) {
+        byte[] bytes = new byte[array.length];
+        for (int i = 0; i < array.length; i++) {
+            bytes[i] = (byte) array[i].asInt();
+        }
+        return bytes;
+    }
+
+    private ModelNodeTree() {
+    }
+}
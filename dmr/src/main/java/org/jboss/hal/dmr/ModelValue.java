@@ -149,6 +149,8 @@ abstract class ModelValue implements Cloneable {
         }
     }
 
+    static final int NODE_SIZE = 8; // type and fixed size value
+
     private ModelType type;
 
     protected ModelValue(ModelType type) {
@@ -313,6 +315,11 @@ abstract class ModelValue implements Cloneable {
         // nothing by default
     }
 
+    /** Estimates the size in the DMR binary format, see {@link ModelNode#estimateSize()}. */
+    int estimateSize() {
+        return NODE_SIZE;
+    }
+
     boolean has(int index) {
         return false;
     }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+/**
+ * Start and end positions of the objects in a DMR buffer. The positions are recorded while skipping objects, so that
+ * lazy objects can skip nested objects without scanning them again. The start position is the position right after
+ * the number of entries. Objects are recorded in the order they are found in the buffer, so the start positions are
+ * sorted.
+ */
+class ObjectExtents {
+
+    private int[] starts;
+    private int[] ends;
+    private int size;
+
+    ObjectExtents() {
+        this(new int[16], new int[16], 0);
+    }
+
+    private ObjectExtents(int[] starts, int[] ends, int size) {
+        this.starts = starts;
+        this.ends = ends;
+        this.size = size;
+    }
+
+    /** Records the start of an object and returns the index which must be passed to {@link #end(int, int)}. */
+    int start(int position) {
+        if (size == starts.length) {
+            int[] grownStarts = new int[size * 2];
+            int[] grownEnds = new int[size * 2];
+            System.arraycopy(starts, 0, grownStarts, 0, size);
+            System.arraycopy(ends, 0, grownEnds, 0, size);
+            starts = grownStarts;
+            ends = grownEnds;
+        }
+        starts[size] = position;
+        ends[size] = -1;
+        return size++;
+    }
+
+    void end(int index, int position) {
+        ends[index] = position;
+    }
+
+    /** @return the end position of the object which starts at the specified position or -1 if unknown */
+    int endOf(int start) {
+        int index = search(start);
+        return index < size && starts[index] == start ? ends[index] : -1;
+    }
+
+    /**
+     * @return the extents of all objects which start in the specified range. The positions are relative to {@code
+     * from}.
+     */
+    ObjectExtents slice(int from, int to) {
+        int first = search(from);
+        int last = search(to);
+        int count = last - first;
+        int[] slicedStarts = new int[Math.max(count, 1)];
+        int[] slicedEnds = new int[Math.max(count, 1)];
+        for (int i = 0; i < count; i++) {
+            slicedStarts[i] = starts[first + i] - from;
+            slicedEnds[i] = ends[first + i] - from;
+        }
+        return new ObjectExtents(slicedStarts, slicedEnds, count);
+    }
+
+    /** @return the index of the first object which starts at or after the specified position */
+    private int search(int position) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (starts[middle] < position) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -29,7 +29,26 @@ import java.util.Set;
  */
 class ObjectModelValue extends ModelValue {
 
-    private final Map<String, ModelNode> map;
+    /**
+     * Creates an object value which is backed by the DMR buffer of the specified input. Only the number of entries is
+     * read, all entries are skipped. The entries are read when the object is accessed for the first time (only one
+     * level deep - nested objects are lazy again). The buffer is scanned only once: Skipping records the extents of
+     * all nested objects, which are then used when reading the entries.
+     */
+    static ObjectModelValue lazy(BinaryDataInput in) {
+        int count = in.readInt();
+        if (count == 0) {
+            return new ObjectModelValue();
+        }
+        int start = in.position();
+        in.skipEntries(count);
+        return new ObjectModelValue(
+                new LazySource(in.buffer(), in.length(), in.extents(), start, in.position(), count));
+    }
+
+    private Map<String, ModelNode> map;
+    private LazySource source; // null once the entries have been read
+    private boolean protect;
 
     ObjectModelValue() {
         super(ModelType.OBJECT);
@@ -41,12 +60,17 @@ class ObjectModelValue extends ModelValue {
         this.map = map;
     }
 
+    private ObjectModelValue(LazySource source) {
+        super(ModelType.OBJECT);
+        this.source = source;
+    }
+
     ObjectModelValue(DataInput in) {
         super(ModelType.OBJECT);
         int count = in.readInt();
         LinkedHashMap<String, ModelNode> map = new LinkedHashMap<>();
         for (int i = 0; i < count; i++) {
-            String key = in.readUTF();
+            String key = in.readKey();
             ModelNode value = new ModelNode();
             value.readExternal(in);
             map.put(key, value);
@@ -54,9 +78,42 @@ class ObjectModelValue extends ModelValue {
         this.map = map;
     }
 
+    /**
+     * Returns the entries of this object and reads them from the buffer if necessary. The entries of a protected
+     * object are protected when they're read.
+     */
+    private Map<String, ModelNode> map() {
+        if (source != null) {
+            LazySource source = this.source.compact();
+            BinaryDataInput in = new BinaryDataInput(source.buffer, source.length, source.extents);
+            in.seek(source.start);
+            LinkedHashMap<String, ModelNode> map = new LinkedHashMap<>();
+            for (int i = 0; i < source.count; i++) {
+                String key = in.readKey();
+                ModelNode value = new ModelNode();
+                value.readExternal(in);
+                if (protect) {
+                    value.protect();
+                }
+                map.put(key, value);
+            }
+            this.map = protect ? Collections.unmodifiableMap(map) : map;
+            this.source = null;
+        }
+        return map;
+    }
+
     @Override
     void writeExternal(DataOutput out) {
-        Map<String, ModelNode> map = this.map;
+        if (source != null) {
+            // the entries are still encoded: copy them without reading them
+            out.writeInt(source.count);
+            for (int i = source.start; i < source.end; i++) {
+                out.writeByte(source.buffer.getByte(i));
+            }
+            return;
+        }
+        Map<String, ModelNode> map = map();
         int size = map.size();
         out.writeInt(size);
         for (Map.Entry<String, ModelNode> entry : map.entrySet()) {
@@ -65,13 +122,37 @@ class ObjectModelValue extends ModelValue {
         }
     }
 
+    @Override
+    int estimateSize() {
+        if (source != null) {
+            // the length of the encoded entries: doesn't read them
+            return NODE_SIZE + source.end - source.start;
+        }
+        int size = NODE_SIZE;
+        for (Map.Entry<String, ModelNode> entry : map.entrySet()) {
+            size += entry.getKey().length() + entry.getValue().estimateSize();
+        }
+        return size;
+    }
+
     @Override
     ModelValue protect() {
-        Map<String, ModelNode> map = this.map;
+        if (source != null) {
+            // protect the entries when they're read
+            ObjectModelValue value = new ObjectModelValue(source);
+            value.protect = true;
+            return value;
+        }
+        Map<String, ModelNode> map = map();
         for (ModelNode node : map.values()) {
             node.protect();
         }
-        return map.getClass() == LinkedHashMap.class ? new ObjectModelValue(Collections.unmodifiableMap(map)) : this;
+        if (map.getClass() == LinkedHashMap.class) {
+            ObjectModelValue value = new ObjectModelValue(Collections.unmodifiableMap(map));
+            value.protect = true;
+            return value;
+        }
+        return this;
     }
 
     @Override
@@ -84,26 +165,35 @@ class ObjectModelValue extends ModelValue {
         if (name == null) {
             return null;
         }
-        ModelNode node = map.get(name);
+        ModelNode node = map().get(name);
         if (node != null) {
             return node;
         }
+        if (protect) {
+            // reading a missing key of a protected object must not fail, but writing to the returned node must
+            return ModelNode.undefinedProtected();
+        }
         ModelNode newNode = new ModelNode();
-        map.put(name, newNode);
+        map().put(name, newNode);
         return newNode;
     }
 
+    /** Replaces the child with the specified name by the specified node <em>without</em> copying it. */
+    void share(String name, ModelNode node) {
+        map().put(name, node);
+    }
+
     @Override
     ModelNode removeChild(String name) {
         if (name == null) {
             return null;
         }
-        return map.remove(name);
+        return map().remove(name);
     }
 
     @Override
     int asInt() {
-        return map.size();
+        return source != null ? source.count : map().size();
     }
 
     @Override
@@ -123,18 +213,18 @@ class ObjectModelValue extends ModelValue {
 
     @Override
     boolean asBoolean() {
-        return !map.isEmpty();
+        return asInt() != 0;
     }
 
     @Override
     boolean asBoolean(boolean defVal) {
-        return !map.isEmpty();
+        return asBoolean();
     }
 
     @Override
     Property asProperty() {
-        if (map.size() == 1) {
-            Map.Entry<String, ModelNode> entry = map.entrySet().iterator().next();
+        if (map().size() == 1) {
+            Map.Entry<String, ModelNode> entry = map().entrySet().iterator().next();
             return new Property(entry.getKey(), entry.getValue());
         }
         return super.asProperty();
@@ -143,7 +233,7 @@ class ObjectModelValue extends ModelValue {
     @Override
     List<Property> asPropertyList() {
         List<Property> propertyList = new ArrayList<>();
-        for (Map.Entry<String, ModelNode> entry : map.entrySet()) {
+        for (Map.Entry<String, ModelNode> entry : map().entrySet()) {
             propertyList.add(new Property(entry.getKey(), entry.getValue()));
         }
         return propertyList;
@@ -160,8 +250,12 @@ class ObjectModelValue extends ModelValue {
     }
 
     ModelValue copy(boolean resolve) {
+        if (source != null && !resolve) {
+            // the buffer is never modified, so the copy can share it
+            return new ObjectModelValue(source);
+        }
         LinkedHashMap<String, ModelNode> newMap = new LinkedHashMap<>();
-        for (Map.Entry<String, ModelNode> entry : map.entrySet()) {
+        for (Map.Entry<String, ModelNode> entry : map().entrySet()) {
             newMap.put(entry.getKey(), resolve ? entry.getValue().resolve() : entry.getValue().clone());
         }
         return new ObjectModelValue(newMap);
@@ -170,7 +264,7 @@ class ObjectModelValue extends ModelValue {
     @Override
     List<ModelNode> asList() {
         ArrayList<ModelNode> nodes = new ArrayList<>();
-        for (Map.Entry<String, ModelNode> entry : map.entrySet()) {
+        for (Map.Entry<String, ModelNode> entry : map().entrySet()) {
             ModelNode node = new ModelNode();
             node.set(entry.getKey(), entry.getValue());
             nodes.add(node);
@@ -180,7 +274,7 @@ class ObjectModelValue extends ModelValue {
 
     @Override
     Set<String> getKeys() {
-        return map.keySet();
+        return map().keySet();
     }
 
     @Override
@@ -193,11 +287,11 @@ class ObjectModelValue extends ModelValue {
     @Override
     void format(StringBuilder builder, int indent, boolean multiLineRequested) {
         builder.append('{');
-        boolean multiLine = multiLineRequested && map.size() > 1;
+        boolean multiLine = multiLineRequested && map().size() > 1;
         if (multiLine) {
             indent(builder.append('\n'), indent + 1);
         }
-        Iterator<Map.Entry<String, ModelNode>> iterator = map.entrySet().iterator();
+        Iterator<Map.Entry<String, ModelNode>> iterator = map().entrySet().iterator();
         while (iterator.hasNext()) {
             Map.Entry<String, ModelNode> entry = iterator.next();
             builder.append(quote(entry.getKey()));
@@ -221,11 +315,11 @@ class ObjectModelValue extends ModelValue {
     @Override
     void formatAsJSON(StringBuilder builder, int indent, boolean multiLineRequested) {
         builder.append('{');
-        boolean multiLine = multiLineRequested && map.size() > 1;
+        boolean multiLine = multiLineRequested && map().size() > 1;
         if (multiLine) {
             indent(builder.append('\n'), indent + 1);
         }
-        Iterator<Map.Entry<String, ModelNode>> iterator = map.entrySet().iterator();
+        Iterator<Map.Entry<String, ModelNode>> iterator = map().entrySet().iterator();
         while (iterator.hasNext()) {
             Map.Entry<String, ModelNode> entry = iterator.next();
             builder.append(quote(entry.getKey()));
@@ -266,25 +360,65 @@ class ObjectModelValue extends ModelValue {
      * @return {@code true} if they are equal, {@code false} otherwise
      */
     public boolean equals(ObjectModelValue other) {
-        return this == other || other != null && other.map.equals(map);
+        return this == other || other != null && other.map().equals(map());
     }
 
     @Override
     public int hashCode() {
-        return map.hashCode();
+        return map().hashCode();
     }
 
     @Override
     boolean has(String key) {
-        return map.containsKey(key);
+        return map().containsKey(key);
     }
 
     @Override
     ModelNode requireChild(String name) throws NoSuchElementException {
-        ModelNode node = map.get(name);
+        ModelNode node = map().get(name);
         if (node != null) {
             return node;
         }
         return super.requireChild(name);
     }
+
+
+    /** @return {@code true} if the entries of this object have not been read yet */
+    boolean isLazy() {
+        return source != null;
+    }
+
+
+    /** Location of the entries of a lazy object in the DMR buffer. */
+    private static class LazySource {
+
+        final BinaryBuffer buffer;
+        final int length;
+        final ObjectExtents extents;
+        final int start;
+        final int end;
+        final int count;
+
+        LazySource(BinaryBuffer buffer, int length, ObjectExtents extents, int start, int end, int count) {
+            this.buffer = buffer;
+            this.length = length;
+            this.extents = extents;
+            this.start = start;
+            this.end = end;
+            this.count = count;
+        }
+
+        /**
+         * Nested lazy objects keep a reference to the buffer they are read from. If the entries take at most half of
+         * the buffer, they're copied to a new buffer, so that nested objects don't keep the whole response alive.
+         * Since each copy is at most half as big as its source, every byte is copied at most log2(length) times.
+         */
+        LazySource compact() {
+            int size = end - start;
+            if (size * 2 > length) {
+                return this;
+            }
+            return new LazySource(buffer.slice(start, end), size, extents.slice(start, end), 0, size, count);
+        }
+    }
 }
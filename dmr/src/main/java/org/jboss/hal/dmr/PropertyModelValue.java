@@ -44,11 +44,16 @@ class PropertyModelValue extends ModelValue {
     PropertyModelValue(DataInput in) {
         super(ModelType.PROPERTY);
         ModelNode node = new ModelNode();
-        String name = in.readUTF();
+        String name = in.readKey();
         node.readExternal(in);
         property = new Property(name, node);
     }
 
+    @Override
+    int estimateSize() {
+        return NODE_SIZE + property.getName().length() + property.getValue().estimateSize();
+    }
+
     @Override
     void writeExternal(DataOutput out) {
         out.writeUTF(property.getName());
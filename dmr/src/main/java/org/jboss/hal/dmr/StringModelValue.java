@@ -31,6 +31,11 @@ class StringModelValue extends ModelValue {
         this.value = value;
     }
 
+    @Override
+    int estimateSize() {
+        return NODE_SIZE + value.length();
+    }
+
     @Override
     void writeExternal(DataOutput out) {
         out.writeUTF(value);
@@ -23,6 +23,7 @@ import jsinterop.annotations.JsFunction;
 import jsinterop.annotations.JsIgnore;
 import jsinterop.annotations.JsMethod;
 import jsinterop.annotations.JsType;
+import jsinterop.base.Js;
 import org.jboss.hal.config.AccessControlProvider;
 import org.jboss.hal.config.Endpoints;
 import org.jboss.hal.config.Environment;
@@ -31,18 +32,25 @@ import org.jboss.hal.dmr.*;
 import org.jboss.hal.dmr.dispatch.ResponseHeadersProcessor.Header;
 import org.jboss.hal.dmr.macro.*;
 import org.jboss.hal.dmr.macro.RecordingEvent.RecordingHandler;
+import org.jboss.hal.flow.Progress;
 import org.jboss.hal.resources.Resources;
 import org.jboss.hal.spi.EsParam;
+import org.jboss.hal.spi.Footer;
 import org.jboss.hal.spi.Message;
 import org.jboss.hal.spi.MessageEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Single;
+import rx.SingleEmitter;
 import rx.SingleSubscriber;
 
 import javax.inject.Inject;
+import javax.inject.Provider;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 
@@ -50,6 +58,10 @@ import static com.google.common.collect.Sets.difference;
 import static elemental2.core.Global.encodeURIComponent;
 import static elemental2.dom.DomGlobal.navigator;
 import static java.util.stream.Collectors.joining;
+import static org.jboss.hal.config.Settings.Key.DMR_WORKER;
+import static org.jboss.hal.config.Settings.Key.HTTP_GET;
+import static org.jboss.hal.config.Settings.Key.READ_CACHE;
+import static org.jboss.hal.config.Settings.Key.READ_CACHE_SIZE;
 import static org.jboss.hal.config.Settings.Key.RUN_AS;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
 import static org.jboss.hal.dmr.dispatch.Dispatcher.HttpMethod.GET;
@@ -84,18 +96,32 @@ public class Dispatcher implements RecordingHandler {
     private final Macros macros;
     private final OnFail failedCallback;
     private final OnError exceptionCallback;
+    private final RequestCoalescer coalescer;
+    private final ReadCache readCache;
+    private final ETagCache etagCache;
+    private final IncrementalPayloadProcessor incrementalPayloadProcessor;
+    private final DmrWorker dmrWorker;
+    private final Provider<Progress> progress;
+    private final Set<Object> inFlight;
 
     @Inject
     @JsIgnore
     public Dispatcher(Environment environment, Endpoints endpoints, Settings settings,
             EventBus eventBus, ResponseHeadersProcessors responseHeadersProcessors,
-            Macros macros, Resources resources) {
+            Macros macros, Resources resources, @Footer Provider<Progress> progress) {
         this.environment = environment;
         this.endpoints = endpoints;
         this.settings = settings;
         this.eventBus = eventBus;
         this.responseHeadersProcessors = responseHeadersProcessors;
         this.macros = macros;
+        this.coalescer = new RequestCoalescer();
+        this.readCache = new ReadCache();
+        this.etagCache = new ETagCache();
+        this.incrementalPayloadProcessor = new IncrementalPayloadProcessor();
+        this.dmrWorker = new DmrWorker();
+        this.progress = progress;
+        this.inFlight = new HashSet<>();
 
         this.eventBus.addHandler(RecordingEvent.getType(), this);
         this.failedCallback = (operation, failure) -> {
@@ -138,6 +164,18 @@ public class Dispatcher implements RecordingHandler {
         return dmr(operations).map(payload -> compositeResult(payload));
     }
 
+    /**
+     * Executes the read-only composite and keeps the response in the {@linkplain #getReadCache() read cache}, even if
+     * the read cache is turned off in the settings.
+     *
+     * @see #executeCached(Operation)
+     */
+    @JsIgnore
+    public Single<CompositeResult> executeCached(Composite operations) {
+        //noinspection Convert2MethodRef
+        return dmr(operations, true).map(payload -> compositeResult(payload));
+    }
+
     private CompositeResult compositeResult(ModelNode payload) {
         return new CompositeResult(payload.get(RESULT));
     }
@@ -165,6 +203,17 @@ public class Dispatcher implements RecordingHandler {
         return dmr(operation).map(payload -> payload.get(RESULT));
     }
 
+    /**
+     * Executes the read-only operation and keeps the response in the {@linkplain #getReadCache() read cache}, even if
+     * the read cache is turned off in the settings. Use this method for reads which are repeated often and which can
+     * live with data which is a few seconds old, e.g. suggestions. Like all cached responses, the response is evicted
+     * after a short time or as soon as an operation writes to a related address.
+     */
+    @JsIgnore
+    public Single<ModelNode> executeCached(Operation operation) {
+        return dmr(operation, true).map(payload -> payload.get(RESULT));
+    }
+
     /**
      * Executes the operation and upon successful result calls the success function with the response results, but
      * doesn't retrieve the "result" payload as the other execute methods does. You should use this execute method if
@@ -183,21 +232,79 @@ public class Dispatcher implements RecordingHandler {
     }
 
     private Single<ModelNode> dmr(Operation operation) {
+        return dmr(operation, false);
+    }
+
+    private Single<ModelNode> dmr(Operation operation, boolean cache) {
         Operation dmrOperation = runAs(operation); // runAs might mutate the operation, so do it synchronously
         String url = endpoints.dmr();
+        String body = dmrOperation.toBase64String();
         // ^-- those eager fields are useful if we don't want to evaluate it on each Single subscription
-        return Single.fromEmitter(emitter -> {
-            // in general, code inside the RX type should be able to be executed multiple times and always returns
-            // the same result, so we need to be careful to not mutate anything (like the operation). This is useful
-            // for example if we want to use the retry operator which will try again (subscribe again) if it fails.
-            XMLHttpRequest xhr = newDmrXhr(url, dmrOperation, new DmrPayloadProcessor(), emitter::onSuccess,
-                    (op, fail) -> emitter.onError(new DispatchFailure(fail, operation)),
-                    (op, error) -> emitter.onError(error));
-            xhr.setRequestHeader(ACCEPT.header(), APPLICATION_DMR_ENCODED);
-            xhr.setRequestHeader(CONTENT_TYPE.header(), APPLICATION_DMR_ENCODED);
-            xhr.send(dmrOperation.toBase64String());
-            logger.trace("DMR operation: {}", operation);
-            recordOperation(operation);
+        Single<ModelNode> request;
+        if (httpGetOperation(dmrOperation)) {
+            String getUrl = operationUrl(dmrOperation, false);
+            request = Single.fromEmitter(emitter -> {
+                Map<String, String> headers = new HashMap<>();
+                headers.put(ACCEPT.header(), APPLICATION_DMR_ENCODED);
+                String etag = etagCache.etag(getUrl);
+                if (etag != null) {
+                    headers.put(IF_NONE_MATCH.header(), etag);
+                }
+                sendDmr(getUrl, GET, operation, dmrOperation, headers, null, emitter);
+                logger.trace("DMR operation (GET): {}", operation);
+                recordOperation(operation);
+            });
+        } else {
+            request = Single.fromEmitter(emitter -> {
+                // in general, code inside the RX type should be able to be executed multiple times and always
+                // returns the same result, so we need to be careful to not mutate anything (like the operation).
+                // This is useful for example if we want to use the retry operator which will try again
+                // (subscribe again) if it fails.
+                Map<String, String> headers = new HashMap<>();
+                headers.put(ACCEPT.header(), APPLICATION_DMR_ENCODED);
+                headers.put(CONTENT_TYPE.header(), APPLICATION_DMR_ENCODED);
+                sendDmr(url, POST, operation, dmrOperation, headers, body, emitter);
+                logger.trace("DMR operation: {}", operation);
+                recordOperation(operation);
+            });
+        }
+        request = track(request);
+
+        // read-only operations are cached and identical read-only operations share one request,
+        // unless we're recording a macro
+        if (readOnlyOperation(dmrOperation)) {
+            if (macros.current() == null) {
+                if (cache || settings.get(READ_CACHE).asBoolean()) {
+                    ModelNode cached = readCache.get(body);
+                    if (cached != null) {
+                        logger.trace("DMR operation (cached): {}", operation);
+                        return Single.just(cached);
+                    }
+                    int cacheSize = settings.get(READ_CACHE_SIZE).asInt(Settings.DEFAULT_READ_CACHE_SIZE);
+                    request = request.doOnSuccess(payload -> readCache.put(body, dmrOperation, payload, cacheSize));
+                }
+                return coalescer.coalesce(body, request);
+            }
+            return request;
+        }
+        return request.doOnSubscribe(() -> invalidate(dmrOperation))
+                .doOnSuccess(payload -> invalidate(dmrOperation));
+    }
+
+    /** Invalidates the responses which might be outdated after executing the specified write operation. */
+    private void invalidate(Operation operation) {
+        readCache.invalidate(operation);
+        coalescer.invalidate();
+    }
+
+
+    /** Counts the request as in flight from subscription until it terminates or is unsubscribed. */
+    private Single<ModelNode> track(Single<ModelNode> request) {
+        return Single.defer(() -> {
+            Object token = new Object();
+            return request.doOnSubscribe(() -> inFlight.add(token))
+                    .doAfterTerminate(() -> inFlight.remove(token))
+                    .doOnUnsubscribe(() -> inFlight.remove(token));
         });
     }
 
@@ -226,6 +333,15 @@ public class Dispatcher implements RecordingHandler {
 
     @JsIgnore
     public Single<ModelNode> upload(File file, Operation operation) {
+        return upload(file, operation, null);
+    }
+
+    /**
+     * Uploads the file and reports the uploaded bytes to the specified callback. The returned single can be
+     * subscribed multiple times, each subscription sends the file again.
+     */
+    @JsIgnore
+    public Single<ModelNode> upload(File file, Operation operation, OnProgress progress) {
         Operation uploadOperation = runAs(operation);
 
         ConstructorBlobPartsArrayUnionType blob = ConstructorBlobPartsArrayUnionType.of(
@@ -243,19 +359,29 @@ public class Dispatcher implements RecordingHandler {
             formData.append(file.name, AppendValueUnionType.of(file));
         }
         formData.append(OPERATION, new Blob(new ConstructorBlobPartsArrayUnionType[]{blob}, options));
-        return uploadFormData(formData, uploadOperation).map(payload -> payload.get(RESULT));
+        return uploadFormData(formData, uploadOperation, progress).map(payload -> payload.get(RESULT));
     }
 
-    private Single<ModelNode> uploadFormData(FormData formData, Operation operation) {
-        return Single.fromEmitter(emitter -> {
-            XMLHttpRequest xhr = newDmrXhr(endpoints.upload(), operation, new UploadPayloadProcessor(),
+    private Single<ModelNode> uploadFormData(FormData formData, Operation operation, OnProgress progress) {
+        Single<ModelNode> request = Single.fromEmitter(emitter -> {
+            XMLHttpRequest xhr = newDmrXhr(endpoints.upload(), POST, operation, new UploadPayloadProcessor(),
                     emitter::onSuccess,
                     (op, fail) -> emitter.onError(new DispatchFailure(fail, operation)),
                     (op, error) -> emitter.onError(error));
+            if (progress != null) {
+                xhr.upload.addEventListener("progress", event -> { //NON-NLS
+                    ProgressEvent progressEvent = Js.cast(event);
+                    if (progressEvent.lengthComputable) {
+                        progress.onProgress(progressEvent.loaded, progressEvent.total);
+                    }
+                }, false);
+            }
             xhr.send(formData);
             logger.trace("DMR operation: {}", operation);
             // Uploads are not supported in macros!
         });
+        return request.doOnSubscribe(() -> coalescer.invalidate())
+                .doOnSuccess(payload -> invalidate(operation));
     }
 
 
@@ -287,6 +413,39 @@ public class Dispatcher implements RecordingHandler {
     }
 
 
+    // ------------------------------------------------------ statistics
+
+    /** @return the number of DMR requests which have been sent, but not yet answered */
+    @JsIgnore
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    /** @return the coalescer which de-duplicates identical read-only operations in flight */
+    @JsIgnore
+    public RequestCoalescer getCoalescer() {
+        return coalescer;
+    }
+
+    /**
+     * @return the cache for the responses of read-only operations (only used if {@link Settings.Key#READ_CACHE} is
+     * enabled)
+     */
+    @JsIgnore
+    public ReadCache getReadCache() {
+        return readCache;
+    }
+
+    /**
+     * @return the {@code ETag} cache for read-only operations sent as HTTP GET requests (only used if {@link
+     * Settings.Key#HTTP_GET} is enabled)
+     */
+    @JsIgnore
+    public ETagCache getETagCache() {
+        return etagCache;
+    }
+
+
     // ------------------------------------------------------ run-as and urls
 
     private Operation runAs(Operation operation) {
@@ -299,7 +458,34 @@ public class Dispatcher implements RecordingHandler {
         return operation;
     }
 
+    /**
+     * Read-only operations which are sent as HTTP GET requests if {@link Settings.Key#HTTP_GET} is enabled. Operations
+     * with headers or complex parameters are always sent as HTTP POST requests, since they cannot be expressed as URL.
+     */
+    private boolean httpGetOperation(Operation operation) {
+        if (settings.get(HTTP_GET).asBoolean()
+                && !(operation instanceof Composite)
+                && !operation.hasDefined(OPERATION_HEADERS)
+                && GetOperation.isSupported(operation.getName())
+                && !READ_CONTENT.equals(operation.getName())) {
+            if (operation.hasParameter()) {
+                for (Property property : operation.getParameter().asPropertyList()) {
+                    ModelType type = property.getValue().getType();
+                    if (type == ModelType.LIST || type == ModelType.OBJECT || type == ModelType.PROPERTY) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
     private String operationUrl(Operation operation) {
+        return operationUrl(operation, true);
+    }
+
+    private String operationUrl(Operation operation, boolean bearerTokenParameter) {
         StringBuilder builder = new StringBuilder();
         builder.append(endpoints.dmr()).append("/");
 
@@ -332,9 +518,11 @@ public class Dispatcher implements RecordingHandler {
         }
 
         // 4. bearer token
-        String token = getBearerToken();
-        if (token != null) {
-            builder.append("&access_token=").append(token);
+        if (bearerTokenParameter) {
+            String token = getBearerToken();
+            if (token != null) {
+                builder.append("&access_token=").append(token);
+            }
         }
 
         // TODO operation headers
@@ -344,36 +532,90 @@ public class Dispatcher implements RecordingHandler {
 
     // ------------------------------------------------------ xhr
 
-    private XMLHttpRequest newDmrXhr(String url, Operation operation, PayloadProcessor payloadProcessor,
+    /**
+     * Sends the DMR request either using an XHR or - if {@link Settings.Key#DMR_WORKER} is enabled - using the DMR
+     * worker, which decodes the response off the UI thread.
+     */
+    private void sendDmr(String url, HttpMethod method, Operation operation, Operation dmrOperation,
+            Map<String, String> headers, String body, SingleEmitter<ModelNode> emitter) {
+        OnFail fail = (op, failure) -> emitter.onError(new DispatchFailure(failure, operation));
+        OnError error = (op, e) -> emitter.onError(e);
+        if (settings.get(DMR_WORKER).asBoolean() && dmrWorker.isSupported()) {
+            Map<String, String> workerHeaders = new HashMap<>(headers);
+            workerHeaders.put(X_MANAGEMENT_CLIENT_NAME.header(), HEADER_MANAGEMENT_CLIENT_VALUE);
+            String bearerToken = getBearerToken();
+            if (bearerToken != null) {
+                workerHeaders.put("Authorization", "Bearer " + bearerToken);
+            }
+            dmrWorker.send(url, method, workerHeaders, body,
+                    response -> onWorkerResponse(url, method, dmrOperation, response, emitter::onSuccess, fail,
+                            error));
+        } else {
+            XMLHttpRequest xhr = newDmrXhr(url, method, dmrOperation, new DmrPayloadProcessor(), emitter::onSuccess,
+                    fail, error);
+            headers.forEach(xhr::setRequestHeader);
+            if (body != null) {
+                xhr.send(body);
+            } else {
+                xhr.send();
+            }
+        }
+    }
+
+    private void onWorkerResponse(String url, HttpMethod method, Operation operation, DmrWorker.Response response,
             Consumer<ModelNode> success, OnFail fail, OnError error) {
-        return newXhr(url, POST, operation, error, xhr -> {
+        int status = response.status;
+        if (status == 0 && response.error != null) {
+            // the worker failed
+            error.onException(operation, new DispatchError(status, response.error, operation));
+
+        } else if (status == 304 && method == GET) {
+            notModified(url, operation, success, error);
+
+        } else if (status == 200 || status == 500) {
+            ModelNode payload;
+            if (response.error != null) {
+                payload = DmrPayloadProcessor.failure(response.error);
+            } else if (response.node != null) {
+                try {
+                    payload = DmrPayloadProcessor.repackage(method, ModelNodeTree.fromTree(response.node));
+                } catch (Throwable e) {
+                    payload = DmrPayloadProcessor.decodeError(e);
+                }
+            } else {
+                payload = DmrPayloadProcessor.failure(PayloadProcessor.PARSE_ERROR + response.contentType);
+            }
+            String etag = method == GET && status == 200 ? response.etag : null;
+            processDmrPayload(url, etag, operation, payload, success, fail);
+
+        } else if (!pendingLifecycleAction) {
+            handleErrorCodes(url, status, operation, error);
+        }
+    }
+
+    private XMLHttpRequest newDmrXhr(String url, HttpMethod method, Operation operation,
+            PayloadProcessor payloadProcessor, Consumer<ModelNode> success, OnFail fail, OnError error) {
+        return newXhr(url, method, operation, error, xhr -> {
             int status = xhr.status;
+
+            if (status == 304 && method == GET) {
+                notModified(url, operation, success, error);
+                return;
+            }
+
             String responseText = xhr.responseText;
             String contentType = xhr.getResponseHeader(CONTENT_TYPE.header());
-
             if (status == 200 || status == 500) {
-                ModelNode payload = payloadProcessor.processPayload(POST, contentType, responseText);
-                if (!payload.isFailure()) {
-                    if (environment.isStandalone()) {
-                        if (payload.hasDefined(RESPONSE_HEADERS)) {
-                            Header[] headers = new Header[]{new Header(payload.get(RESPONSE_HEADERS))};
-                            for (ResponseHeadersProcessor processor : responseHeadersProcessors.processors()) {
-                                processor.process(headers);
-                            }
-                        }
-                    } else {
-                        if (payload.hasDefined(SERVER_GROUPS)) {
-                            Header[] headers = collectHeaders(payload.get(SERVER_GROUPS));
-                            if (headers.length != 0) {
-                                for (ResponseHeadersProcessor processor : responseHeadersProcessors.processors()) {
-                                    processor.process(headers);
-                                }
-                            }
-                        }
-                    }
-                    success.accept(payload);
+                String etag = method == GET && status == 200
+                        ? xhr.getResponseHeader(ResponseHeader.ETAG.header())
+                        : null;
+                Consumer<ModelNode> processed = payload -> processDmrPayload(url, etag, operation, payload, success,
+                        fail);
+                if (payloadProcessor instanceof DmrPayloadProcessor
+                        && IncrementalPayloadProcessor.applies(contentType, responseText)) {
+                    incrementalPayloadProcessor.processPayload(method, responseText, progress.get(), processed);
                 } else {
-                    fail.onFailed(operation, payload.getFailureDescription());
+                    processed.accept(payloadProcessor.processPayload(method, contentType, responseText));
                 }
             } else {
                 if (!pendingLifecycleAction) {
@@ -383,6 +625,44 @@ public class Dispatcher implements RecordingHandler {
         });
     }
 
+    private void notModified(String url, Operation operation, Consumer<ModelNode> success, OnError error) {
+        ModelNode payload = etagCache.notModified(url);
+        if (payload != null) {
+            success.accept(payload);
+        } else {
+            handleErrorCodes(url, 304, operation, error);
+        }
+    }
+
+    private void processDmrPayload(String url, String etag, Operation operation, ModelNode payload,
+            Consumer<ModelNode> success, OnFail fail) {
+        if (!payload.isFailure()) {
+            if (etag != null) {
+                etagCache.put(url, etag, payload);
+            }
+            if (environment.isStandalone()) {
+                if (payload.hasDefined(RESPONSE_HEADERS)) {
+                    Header[] headers = new Header[]{new Header(payload.get(RESPONSE_HEADERS))};
+                    for (ResponseHeadersProcessor processor : responseHeadersProcessors.processors()) {
+                        processor.process(headers);
+                    }
+                }
+            } else {
+                if (payload.hasDefined(SERVER_GROUPS)) {
+                    Header[] headers = collectHeaders(payload.get(SERVER_GROUPS));
+                    if (headers.length != 0) {
+                        for (ResponseHeadersProcessor processor : responseHeadersProcessors.processors()) {
+                            processor.process(headers);
+                        }
+                    }
+                }
+            }
+            success.accept(payload);
+        } else {
+            fail.onFailed(operation, payload.getFailureDescription());
+        }
+    }
+
     private XMLHttpRequest newXhr(String url, HttpMethod method, Operation operation, OnError error, OnLoad onLoad) {
         XMLHttpRequest xhr = new XMLHttpRequest();
 
@@ -490,7 +770,7 @@ public class Dispatcher implements RecordingHandler {
         }
     }
 
-    private boolean readOnlyOperation(Operation operation) {
+    static boolean readOnlyOperation(Operation operation) {
         if (operation instanceof Composite) {
             Composite composite = (Composite) operation;
             for (Operation op : composite) {
@@ -562,6 +842,13 @@ public class Dispatcher implements RecordingHandler {
     }
 
 
+    @FunctionalInterface
+    public interface OnProgress {
+
+        void onProgress(double loaded, double total);
+    }
+
+
     @FunctionalInterface
     private interface OnLoad {
 
@@ -28,31 +28,39 @@ public class DmrPayloadProcessor implements PayloadProcessor {
         ModelNode node;
         if (contentType.startsWith(Dispatcher.APPLICATION_DMR_ENCODED)) {
             try {
-                node = ModelNode.fromBase64(payload);
-                if (method == GET && !node.isFailure()) {
-                    // For GET request the response is purely the model nodes result. The outcome
-                    // is not send as part of the response but expressed with the HTTP status code.
-                    // In order to not break existing code, we repackage the payload into a
-                    // new model node with an "outcome" and "result" key.
-                    // TODO What about response headers?
-                    ModelNode repackaged = new ModelNode();
-                    repackaged.get(OUTCOME).set(SUCCESS);
-                    repackaged.get(RESULT).set(node);
-                    node = repackaged;
-                }
+                node = repackage(method, ModelNode.fromBase64(payload));
             } catch (Throwable e) {
-                ModelNode err = new ModelNode();
-                err.get(OUTCOME).set(FAILED);
-                err.get(FAILURE_DESCRIPTION)
-                        .set("Failed to decode response: " + e.getClass().getName() + ": " + e.getMessage()); //NON-NLS
-                node = err;
+                node = decodeError(e);
             }
-
         } else {
-            node = new ModelNode();
-            node.get(OUTCOME).set(FAILED);
-            node.get(FAILURE_DESCRIPTION).set(PARSE_ERROR + contentType); //NON-NLS
+            node = failure(PARSE_ERROR + contentType); //NON-NLS
+        }
+        return node;
+    }
+
+    static ModelNode repackage(HttpMethod method, ModelNode node) {
+        if (method == GET && !node.isFailure()) {
+            // For GET request the response is purely the model nodes result. The outcome
+            // is not send as part of the response but expressed with the HTTP status code.
+            // In order to not break existing code, we repackage the payload into a
+            // new model node with an "outcome" and "result" key.
+            // TODO What about response headers?
+            ModelNode repackaged = new ModelNode();
+            repackaged.get(OUTCOME).set(SUCCESS);
+            repackaged.get(RESULT).set(node);
+            return repackaged;
         }
         return node;
     }
+
+    static ModelNode decodeError(Throwable e) {
+        return failure("Failed to decode response: " + e.getClass().getName() + ": " + e.getMessage()); //NON-NLS
+    }
+
+    static ModelNode failure(String description) {
+        ModelNode err = new ModelNode();
+        err.get(OUTCOME).set(FAILED);
+        err.get(FAILURE_DESCRIPTION).set(description);
+        return err;
+    }
 }
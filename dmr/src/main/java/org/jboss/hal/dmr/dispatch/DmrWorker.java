@@ -0,0 +1,133 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import elemental2.dom.Event;
+import elemental2.dom.MessageEvent;
+import elemental2.dom.Worker;
+import jsinterop.annotations.JsType;
+import jsinterop.base.Any;
+import jsinterop.base.Js;
+import jsinterop.base.JsPropertyMap;
+import org.jboss.hal.dmr.ModelNodeTree;
+import org.jboss.hal.dmr.dispatch.Dispatcher.HttpMethod;
+import org.jboss.hal.js.Browser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static jsinterop.annotations.JsPackage.GLOBAL;
+import static org.jboss.hal.resources.UIConstants.OBJECT;
+
+/**
+ * Executes DMR requests in a web worker. The worker sends the request, decodes the DMR encoded response and posts the
+ * decoded tree back to the page. Rebuilding the model node from the tree using {@link ModelNodeTree} is much cheaper
+ * than decoding the response, so big responses no longer block the UI thread.
+ * <p>
+ * The worker is created on first use and not supported in IE. If the worker fails (e.g. because the script cannot be
+ * loaded), all pending requests fail and the worker is no longer used: The dispatcher falls back to XHR.
+ */
+class DmrWorker {
+
+    private static final String DMR_WORKER_JS = "js/dmr-worker.js";
+    private static final Logger logger = LoggerFactory.getLogger(DmrWorker.class);
+
+    private final Map<Integer, Consumer<Response>> pendingRequests;
+    private Worker worker;
+    private boolean failed;
+    private int requestId;
+
+    DmrWorker() {
+        this.pendingRequests = new HashMap<>();
+        this.requestId = 0;
+    }
+
+    boolean isSupported() {
+        return !Browser.isIE() && !failed;
+    }
+
+    void send(String url, HttpMethod method, Map<String, String> headers, String body, Consumer<Response> callback) {
+        if (worker == null) {
+            worker = new Worker(DMR_WORKER_JS);
+            worker.addEventListener("message", this::onResponse);
+            worker.addEventListener("error", this::onError); //NON-NLS
+        }
+
+        Request request = new Request();
+        request.id = ++requestId;
+        request.url = url;
+        request.method = method.name();
+        request.headers = JsPropertyMap.of();
+        headers.forEach(request.headers::set);
+        request.body = body;
+        pendingRequests.put(request.id, callback);
+        worker.postMessage(request);
+    }
+
+    private void onResponse(Event event) {
+        MessageEvent<?> messageEvent = Js.cast(event);
+        Response response = Js.cast(messageEvent.data);
+        Consumer<Response> callback = pendingRequests.remove(response.id);
+        if (callback != null) {
+            callback.accept(response);
+        }
+    }
+
+    private void onError(Event event) {
+        logger.error("Error in {}. Fall back to XHR.", DMR_WORKER_JS);
+        if (worker != null) {
+            worker.terminate();
+            worker = null;
+        }
+        failed = true;
+
+        Map<Integer, Consumer<Response>> failedRequests = new HashMap<>(pendingRequests);
+        pendingRequests.clear();
+        failedRequests.forEach((id, callback) -> {
+            Response response = new Response();
+            response.id = id;
+            response.status = 0;
+            response.error = "Error in " + DMR_WORKER_JS;
+            callback.accept(response);
+        });
+    }
+
+
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    private static class Request {
+
+        int id;
+        String url;
+        String method;
+        JsPropertyMap<String> headers;
+        String body;
+    }
+
+
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    static class Response {
+
+        int id;
+        int status;
+        String contentType;
+        String etag;
+        Any node;
+        String error;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jboss.hal.dmr.ModelNode;
+
+/**
+ * Stores the {@code ETag} and the decoded payload of responses to HTTP GET requests. The {@code ETag} is sent as {@code
+ * If-None-Match} header in subsequent requests for the same URL. If the server responds with {@code 304 Not Modified},
+ * the stored payload is used instead of decoding the response again.
+ */
+public class ETagCache {
+
+    static final int DEFAULT_SIZE = 250;
+
+    private final int maxSize;
+    private final LinkedHashMap<String, Entry> entries;
+    private int notModified;
+
+    ETagCache() {
+        this(DEFAULT_SIZE);
+    }
+
+    ETagCache(int size) {
+        this.maxSize = size;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /** @return the {@code ETag} for the specified URL or {@code null} if there's no entry for the URL */
+    String etag(String url) {
+        Entry entry = entries.get(url);
+        return entry != null ? entry.etag : null;
+    }
+
+    /** @return a copy of the payload for the specified URL or {@code null} if there's no entry for the URL */
+    ModelNode notModified(String url) {
+        Entry entry = entries.get(url);
+        if (entry != null) {
+            notModified++;
+            return entry.payload.clone();
+        }
+        return null;
+    }
+
+    void put(String url, String etag, ModelNode payload) {
+        entries.put(url, new Entry(etag, payload.clone()));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /** @return the number of {@code 304 Not Modified} responses which were answered using a stored payload */
+    public int getNotModified() {
+        return notModified;
+    }
+
+
+    private static class Entry {
+
+        final String etag;
+        final ModelNode payload;
+
+        Entry(String etag, ModelNode payload) {
+            this.etag = etag;
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.function.Consumer;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.ModelNodeDecoder;
+import org.jboss.hal.dmr.dispatch.Dispatcher.HttpMethod;
+import org.jboss.hal.flow.Progress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static elemental2.dom.DomGlobal.document;
+import static elemental2.dom.DomGlobal.requestAnimationFrame;
+import static elemental2.dom.DomGlobal.setTimeout;
+
+/**
+ * Decodes large DMR encoded payloads using a {@link ModelNodeDecoder}. The decoding is spread over several animation
+ * frames, so that the UI thread is not blocked for the whole decode. Animation frames don't fire in hidden tabs, so
+ * the decoding continues using messages while the document is hidden.
+ * <p>
+ * The progress is reflected using a {@link Progress}, but only if the progress is not already used by someone else
+ * (e.g. by a flow which executes the operation).
+ * <p>
+ * Smaller payloads are decoded by {@link DmrPayloadProcessor} in one go.
+ */
+class IncrementalPayloadProcessor {
+
+    /** Minimal length of the base64 encoded payload to be decoded incrementally. */
+    static final int THRESHOLD = 256 * 1024;
+    private static final int SLICE = 250; // nodes decoded between two time checks
+    private static final long FRAME_BUDGET = 8; // ms
+    private static final int HIDDEN_TIMEOUT = 250; // ms
+    private static final int PERCENT = 100;
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalPayloadProcessor.class);
+
+    static boolean applies(String contentType, String payload) {
+        return contentType != null && contentType.startsWith(Dispatcher.APPLICATION_DMR_ENCODED)
+                && payload != null && payload.length() >= THRESHOLD;
+    }
+
+    void processPayload(HttpMethod method, String payload, Progress progress, Consumer<ModelNode> callback) {
+        ModelNodeDecoder decoder;
+        try {
+            decoder = ModelNodeDecoder.fromBase64(payload);
+        } catch (Throwable e) {
+            callback.accept(DmrPayloadProcessor.decodeError(e));
+            return;
+        }
+        Progress decodingProgress = progress.isRunning() ? Progress.NOOP : progress;
+        decodingProgress.reset(PERCENT);
+        nextFrame(new Decoding(method, decoder, decodingProgress, callback));
+    }
+
+    private void nextFrame(Decoding decoding) {
+        int slice = ++decoding.scheduled;
+        if (document.hidden) {
+            postTask(() -> decode(decoding, slice));
+        } else {
+            requestAnimationFrame(timestamp -> decode(decoding, slice));
+            // the animation frame won't fire if the document is hidden in the meantime
+            setTimeout(o -> {
+                if (document.hidden) {
+                    decode(decoding, slice);
+                }
+            }, HIDDEN_TIMEOUT);
+        }
+    }
+
+    private void decode(Decoding decoding, int slice) {
+        if (slice != decoding.scheduled) {
+            return; // already decoded
+        }
+        decoding.scheduled++;
+        long start = System.currentTimeMillis();
+        boolean done;
+        try {
+            do {
+                done = decoding.decoder.decode(SLICE);
+            } while (!done && System.currentTimeMillis() - start < FRAME_BUDGET);
+        } catch (Throwable e) {
+            decoding.progress.finish();
+            decoding.callback.accept(DmrPayloadProcessor.decodeError(e));
+            return;
+        }
+        decoding.frames++;
+        decoding.tick();
+        if (done) {
+            decoding.progress.finish();
+            logger.debug("Decoded {} nodes ({} bytes) in {} frames", decoding.decoder.getNodes(),
+                    decoding.decoder.getLength(), decoding.frames);
+            decoding.callback.accept(DmrPayloadProcessor.repackage(decoding.method, decoding.decoder.getNode()));
+        } else {
+            nextFrame(decoding);
+        }
+    }
+
+    // timeouts are throttled in hidden tabs, messages are not
+    private static native void postTask(Runnable task) /*-{
+        var channel = new MessageChannel();
+        channel.port1.onmessage = function () {
+            task.@java.lang.Runnable::run()();
+        };
+        channel.port2.postMessage(null);
+    }-*/;
+
+
+    private static class Decoding {
+
+        final HttpMethod method;
+        final ModelNodeDecoder decoder;
+        final Progress progress;
+        final Consumer<ModelNode> callback;
+        int frames;
+        int ticks;
+        int scheduled;
+
+        Decoding(HttpMethod method, ModelNodeDecoder decoder, Progress progress, Consumer<ModelNode> callback) {
+            this.method = method;
+            this.decoder = decoder;
+            this.progress = progress;
+            this.callback = callback;
+        }
+
+        void tick() {
+            int length = Math.max(decoder.getLength(), 1);
+            int percent = (int) ((long) decoder.getPosition() * PERCENT / length);
+            while (ticks < percent) {
+                progress.tick();
+                ticks++;
+            }
+        }
+    }
+}
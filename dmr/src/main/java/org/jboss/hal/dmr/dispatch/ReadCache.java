@@ -0,0 +1,188 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.Property;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Short living LRU cache for the responses of read-only operations. Entries are keyed by the DMR encoded operation and
+ * expire after a fixed time to live.
+ * <p>
+ * Operations which are not read-only invalidate all entries whose address is a parent or a child of the written
+ * address. Wildcards in cached addresses match any value.
+ * <p>
+ * The cache is opt-in: Use {@link org.jboss.hal.config.Settings.Key#READ_CACHE} to turn it on and {@link
+ * org.jboss.hal.config.Settings.Key#READ_CACHE_SIZE} to limit the number of entries.
+ */
+public class ReadCache {
+
+    static final long DEFAULT_TTL = 10_000; // ms
+    private static final String WILDCARD = "*";
+    private static final Logger logger = LoggerFactory.getLogger(ReadCache.class);
+
+    private final long ttl;
+    private final LongSupplier clock;
+    private final LinkedHashMap<String, Entry> entries;
+    private int hits;
+    private int misses;
+    private int evictions;
+    private int invalidations;
+
+    ReadCache() {
+        this(DEFAULT_TTL, System::currentTimeMillis);
+    }
+
+    ReadCache(long ttl, LongSupplier clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true); // access order for LRU
+    }
+
+    /** @return a copy of the cached payload or {@code null} if there's no entry or if the entry has been expired */
+    ModelNode get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expires > clock.getAsLong()) {
+                hits++;
+                return entry.payload.clone();
+            }
+            entries.remove(key);
+        }
+        misses++;
+        return null;
+    }
+
+    void put(String key, Operation operation, ModelNode payload, int maxSize) {
+        entries.put(key, new Entry(addresses(operation), payload.clone(), clock.getAsLong() + ttl));
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > Math.max(maxSize, 0) && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    /** Removes all entries which are affected by the specified (write) operation. */
+    void invalidate(Operation operation) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<ResourceAddress> written = addresses(operation);
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.affectedBy(written));
+        int removed = before - entries.size();
+        if (removed > 0) {
+            invalidations += removed;
+            logger.debug("Invalidated {} cached responses for {}", removed, operation.asCli());
+        }
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    public int getEvictions() {
+        return evictions;
+    }
+
+    public int getInvalidations() {
+        return invalidations;
+    }
+
+    private List<ResourceAddress> addresses(Operation operation) {
+        List<ResourceAddress> addresses = new ArrayList<>();
+        if (operation instanceof Composite) {
+            for (Operation step : (Composite) operation) {
+                addresses.add(step.getAddress());
+            }
+        } else {
+            addresses.add(operation.getAddress());
+        }
+        return addresses;
+    }
+
+    /** @return {@code true} if {@code prefix} is a prefix of {@code address} (wildcards match any value) */
+    static boolean isPrefix(ResourceAddress prefix, ResourceAddress address) {
+        if (prefix.size() > address.size()) {
+            return false;
+        }
+        List<Property> prefixSegments = prefix.isEmpty() ? new ArrayList<>() : prefix.asPropertyList();
+        List<Property> addressSegments = address.isEmpty() ? new ArrayList<>() : address.asPropertyList();
+        for (int i = 0; i < prefixSegments.size(); i++) {
+            Property p = prefixSegments.get(i);
+            Property a = addressSegments.get(i);
+            if (!p.getName().equals(a.getName())) {
+                return false;
+            }
+            String pv = p.getValue().asString();
+            String av = a.getValue().asString();
+            if (!pv.equals(av) && !WILDCARD.equals(pv) && !WILDCARD.equals(av)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private static class Entry {
+
+        final List<ResourceAddress> addresses;
+        final ModelNode payload;
+        final long expires;
+
+        Entry(List<ResourceAddress> addresses, ModelNode payload, long expires) {
+            this.addresses = addresses;
+            this.payload = payload;
+            this.expires = expires;
+        }
+
+        boolean affectedBy(List<ResourceAddress> written) {
+            for (ResourceAddress w : written) {
+                for (ResourceAddress address : addresses) {
+                    if (isPrefix(address, w) || isPrefix(w, address)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Observable;
+import rx.Single;
+
+/**
+ * De-duplicates identical read-only operations which are in flight at the same time. If an operation is executed while
+ * an identical operation is still waiting for its response, no new request is sent. Instead both callers share the
+ * response of the first request.
+ * <p>
+ * Operations are identical if their DMR encoded form is identical, i.e. if they have the same address, name,
+ * parameters and headers. If more than one caller shares a response, each caller gets its own copy of the payload.
+ * <p>
+ * Requests in flight might return data from before a write operation. That's why the dispatcher calls {@link
+ * #invalidate()} for each write operation: Read-only operations which are executed afterwards send a new request.
+ */
+public class RequestCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestCoalescer.class);
+
+    private final Map<String, InFlight> inFlight;
+    private int requests;
+    private int saved;
+
+    RequestCoalescer() {
+        this.inFlight = new HashMap<>();
+        this.requests = 0;
+        this.saved = 0;
+    }
+
+    /**
+     * Returns a single which either shares the response of an identical request in flight or which executes the
+     * specified request.
+     *
+     * @param key     the DMR encoded operation
+     * @param request the single which executes the request
+     */
+    Single<ModelNode> coalesce(String key, Single<ModelNode> request) {
+        return Single.defer(() -> {
+            requests++;
+            InFlight current = inFlight.get(key);
+            if (current != null) {
+                saved++;
+                current.subscribers++;
+                logger.debug("Share response of identical request in flight ({} of {} requests saved)", saved,
+                        requests);
+                return current.response();
+            }
+
+            InFlight newInFlight = new InFlight();
+            newInFlight.shared = request.toObservable()
+                    .doAfterTerminate(() -> inFlight.remove(key, newInFlight))
+                    .doOnUnsubscribe(() -> inFlight.remove(key, newInFlight))
+                    .share();
+            inFlight.put(key, newInFlight);
+            return newInFlight.response();
+        });
+    }
+
+    /**
+     * Forgets all requests in flight. The requests are not cancelled and their callers still get the responses, but
+     * subsequent operations no longer share them.
+     */
+    void invalidate() {
+        if (!inFlight.isEmpty()) {
+            logger.debug("Invalidate {} request(s) in flight", inFlight.size());
+            inFlight.clear();
+        }
+    }
+
+    /** @return the number of read-only requests which went through this coalescer */
+    public int getRequests() {
+        return requests;
+    }
+
+    /** @return the number of requests which were not sent because an identical request was in flight */
+    public int getSaved() {
+        return saved;
+    }
+
+    /** @return the number of distinct requests currently in flight */
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+
+    private static class InFlight {
+
+        Observable<ModelNode> shared;
+        int subscribers = 1;
+
+        Single<ModelNode> response() {
+            // callers might modify the payload, so hand out copies as soon as the response is shared
+            return shared.map(payload -> subscribers > 1 ? payload.clone() : payload).toSingle();
+        }
+    }
+}
@@ -20,6 +20,7 @@ public enum RequestHeader {
     // only those which are used in HAL
     ACCEPT("Accept"),
     CONTENT_TYPE("Content-Type"),
+    IF_NONE_MATCH("If-None-Match"),
     X_MANAGEMENT_CLIENT_NAME("X-Management-Client-Name");
 
     private final String header;
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import org.jboss.dmr.ValueExpression;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Round trip tests for {@link BinaryDataInput} and {@link BinaryDataOutput}. The bytes written by the reference
+ * implementation (jboss-dmr) are decoded using both the existing {@link DataInput} and the new codec.
+ */
+public class BinaryCodecTest {
+
+    @Test
+    public void simpleValues() {
+        org.jboss.dmr.ModelNode node = new org.jboss.dmr.ModelNode();
+        node.get("string").set("foo");
+        node.get("empty").set("");
+        node.get("int").set(42);
+        node.get("negative-int").set(Integer.MIN_VALUE);
+        node.get("long").set(Long.MAX_VALUE);
+        node.get("negative-long").set(-1234567890123L);
+        node.get("boolean").set(true);
+        node.get("expression").set(new ValueExpression("${jboss.bind.address:127.0.0.1}"));
+        node.get("type").set(org.jboss.dmr.ModelType.LIST);
+        node.get("undefined");
+
+        assertDecode(node);
+        assertEncode(node);
+    }
+
+    @Test
+    public void bigInteger() {
+        org.jboss.dmr.ModelNode node = new org.jboss.dmr.ModelNode();
+        node.get("big-integer").set(new BigInteger("-123456789012345678901234567890"));
+
+        // DataOutput does not write the length of big integers, so only the decoding is compared
+        assertDecode(node);
+    }
+
+    @Test
+    public void nonAsciiStrings() {
+        org.jboss.dmr.ModelNode node = new org.jboss.dmr.ModelNode();
+        node.get("latin-1").set("Grüße aus Köln");
+        node.get("unicode").set("日本語 €");
+        node.get("null-char").set("a\u0000b");
+        node.get("Schlüssel").set("key with umlaut");
+
+        assertDecode(node);
+        assertEncode(node);
+    }
+
+    @Test
+    public void nested() {
+        org.jboss.dmr.ModelNode node = new org.jboss.dmr.ModelNode();
+        node.get("outcome").set("success");
+        org.jboss.dmr.ModelNode result = node.get("result");
+        for (int i = 0; i < 100; i++) {
+            org.jboss.dmr.ModelNode child = result.get("child-" + i);
+            child.get("attributes").get("name").get("type").set(org.jboss.dmr.ModelType.STRING);
+            child.get("attributes").get("name").get("nillable").set(false);
+            child.get("list").add("a").add(i).add((long) i * 1000000000L);
+            child.get("property").set("key", "value-" + i);
+        }
+
+        assertDecode(node);
+        assertEncode(node);
+    }
+
+    @Test
+    public void doubles() {
+        // DataInput.readDouble() requires a browser, so doubles are compared against the reference implementation only
+        double[] values = new double[]{0.0, -0.0, 1.5, -273.15, Double.MAX_VALUE, Double.MIN_VALUE,
+                Double.POSITIVE_INFINITY};
+        org.jboss.dmr.ModelNode node = new org.jboss.dmr.ModelNode();
+        for (double value : values) {
+            node.add(value);
+        }
+
+        byte[] bytes = externalBytes(node);
+        ModelNode decoded = new ModelNode();
+        decoded.readExternal(new BinaryDataInput(BinaryBuffer.wrap(bytes)));
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(Double.doubleToLongBits(values[i]), Double.doubleToLongBits(decoded.get(i).asDouble()));
+        }
+        assertArrayEquals(bytes, binaryBytes(decoded));
+    }
+
+    @Test
+    public void growBuffer() {
+        ModelNode node = new ModelNode();
+        for (int i = 0; i < 1000; i++) {
+            node.get("key-" + i).set("value-" + i);
+        }
+
+        BinaryDataOutput out = new BinaryDataOutput(1);
+        node.writeExternal(out);
+        byte[] bytes = out.toString().getBytes(StandardCharsets.ISO_8859_1);
+        assertEquals(out.size(), bytes.length);
+
+        ModelNode decoded = new ModelNode();
+        decoded.readExternal(new BinaryDataInput(BinaryBuffer.wrap(bytes)));
+        assertEquals(node, decoded);
+    }
+
+    @Test
+    public void binaryString() {
+        org.jboss.dmr.ModelNode node = new org.jboss.dmr.ModelNode();
+        node.get("foo").set("bar");
+        byte[] bytes = externalBytes(node);
+
+        ModelNode decoded = new ModelNode();
+        decoded.readExternal(new BinaryDataInput(BinaryBuffer.fromBinaryString(
+                new String(bytes, StandardCharsets.ISO_8859_1))));
+        assertEquals("bar", decoded.get("foo").asString());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void eof() {
+        org.jboss.dmr.ModelNode node = new org.jboss.dmr.ModelNode();
+        node.get("foo").set("bar");
+        byte[] bytes = externalBytes(node);
+        byte[] truncated = new byte[bytes.length - 2];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+
+        new ModelNode().readExternal(new BinaryDataInput(BinaryBuffer.wrap(truncated)));
+    }
+
+
+    // ------------------------------------------------------ helper methods
+
+    /** Asserts that {@link DataInput} and {@link BinaryDataInput} decode the reference bytes to equal nodes. */
+    private void assertDecode(org.jboss.dmr.ModelNode reference) {
+        byte[] bytes = externalBytes(reference);
+
+        ModelNode expected = new ModelNode();
+        expected.readExternal(new DataInput(bytes));
+        ModelNode actual = new ModelNode();
+        actual.readExternal(new BinaryDataInput(BinaryBuffer.wrap(bytes)));
+
+        assertEquals(expected, actual);
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    /** Asserts that {@link BinaryDataOutput} writes the same bytes as the reference implementation. */
+    private void assertEncode(org.jboss.dmr.ModelNode reference) {
+        byte[] bytes = externalBytes(reference);
+        ModelNode node = new ModelNode();
+        node.readExternal(new DataInput(bytes));
+
+        assertArrayEquals(bytes, binaryBytes(node));
+    }
+
+    private byte[] externalBytes(org.jboss.dmr.ModelNode node) {
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            node.writeExternal(new DataOutputStream(baos));
+            return baos.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to write DMR: " + e.getMessage());
+        }
+    }
+
+    private byte[] binaryBytes(ModelNode node) {
+        BinaryDataOutput out = new BinaryDataOutput();
+        node.writeExternal(out);
+        return out.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class KeyTableTest {
+
+    @Test
+    public void seeded() {
+        KeyTable table = new KeyTable();
+        BinaryBuffer buffer = ascii(DESCRIPTION);
+
+        assertSame(DESCRIPTION, table.intern(buffer, 0, DESCRIPTION.length(), false));
+        assertEquals(1, table.getHits());
+        assertEquals(0, table.getMisses());
+    }
+
+    @Test
+    public void internNewStrings() {
+        KeyTable table = new KeyTable();
+        int size = table.size();
+        String first = table.intern(ascii("socket-binding"), 0, 14, true);
+        String second = table.intern(ascii("xxsocket-binding"), 2, 16, true);
+
+        assertEquals("socket-binding", first);
+        assertSame(first, second);
+        assertEquals(size + 1, table.size());
+    }
+
+    @Test
+    public void valuesNotAdded() {
+        KeyTable table = new KeyTable();
+        int size = table.size();
+        String first = table.intern(ascii("some-value"), 0, 10, false);
+        String second = table.intern(ascii("some-value"), 0, 10, false);
+
+        assertEquals("some-value", first);
+        assertNotSame(first, second);
+        assertEquals(size, table.size());
+        assertEquals(2, table.getMisses());
+    }
+
+    /** Values of object entries are interned only if they're already known. */
+    @Test
+    public void decodedValues() {
+        ModelNode node = new ModelNode();
+        node.get(ACCESS_TYPE).set(READ_WRITE);
+        node.get("some-key").set("some-value");
+        ModelNode first = decode(node);
+        ModelNode second = decode(node);
+
+        assertSame(READ_WRITE, first.get(ACCESS_TYPE).asString());
+        assertSame(first.keys().toArray()[1], second.keys().toArray()[1]);
+        assertNotSame(first.get("some-key").asString(), second.get("some-key").asString());
+    }
+
+    @Test
+    public void longStrings() {
+        KeyTable table = new KeyTable();
+        String value = "This is a description which is longer than the maximum length";
+        String first = table.intern(ascii(value), 0, value.length(), true);
+        String second = table.intern(ascii(value), 0, value.length(), true);
+
+        assertEquals(value, first);
+        assertNotSame(first, second);
+    }
+
+    /**
+     * Decodes a read-resource-description like result and compares the number of distinct key instances with the
+     * number of distinct keys. Without interning each key would be a new instance.
+     */
+    @Test
+    public void sharedKeys() {
+        ModelNode description = new ModelNode();
+        description.get(DESCRIPTION).set("A resource");
+        for (int i = 0; i < 500; i++) {
+            ModelNode attribute = description.get(ATTRIBUTES).get("attribute-" + i % 50 + "-" + i);
+            attribute.get(TYPE).set(ModelType.STRING);
+            attribute.get(DESCRIPTION).set("Attribute " + i);
+            attribute.get(EXPRESSIONS_ALLOWED).set(true);
+            attribute.get(NILLABLE).set(i % 2 == 0);
+            attribute.get(MIN).set(1);
+            attribute.get(MAX).set(i);
+            attribute.get(ACCESS_TYPE).set(READ_WRITE);
+            attribute.get(STORAGE).set(CONFIGURATION);
+            attribute.get(RESTART_REQUIRED).set("no-services");
+        }
+        ModelNode decoded = decode(description);
+        assertEquals(description, decoded);
+
+        Set<String> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<String> values = new HashSet<>();
+        for (Property attribute : decoded.get(ATTRIBUTES).asPropertyList()) {
+            for (String key : attribute.getValue().keys()) {
+                instances.add(key);
+                values.add(key);
+            }
+            String accessType = attribute.getValue().get(ACCESS_TYPE).asString();
+            instances.add(accessType);
+            values.add(accessType);
+        }
+        assertEquals(values.size(), instances.size());
+        assertEquals(10, values.size()); // 9 attribute keys + "read-write"
+    }
+
+    private ModelNode decode(ModelNode node) {
+        BinaryDataOutput out = new BinaryDataOutput();
+        node.writeExternal(out);
+        byte[] bytes = out.toString().getBytes(StandardCharsets.ISO_8859_1);
+
+        ModelNode decoded = new ModelNode();
+        decoded.readExternal(new BinaryDataInput(BinaryBuffer.wrap(bytes)));
+        return decoded;
+    }
+
+    private BinaryBuffer ascii(String value) {
+        return BinaryBuffer.wrap(value.getBytes(StandardCharsets.US_ASCII));
+    }
+}
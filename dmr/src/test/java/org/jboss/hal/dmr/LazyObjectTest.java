@@ -0,0 +1,288 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LazyObjectTest {
+
+    private ModelNode expected;
+    private byte[] bytes;
+
+    @Before
+    public void setUp() {
+        expected = new ModelNode();
+        expected.get("outcome").set("success");
+        ModelNode result = expected.get("result");
+        for (int i = 0; i < 20; i++) {
+            ModelNode child = result.get("child-" + i);
+            child.get("name").set("child-" + i);
+            child.get("port").set(8080 + i);
+            child.get("timeout").set(1000L * i);
+            child.get("enabled").set(i % 2 == 0);
+            child.get("list").add("a").add(new ModelNode().set("nested", "object"));
+            child.get("property").set("key", new ModelNode().set("value", i));
+            child.get("expression").setExpression("${foo:" + i + "}");
+            child.get("undefined");
+        }
+        bytes = bytes(expected);
+    }
+
+    @Test
+    public void lazy() {
+        ModelNode node = read();
+        assertTrue(node.isLazy());
+        assertEquals(2, node.asInt());
+        assertTrue(node.isLazy());
+    }
+
+    @Test
+    public void oneLevelAtATime() {
+        ModelNode node = read();
+        ModelNode result = node.get("result");
+
+        assertFalse(node.isLazy());
+        assertTrue(result.isLazy());
+        assertEquals("child-3", result.get("child-3").get("name").asString());
+        assertFalse(result.isLazy());
+        assertTrue(result.get("child-4").isLazy());
+    }
+
+    @Test
+    public void sameAsEager() {
+        ModelNode node = read();
+        assertEquals(expected, node);
+        assertEquals(expected.toString(), node.toString());
+        assertEquals(expected.toJSONString(), node.toJSONString());
+    }
+
+    @Test
+    public void copyOnWrite() {
+        ModelNode node = read();
+        ModelNode copy = node.clone();
+        assertTrue(copy.isLazy());
+
+        node.get("result").remove("child-0");
+        node.get("result").get("child-1").get("name").set("changed");
+        node.get("new").set(true);
+
+        assertEquals(expected, copy);
+        assertEquals(19, node.get("result").asInt());
+        assertEquals("changed", node.get("result").get("child-1").get("name").asString());
+        assertTrue(node.get("new").asBoolean());
+    }
+
+    @Test
+    public void writeLazy() {
+        assertArrayEquals(bytes, bytes(read()));
+    }
+
+    @Test
+    public void writeWithoutReading() {
+        ModelNode node = read();
+        ModelNode result = node.get("result");
+        assertArrayEquals(bytes, bytes(node));
+        assertTrue(result.isLazy());
+        assertEquals(expected.toBinaryString(), node.toBinaryString());
+    }
+
+    @Test
+    public void protectLazy() {
+        ModelNode node = read();
+        node.protect();
+        ModelNode result = node.get("result");
+        assertTrue(result.isLazy());
+        assertTrue(result.isProtected());
+
+        ModelNode child = result.get("child-1");
+        assertTrue(child.isLazy());
+        assertTrue(child.isProtected());
+        assertEquals(expected.get("result").get("child-1"), child);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void writeProtectedLazy() {
+        ModelNode node = read();
+        node.protect();
+        node.get("result").get("child-1").get("name").set("changed");
+    }
+
+    @Test
+    public void keys() {
+        ModelNode result = read().get("result");
+        assertEquals(expected.get("result").keys(), result.keys());
+        assertEquals(20, result.asPropertyList().size());
+    }
+
+    @Test
+    public void scanOnce() {
+        CountingBuffer buffer = new CountingBuffer(bytes);
+        new ModelNode().readExternal(new BinaryDataInput(buffer, bytes.length, false));
+        int eager = buffer.reset();
+
+        ModelNode node = read(buffer);
+        int scan = buffer.reset();
+        assertEquals(expected, node); // reads all objects
+
+        // nested objects are not scanned again: reading all objects costs no more than an eager read
+        assertTrue(buffer.reset() <= eager);
+        assertTrue(scan < eager);
+    }
+
+    @Test
+    public void copyNestedObjects() {
+        CountingBuffer buffer = new CountingBuffer(bytes);
+        ModelNode child = read(buffer).get("result").get("child-3");
+        assertTrue(child.isLazy());
+        buffer.reset();
+
+        // child-3 is small compared to the response: its entries and nested objects are read from a copy
+        assertEquals("child-3", child.get("name").asString());
+        assertEquals(3, child.get("property").asProperty().getValue().get("value").asInt());
+        assertEquals(0, buffer.directReads);
+        assertEquals(1, buffer.slices);
+    }
+
+    @Test
+    public void estimateSize() {
+        CountingBuffer buffer = new CountingBuffer(bytes);
+        ModelNode node = read(buffer);
+        ModelNode result = node.get("result");
+        buffer.reset();
+
+        // the size of the lazy result is the length of its encoded entries
+        assertTrue(node.estimateSize() > bytes.length / 2);
+        assertEquals(0, buffer.reset());
+        assertTrue(result.isLazy());
+    }
+
+    private ModelNode read() {
+        return read(BinaryBuffer.wrap(bytes));
+    }
+
+    private ModelNode read(BinaryBuffer buffer) {
+        ModelNode node = new ModelNode();
+        node.readExternal(new BinaryDataInput(buffer, bytes.length, true));
+        return node;
+    }
+
+    private byte[] bytes(ModelNode node) {
+        BinaryDataOutput out = new BinaryDataOutput();
+        node.writeExternal(out);
+        return out.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+
+    /** Counts the read operations and slices of a read-only buffer. */
+    private static class CountingBuffer extends BinaryBuffer {
+
+        private final BinaryBuffer delegate;
+        private final CountingBuffer root;
+        private int reads; // including the reads of slices
+        private int directReads;
+        private int slices;
+
+        CountingBuffer(byte[] bytes) {
+            this.delegate = BinaryBuffer.wrap(bytes);
+            this.root = this;
+        }
+
+        private CountingBuffer(BinaryBuffer delegate, CountingBuffer root) {
+            this.delegate = delegate;
+            this.root = root;
+        }
+
+        int reset() {
+            int count = reads;
+            reads = 0;
+            directReads = 0;
+            return count;
+        }
+
+        private void count() {
+            directReads++;
+            root.reads++;
+        }
+
+        @Override
+        int capacity() {
+            return delegate.capacity();
+        }
+
+        @Override
+        void grow(int capacity) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        int getByte(int index) {
+            count();
+            return delegate.getByte(index);
+        }
+
+        @Override
+        void putByte(int index, int value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        int getInt(int index) {
+            count();
+            return delegate.getInt(index);
+        }
+
+        @Override
+        void putInt(int index, int value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        double getDouble(int index) {
+            count();
+            return delegate.getDouble(index);
+        }
+
+        @Override
+        void putDouble(int index, double value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        String getAscii(int from, int to) {
+            count();
+            return delegate.getAscii(from, to);
+        }
+
+        @Override
+        String toBinaryString(int length) {
+            return delegate.toBinaryString(length);
+        }
+
+        @Override
+        BinaryBuffer slice(int from, int to) {
+            slices++;
+            return new CountingBuffer(delegate.slice(from, to), root);
+        }
+    }
+}
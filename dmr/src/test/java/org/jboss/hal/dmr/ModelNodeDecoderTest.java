@@ -0,0 +1,123 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ModelNodeDecoderTest {
+
+    @Test
+    public void simpleValue() {
+        ModelNodeDecoder decoder = decoder(new ModelNode().set("foo"));
+
+        assertTrue(decoder.decode(1));
+        assertEquals("foo", decoder.getNode().asString());
+        assertEquals(decoder.getLength(), decoder.getPosition());
+    }
+
+    @Test
+    public void emptyContainers() {
+        ModelNode node = new ModelNode();
+        node.get("object").setEmptyObject();
+        node.get("list").setEmptyList();
+
+        ModelNodeDecoder decoder = decoder(node);
+        assertTrue(decoder.decode(Integer.MAX_VALUE));
+        assertEquals(node, decoder.getNode());
+        assertEquals(3, decoder.getNodes());
+    }
+
+    @Test
+    public void slices() {
+        ModelNode node = nested();
+        ModelNodeDecoder decoder = decoder(node);
+
+        int slices = 0;
+        int position = 0;
+        while (!decoder.decode(7)) {
+            assertTrue(decoder.getPosition() > position);
+            position = decoder.getPosition();
+            slices++;
+        }
+        assertTrue(slices > 1);
+        assertEquals(node, decoder.getNode());
+        assertEquals(node.toString(), decoder.getNode().toString());
+        assertEquals(decoder.getLength(), decoder.getPosition());
+    }
+
+    @Test
+    public void sameAsReadExternal() {
+        ModelNode node = nested();
+        byte[] bytes = bytes(node);
+
+        ModelNode expected = new ModelNode();
+        expected.readExternal(new BinaryDataInput(BinaryBuffer.wrap(bytes)));
+        ModelNodeDecoder decoder = new ModelNodeDecoder(new BinaryDataInput(BinaryBuffer.wrap(bytes)));
+        while (!decoder.decode(1)) {
+            assertFalse(decoder.isDone());
+        }
+        assertEquals(expected, decoder.getNode());
+    }
+
+    @Test
+    public void propertyAcrossSlices() {
+        ModelNode node = new ModelNode();
+        ModelNode value = new ModelNode();
+        value.get("foo").set("bar");
+        value.get("list").add(1).add(2);
+        node.get("property").set("key", value);
+
+        ModelNodeDecoder decoder = decoder(node);
+        int slices = 0;
+        while (!decoder.decode(1)) {
+            slices++;
+        }
+        assertTrue(slices > 1);
+        assertEquals(node, decoder.getNode());
+        assertEquals("bar", decoder.getNode().get("property").asProperty().getValue().get("foo").asString());
+    }
+
+    private ModelNode nested() {
+        ModelNode node = new ModelNode();
+        node.get("outcome").set("success");
+        ModelNode result = node.get("result");
+        for (int i = 0; i < 50; i++) {
+            ModelNode child = result.get("child-" + i);
+            child.get("attributes").get("name").get("type").set(ModelType.STRING);
+            child.get("attributes").get("name").get("nillable").set(false);
+            child.get("list").add("a").add(i).add((long) i * 1000000000L);
+            child.get("property").set("key", new ModelNode().add("value-" + i));
+            child.get("expression").setExpression("${foo:" + i + "}");
+        }
+        return node;
+    }
+
+    private ModelNodeDecoder decoder(ModelNode node) {
+        return new ModelNodeDecoder(new BinaryDataInput(BinaryBuffer.wrap(bytes(node))));
+    }
+
+    private byte[] bytes(ModelNode node) {
+        BinaryDataOutput out = new BinaryDataOutput();
+        node.writeExternal(out);
+        return out.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
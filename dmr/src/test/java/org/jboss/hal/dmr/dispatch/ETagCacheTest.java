@@ -0,0 +1,60 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+public class ETagCacheTest {
+
+    @Test
+    public void notModified() {
+        ETagCache cache = new ETagCache();
+        ModelNode payload = new ModelNode().set(42);
+        cache.put("/management/foo", "\"abc\"", payload);
+
+        assertEquals("\"abc\"", cache.etag("/management/foo"));
+        ModelNode cached = cache.notModified("/management/foo");
+        assertEquals(payload, cached);
+        assertNotSame(payload, cached);
+        assertEquals(1, cache.getNotModified());
+    }
+
+    @Test
+    public void unknown() {
+        ETagCache cache = new ETagCache();
+        assertNull(cache.etag("/management/foo"));
+        assertNull(cache.notModified("/management/foo"));
+        assertEquals(0, cache.getNotModified());
+    }
+
+    @Test
+    public void bounded() {
+        ETagCache cache = new ETagCache(2);
+        cache.put("a", "1", new ModelNode());
+        cache.put("b", "2", new ModelNode());
+        cache.etag("a");
+        cache.put("c", "3", new ModelNode());
+
+        assertEquals(2, cache.size());
+        assertNull(cache.etag("b"));
+        assertEquals("1", cache.etag("a"));
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ReadCacheTest {
+
+    private static final long TTL = 1000;
+    private static final int SIZE = 3;
+
+    private long now;
+    private ReadCache cache;
+
+    @Before
+    public void setUp() {
+        now = 0;
+        cache = new ReadCache(TTL, () -> now);
+    }
+
+    @Test
+    public void hit() {
+        ModelNode payload = new ModelNode().set(42);
+        cache.put("foo", read("subsystem=foo"), payload, SIZE);
+
+        ModelNode cached = cache.get("foo");
+        assertEquals(payload, cached);
+        assertNotSame(payload, cached);
+        assertEquals(1, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    public void miss() {
+        assertNull(cache.get("foo"));
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void expired() {
+        cache.put("foo", read("subsystem=foo"), new ModelNode().set(42), SIZE);
+        now = TTL;
+
+        assertNull(cache.get("foo"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void leastRecentlyUsed() {
+        cache.put("a", read("a=1"), new ModelNode().set(1), SIZE);
+        cache.put("b", read("b=1"), new ModelNode().set(2), SIZE);
+        cache.put("c", read("c=1"), new ModelNode().set(3), SIZE);
+        cache.get("a");
+        cache.put("d", read("d=1"), new ModelNode().set(4), SIZE);
+
+        assertEquals(SIZE, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertNull(cache.get("b"));
+        assertEquals(new ModelNode().set(1), cache.get("a"));
+    }
+
+    @Test
+    public void invalidateSameAndChildren() {
+        cache.put("parent", read("subsystem=foo"), new ModelNode(), SIZE);
+        cache.put("child", read("subsystem=foo/bar=baz"), new ModelNode(), SIZE);
+        cache.put("other", read("subsystem=other"), new ModelNode(), SIZE);
+        cache.invalidate(write("subsystem=foo"));
+
+        assertNull(cache.get("parent"));
+        assertNull(cache.get("child"));
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.getInvalidations());
+    }
+
+    @Test
+    public void invalidateParents() {
+        cache.put("parent", read("subsystem=foo"), new ModelNode(), SIZE);
+        cache.put("wildcard", read("subsystem=foo/bar=*"), new ModelNode(), SIZE);
+        cache.put("sibling", read("subsystem=foo/qux=baz"), new ModelNode(), SIZE);
+        cache.invalidate(write("subsystem=foo/bar=baz"));
+
+        assertNull(cache.get("parent"));
+        assertNull(cache.get("wildcard"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void invalidateComposite() {
+        cache.put("composite", new Composite(read("a=1"), read("b=1")), new ModelNode(), SIZE);
+        cache.put("other", read("c=1"), new ModelNode(), SIZE);
+        cache.invalidate(new Composite(write("b=1/x=y")));
+
+        assertNull(cache.get("composite"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void prefix() {
+        assertTrue(ReadCache.isPrefix(ResourceAddress.root(), ResourceAddress.from("a=1")));
+        assertTrue(ReadCache.isPrefix(ResourceAddress.from("a=1"), ResourceAddress.from("a=1/b=2")));
+        assertTrue(ReadCache.isPrefix(ResourceAddress.from("a=*"), ResourceAddress.from("a=1/b=2")));
+        assertFalse(ReadCache.isPrefix(ResourceAddress.from("a=1/b=2"), ResourceAddress.from("a=1")));
+        assertFalse(ReadCache.isPrefix(ResourceAddress.from("a=2"), ResourceAddress.from("a=1/b=2")));
+        assertFalse(ReadCache.isPrefix(ResourceAddress.from("x=1"), ResourceAddress.from("a=1/b=2")));
+    }
+
+    private Operation read(String address) {
+        return new Operation.Builder(ResourceAddress.from(address), READ_RESOURCE_OPERATION).build();
+    }
+
+    private Operation write(String address) {
+        return new Operation.Builder(ResourceAddress.from(address), WRITE_ATTRIBUTE_OPERATION)
+                .param("name", "foo")
+                .param("value", "bar")
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.dmr.dispatch;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Single;
+import rx.observers.TestSubscriber;
+import rx.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class RequestCoalescerTest {
+
+    private RequestCoalescer coalescer;
+    private PublishSubject<ModelNode> response;
+    private AtomicInteger subscriptions;
+    private Single<ModelNode> request;
+
+    @Before
+    public void setUp() {
+        coalescer = new RequestCoalescer();
+        response = PublishSubject.create();
+        subscriptions = new AtomicInteger();
+        request = response.doOnSubscribe(subscriptions::incrementAndGet).toSingle();
+    }
+
+    @Test
+    public void single() {
+        TestSubscriber<ModelNode> subscriber = new TestSubscriber<>();
+        coalescer.coalesce("foo", request).subscribe(subscriber);
+        respond(new ModelNode().set(42));
+
+        subscriber.assertValue(new ModelNode().set(42));
+        assertEquals(1, subscriptions.get());
+        assertEquals(0, coalescer.getSaved());
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    @Test
+    public void shareInFlight() {
+        TestSubscriber<ModelNode> first = new TestSubscriber<>();
+        TestSubscriber<ModelNode> second = new TestSubscriber<>();
+        coalescer.coalesce("foo", request).subscribe(first);
+        coalescer.coalesce("foo", request).subscribe(second);
+        assertEquals(1, coalescer.getInFlight());
+        respond(new ModelNode().set(42));
+
+        first.assertValue(new ModelNode().set(42));
+        second.assertValue(new ModelNode().set(42));
+        assertNotSame(first.getOnNextEvents().get(0), second.getOnNextEvents().get(0));
+        assertEquals(1, subscriptions.get());
+        assertEquals(2, coalescer.getRequests());
+        assertEquals(1, coalescer.getSaved());
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    @Test
+    public void differentOperations() {
+        TestSubscriber<ModelNode> first = new TestSubscriber<>();
+        TestSubscriber<ModelNode> second = new TestSubscriber<>();
+        coalescer.coalesce("foo", request).subscribe(first);
+        coalescer.coalesce("bar", request).subscribe(second);
+
+        assertEquals(2, subscriptions.get());
+        assertEquals(0, coalescer.getSaved());
+    }
+
+    @Test
+    public void noSharingAfterResponse() {
+        coalescer.coalesce("foo", request).subscribe(new TestSubscriber<>());
+        respond(new ModelNode().set(42));
+        coalescer.coalesce("foo", request).subscribe(new TestSubscriber<>());
+
+        assertEquals(2, subscriptions.get());
+        assertEquals(0, coalescer.getSaved());
+    }
+
+    @Test
+    public void shareError() {
+        TestSubscriber<ModelNode> first = new TestSubscriber<>();
+        TestSubscriber<ModelNode> second = new TestSubscriber<>();
+        coalescer.coalesce("foo", request).subscribe(first);
+        coalescer.coalesce("foo", request).subscribe(second);
+        response.onError(new RuntimeException("failed"));
+
+        first.assertError(RuntimeException.class);
+        second.assertError(RuntimeException.class);
+        assertEquals(1, subscriptions.get());
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    @Test
+    public void noSharingAfterInvalidate() {
+        TestSubscriber<ModelNode> first = new TestSubscriber<>();
+        TestSubscriber<ModelNode> second = new TestSubscriber<>();
+        coalescer.coalesce("foo", request).subscribe(first);
+        coalescer.invalidate();
+        assertEquals(0, coalescer.getInFlight());
+
+        coalescer.coalesce("foo", request).subscribe(second);
+        assertEquals(1, coalescer.getInFlight());
+        respond(new ModelNode().set(42));
+
+        first.assertValue(new ModelNode().set(42));
+        second.assertValue(new ModelNode().set(42));
+        assertEquals(2, subscriptions.get());
+        assertEquals(0, coalescer.getSaved());
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    private void respond(ModelNode payload) {
+        response.onNext(payload);
+        response.onCompleted();
+    }
+}
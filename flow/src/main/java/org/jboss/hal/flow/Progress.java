@@ -34,6 +34,11 @@ public interface Progress {
 
     void finish();
 
+    /** @return {@code true} if the progress has been reset and not yet finished */
+    default boolean isRunning() {
+        return false;
+    }
+
     Progress NOOP = new Progress() {
 
         @Override
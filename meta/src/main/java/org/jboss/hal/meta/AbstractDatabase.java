@@ -15,16 +15,32 @@
  */
 package org.jboss.hal.meta;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 
+import org.jboss.hal.db.Document;
 import org.jboss.hal.db.PouchDB;
 import org.jboss.hal.dmr.ResourceAddress;
+import rx.Observable;
 import rx.Single;
 
+import static java.util.Collections.emptyMap;
+import static java.util.Comparator.comparing;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.HAL_RECURSIVE;
 
 /** Abstract database which uses the specified statement context to resolve address templates. */
 public abstract class AbstractDatabase<T> implements Database<T> {
@@ -84,6 +100,121 @@ public abstract class AbstractDatabase<T> implements Database<T> {
                 }));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Nested templates are merged, so that one prefix search is executed for each disjoint range of documents. The
+     * documents are grouped by template in one pass over the sorted documents using the {@code hal-recursive} field of
+     * the documents. Only the documents of complete templates are decoded.
+     */
+    @Override
+    public Single<Map<AddressTemplate, Map<ResourceAddress, T>>> getRecursive(Set<AddressTemplate> templates) {
+        if (templates.isEmpty()) {
+            return Single.just(emptyMap());
+        }
+        NavigableMap<String, AddressTemplate> prefixes = new TreeMap<>();
+        for (AddressTemplate template : templates) {
+            prefixes.put(template.resolve(statementContext).toString(), template);
+        }
+        return Observable.from(disjointPrefixes(prefixes.navigableKeySet()))
+                .flatMapSingle(this::prefixSearch)
+                .collect(() -> new ArrayList<Document>(), List::addAll)
+                .toSingle()
+                .map(documents -> recursiveMetadata(prefixes, documents));
+    }
+
+    /** @return the prefixes which are not nested in another prefix */
+    static List<String> disjointPrefixes(NavigableSet<String> prefixes) {
+        List<String> disjoint = new ArrayList<>();
+        for (String prefix : prefixes) {
+            // sorted: a nested prefix always follows the prefix it's nested in
+            if (disjoint.isEmpty() || !prefix.startsWith(disjoint.get(disjoint.size() - 1))) {
+                disjoint.add(prefix);
+            }
+        }
+        return disjoint;
+    }
+
+    private Single<List<Document>> prefixSearch(String prefix) {
+        return Single.create(em -> database().prefixSearch(prefix)
+                .then(documents -> {
+                    em.onSuccess(documents);
+                    return null;
+                })
+                .catch_(failure -> {
+                    em.onError(new RuntimeException(String.valueOf(failure)));
+                    return null;
+                }));
+    }
+
+    private Map<AddressTemplate, Map<ResourceAddress, T>> recursiveMetadata(
+            NavigableMap<String, AddressTemplate> prefixes, List<Document> documents) {
+        // group the documents by prefix w/o decoding the payload
+        Map<String, List<Document>> documentsByPrefix = groupByPrefix(prefixes.navigableKeySet(), documents,
+                Document::getId);
+        Set<String> incomplete = new HashSet<>();
+        documentsByPrefix.forEach((prefix, prefixDocuments) -> {
+            if (!prefixDocuments.stream().allMatch(this::recursive)) {
+                incomplete.add(prefix);
+            }
+        });
+
+        // decode the documents of complete prefixes (documents of nested prefixes are decoded only once)
+        Map<String, T> decoded = new HashMap<>();
+        Map<AddressTemplate, Map<ResourceAddress, T>> metadata = new HashMap<>();
+        documentsByPrefix.forEach((prefix, prefixDocuments) -> {
+            boolean complete = !incomplete.contains(prefix) &&
+                    prefixDocuments.stream().anyMatch(document -> prefix.equals(document.getId()));
+            if (complete) {
+                Map<ResourceAddress, T> prefixMetadata = new HashMap<>();
+                for (Document document : prefixDocuments) {
+                    prefixMetadata.put(ResourceAddress.from(document.getId()),
+                            decoded.computeIfAbsent(document.getId(), id -> asMetadata(document)));
+                }
+                metadata.put(prefixes.get(prefix), prefixMetadata);
+            }
+        });
+        return metadata;
+    }
+
+    /**
+     * Groups the elements by the prefixes their ids start with. Walks the sorted elements and the sorted prefixes
+     * once, keeping a stack of the nested prefixes which match the current id. Thus an element is only compared with
+     * the prefixes it's nested in.
+     */
+    static <E> Map<String, List<E>> groupByPrefix(NavigableSet<String> prefixes, List<E> elements,
+            Function<E, String> id) {
+        List<E> sorted = new ArrayList<>(elements);
+        sorted.sort(comparing(id));
+
+        Map<String, List<E>> groups = new HashMap<>();
+        Iterator<String> iterator = prefixes.iterator();
+        String next = iterator.hasNext() ? iterator.next() : null;
+        Deque<String> matching = new ArrayDeque<>(); // each prefix is a prefix of the one above
+
+        for (E element : sorted) {
+            String elementId = id.apply(element);
+            while (next != null && next.compareTo(elementId) <= 0) {
+                while (!matching.isEmpty() && !next.startsWith(matching.peek())) {
+                    matching.pop();
+                }
+                matching.push(next);
+                next = iterator.hasNext() ? iterator.next() : null;
+            }
+            while (!matching.isEmpty() && !elementId.startsWith(matching.peek())) {
+                matching.pop();
+            }
+            for (String prefix : matching) {
+                groups.computeIfAbsent(prefix, p -> new ArrayList<>()).add(element);
+            }
+        }
+        return groups;
+    }
+
+    private boolean recursive(Document document) {
+        return document.has(HAL_RECURSIVE) && document.getAny(HAL_RECURSIVE).asBoolean();
+    }
+
     @Override
     public String type() {
         return type;
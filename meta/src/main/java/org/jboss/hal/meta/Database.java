@@ -38,6 +38,13 @@ public interface Database<T> {
     /** Returns a map with metadata whose address starts with the specified template */
     Single<Map<ResourceAddress, T>> getRecursive(AddressTemplate template);
 
+    /**
+     * Returns a map with metadata whose address starts with one of the specified templates. The metadata of a template
+     * is only part of the result if the metadata of the template itself is present and all metadata were stored by a
+     * recursive lookup.
+     */
+    Single<Map<AddressTemplate, Map<ResourceAddress, T>>> getRecursive(Set<AddressTemplate> templates);
+
     /** Returns metadata for a given document */
     T asMetadata(Document document);
 
@@ -72,7 +72,7 @@ public class Metadata {
 
     private final AddressTemplate template;
     private final Supplier<SecurityContext> securityContext;
-    private final ResourceDescription description;
+    private ResourceDescription description;
     private final Capabilities capabilities;
 
     @JsIgnore
@@ -89,10 +89,18 @@ public class Metadata {
     public void copyAttribute(String attribute, Metadata destination) {
         Property p = getDescription().findAttribute(ATTRIBUTES, attribute);
         if (p != null) {
-            destination.getDescription().get(ATTRIBUTES).get(attribute).set(p.getValue());
+            destination.writableDescription().get(ATTRIBUTES).get(attribute).set(p.getValue());
         }
     }
 
+    /** Shared resource descriptions are protected: Replace them by a copy before modifying them. */
+    private ResourceDescription writableDescription() {
+        if (description.isProtected()) {
+            description = new ResourceDescription(description);
+        }
+        return description;
+    }
+
     /**
      * Makes the specified attribute writable. This is necessary if you copy attributes from a complex attribute to
      * another metadata. Without adjustment the copied attributes are read-only in the destination metadata.
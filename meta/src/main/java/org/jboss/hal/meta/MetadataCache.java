@@ -0,0 +1,152 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * LRU cache for metadata which is keyed by the normalized address template and which limits the estimated payload size
+ * instead of the number of entries. A few big resource descriptions (e.g. of the undertow or messaging subsystem)
+ * count as much as many small ones, so working in one area of a large domain does not evict everything else.
+ * <p>
+ * The key is the string representation of the address template of the normalized resource address. Normalizing the
+ * address (e.g. replacing the host and server names with "*") is up to the registry, so that one entry serves all
+ * concrete addresses which map to the same template.
+ */
+public class MetadataCache<T extends ModelNode> {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetadataCache.class);
+
+    private final String type;
+    private final int maxWeight;
+    private final Consumer<T> removed;
+    private final LinkedHashMap<String, Entry<T>> entries;
+    private int weight;
+    private int hits;
+    private int misses;
+    private int evictions;
+
+    /**
+     * @param type      the type of the metadata used for logging
+     * @param maxWeight the maximal estimated payload size in bytes
+     */
+    public MetadataCache(String type, int maxWeight) {
+        this(type, maxWeight, metadata -> {});
+    }
+
+    /**
+     * @param type      the type of the metadata used for logging
+     * @param maxWeight the maximal estimated payload size in bytes
+     * @param removed   called for metadata which has been replaced or evicted
+     */
+    public MetadataCache(String type, int maxWeight, Consumer<T> removed) {
+        this.type = type;
+        this.maxWeight = maxWeight;
+        this.removed = removed;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true); // access order for LRU
+    }
+
+    public T get(ResourceAddress address) {
+        Entry<T> entry = entries.get(key(address));
+        if (entry != null) {
+            hits++;
+            return entry.metadata;
+        }
+        misses++;
+        return null;
+    }
+
+    public void put(ResourceAddress address, T metadata) {
+        String key = key(address);
+        int size = weigh(metadata);
+        Entry<T> previous = entries.put(key, new Entry<>(metadata, size));
+        if (previous != null) {
+            weight -= previous.weight;
+            removed.accept(previous.metadata);
+        }
+        weight += size;
+
+        Iterator<Map.Entry<String, Entry<T>>> iterator = entries.entrySet().iterator();
+        while (weight > maxWeight && iterator.hasNext()) {
+            Map.Entry<String, Entry<T>> eldest = iterator.next();
+            if (eldest.getKey().equals(key)) {
+                continue; // never evict the entry which has just been added
+            }
+            iterator.remove();
+            weight -= eldest.getValue().weight;
+            evictions++;
+            removed.accept(eldest.getValue().metadata);
+            logger.debug("Evict {} from {} cache ({} bytes)", eldest.getKey(), type, eldest.getValue().weight);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /** @return the estimated payload size of all entries in bytes */
+    public int getWeight() {
+        return weight;
+    }
+
+    public int getMaxWeight() {
+        return maxWeight;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    public int getEvictions() {
+        return evictions;
+    }
+
+    static String key(ResourceAddress address) {
+        return AddressTemplate.of(address).toString();
+    }
+
+    /**
+     * Estimates the size of the specified node in the DMR binary format. Nested objects which have not been read yet
+     * count with the length of their encoded entries, so weighing doesn't read them.
+     */
+    static int weigh(ModelNode node) {
+        return node.estimateSize();
+    }
+
+
+    private static class Entry<T> {
+
+        final T metadata;
+        final int weight;
+
+        Entry(T metadata, int weight) {
+            this.metadata = metadata;
+            this.weight = weight;
+        }
+    }
+}
@@ -27,6 +27,8 @@ import org.jboss.hal.meta.AbstractDatabase;
 import org.jboss.hal.meta.StatementContext;
 import org.jboss.hal.resources.Ids;
 
+import static org.jboss.hal.dmr.ModelDescriptionConstants.HAL_RECURSIVE;
+
 public class ResourceDescriptionDatabase extends AbstractDatabase<ResourceDescription> {
 
     private static final String RESOURCE_DESCRIPTION_TYPE = "resource description";
@@ -59,6 +61,7 @@ public class ResourceDescriptionDatabase extends AbstractDatabase<ResourceDescri
     public Document asDocument(ResourceAddress address, ResourceDescription resourceDescription) {
         Document document = Document.of(address.toString());
         document.set(PAYLOAD, resourceDescription.toBase64String());
+        document.set(HAL_RECURSIVE, resourceDescription.get(HAL_RECURSIVE).asBoolean(false));
         return document;
     }
 
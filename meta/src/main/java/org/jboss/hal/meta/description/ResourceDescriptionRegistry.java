@@ -17,11 +17,10 @@ package org.jboss.hal.meta.description;
 
 import javax.inject.Inject;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import org.jboss.hal.config.Environment;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.meta.AbstractRegistry;
+import org.jboss.hal.meta.MetadataCache;
 import org.jboss.hal.meta.AddressTemplate;
 import org.jboss.hal.meta.StatementContext;
 import org.slf4j.Logger;
@@ -29,38 +28,52 @@ import org.slf4j.LoggerFactory;
 
 import static org.jboss.hal.dmr.ModelDescriptionConstants.HAL_RECURSIVE;
 
-/** A registry for resource descriptions. */
+/**
+ * A registry for resource descriptions. The descriptions are stored by their normalized address template, so that one
+ * description serves all hosts, servers, profiles and server groups. The addresses are normalized when the r-r-d
+ * response is parsed (see {@link ResourceDescriptionAddressProcessor}), the templates when they're looked up (see
+ * {@link ResourceDescriptionTemplateProcessor}).
+ * <p>
+ * Identical descriptions registered for different templates share one protected instance (see {@link
+ * ResourceDescriptionStore}). Descriptions returned by this registry must not be modified.
+ */
 public class ResourceDescriptionRegistry extends AbstractRegistry<ResourceDescription> {
 
-    private static final int CACHE_SIZE = 250;
+    private static final int CACHE_WEIGHT = 10 * 1024 * 1024; // estimated payload size in bytes
     private static final String RESOURCE_DESCRIPTION_TYPE = "resource description";
     private static final Logger logger = LoggerFactory.getLogger(ResourceDescriptionRegistry.class);
 
-    private final Cache<ResourceAddress, ResourceDescription> cache;
+    private final ResourceDescriptionStore store;
+    private final MetadataCache<ResourceDescription> cache;
     private final ResourceDescriptionTemplateProcessor templateProcessor;
 
     @Inject
     public ResourceDescriptionRegistry(StatementContext statementContext, Environment environment) {
         super(new ResourceDescriptionStatementContext(statementContext, environment), RESOURCE_DESCRIPTION_TYPE);
-        this.cache = CacheBuilder.newBuilder()
-                .maximumSize(CACHE_SIZE)
-                .recordStats()
-                .removalListener(
-                        notification -> logger.debug("Remove {} from {} cache: {}", notification.getKey(), type,
-                                notification.getCause()))
-                .build();
+        this.store = new ResourceDescriptionStore();
+        this.cache = new MetadataCache<>(type, CACHE_WEIGHT, store::release);
         this.templateProcessor = new ResourceDescriptionTemplateProcessor();
     }
 
     public void add(ResourceAddress address, ResourceDescription resourceDescription, boolean recursive) {
         resourceDescription.get(HAL_RECURSIVE).set(recursive);
-        cache.put(address, resourceDescription);
+        cache.put(address, store.intern(resourceDescription));
         logger.debug("Added {} to {} ({})", address.toString(), type, recursive ? "recursive" : "none-recursive");
     }
 
     @Override
     protected ResourceDescription lookupAddress(ResourceAddress address) {
-        return cache.getIfPresent(address);
+        return cache.get(address);
+    }
+
+    /** @return the cache of this registry (size, hits, misses and evictions) */
+    public MetadataCache<ResourceDescription> getCache() {
+        return cache;
+    }
+
+    /** @return the store which shares identical descriptions */
+    public ResourceDescriptionStore getStore() {
+        return store;
     }
 
     @Override
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta.description;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.ModelType;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.OPERATIONS;
+
+/**
+ * Content addressed store for resource descriptions. Structurally identical descriptions share one {@linkplain
+ * ModelNode#protect() protected} instance. Within the descriptions, identical attribute and operation descriptions
+ * are shared as well. Many resources have the same global operations and attributes like "name", so sharing these
+ * sub-nodes saves memory even if the descriptions themselves differ.
+ * <p>
+ * Descriptions and sub-nodes are compared by their {@linkplain ModelNode#toBinaryString() binary representation}
+ * rather than by {@link ModelNode#equals(Object)}, which would read all lazy objects of the r-r-d response. The store
+ * only keeps the hash code of the binary representation. If two different nodes happen to have the same hash code,
+ * the second one is simply not shared.
+ * <p>
+ * Descriptions are reference counted: Each call to {@link #intern(ResourceDescription)} must be balanced by a call to
+ * {@link #release(ResourceDescription)} once the description is no longer used.
+ */
+public class ResourceDescriptionStore {
+
+    private static final String[] SHARED_NODES = new String[]{ATTRIBUTES, OPERATIONS};
+
+    private final Map<Integer, Shared<ResourceDescription>> descriptions;
+    private final Map<Integer, Shared<ModelNode>> nodes;
+    private int hits;
+    private int misses;
+    private int sharedNodes;
+
+    ResourceDescriptionStore() {
+        this.descriptions = new HashMap<>();
+        this.nodes = new HashMap<>();
+    }
+
+    /**
+     * Returns the shared instance for the specified description. If there's no such instance yet, a protected copy of
+     * the specified description is stored and returned. The specified description is not modified.
+     */
+    ResourceDescription intern(ResourceDescription description) {
+        String binary = description.toBinaryString();
+        Shared<ResourceDescription> shared = descriptions.get(binary.hashCode());
+        if (shared != null && binary.equals(shared.node.toBinaryString())) {
+            hits++;
+            shared.references++;
+            return shared.node;
+        }
+
+        misses++;
+        ResourceDescription canonical = new ResourceDescription(description);
+        for (String name : SHARED_NODES) {
+            if (isObject(canonical, name)) {
+                ModelNode parent = canonical.get(name);
+                for (String key : parent.keys()) {
+                    parent.share(key, internNode(parent.get(key)));
+                }
+            }
+        }
+        canonical.protect();
+        if (shared == null) {
+            descriptions.put(binary.hashCode(), new Shared<>(canonical));
+        }
+        return canonical;
+    }
+
+    /** Releases a description returned by {@link #intern(ResourceDescription)}. */
+    void release(ResourceDescription description) {
+        int hash = description.toBinaryString().hashCode();
+        Shared<ResourceDescription> shared = descriptions.get(hash);
+        if (shared != null && shared.node == description && --shared.references == 0) {
+            descriptions.remove(hash);
+            for (String name : SHARED_NODES) {
+                if (isObject(description, name)) {
+                    ModelNode parent = description.get(name);
+                    for (String key : parent.keys()) {
+                        releaseNode(parent.get(key));
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean isObject(ModelNode node, String name) {
+        return node.hasDefined(name) && node.get(name).getType() == ModelType.OBJECT;
+    }
+
+    private ModelNode internNode(ModelNode node) {
+        String binary = node.toBinaryString();
+        Shared<ModelNode> shared = nodes.get(binary.hashCode());
+        if (shared != null && binary.equals(shared.node.toBinaryString())) {
+            sharedNodes++;
+            shared.references++;
+            return shared.node;
+        }
+        node.protect();
+        if (shared == null) {
+            nodes.put(binary.hashCode(), new Shared<>(node));
+        }
+        return node;
+    }
+
+    private void releaseNode(ModelNode node) {
+        int hash = node.toBinaryString().hashCode();
+        Shared<ModelNode> shared = nodes.get(hash);
+        if (shared != null && shared.node == node && --shared.references == 0) {
+            nodes.remove(hash);
+        }
+    }
+
+    /** @return the number of distinct descriptions */
+    public int size() {
+        return descriptions.size();
+    }
+
+    /** @return the number of distinct attribute and operation descriptions */
+    public int getNodes() {
+        return nodes.size();
+    }
+
+    /** @return the number of descriptions which were resolved to an existing instance */
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    /** @return the number of attribute and operation descriptions which were resolved to an existing instance */
+    public int getSharedNodes() {
+        return sharedNodes;
+    }
+
+
+    private static class Shared<T extends ModelNode> {
+
+        final T node;
+        int references;
+
+        Shared(T node) {
+            this.node = node;
+            this.references = 1;
+        }
+    }
+}
@@ -15,13 +15,10 @@
  */
 package org.jboss.hal.meta.processing;
 
-import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.flow.Task;
 import org.jboss.hal.meta.AddressTemplate;
@@ -33,7 +30,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Completable;
 
-import static org.jboss.hal.dmr.ModelDescriptionConstants.HAL_RECURSIVE;
 import static org.jboss.hal.meta.processing.LookupResult.NOTHING_PRESENT;
 import static org.jboss.hal.meta.processing.LookupResult.RESOURCE_DESCRIPTION_PRESENT;
 import static org.jboss.hal.meta.processing.LookupResult.SECURITY_CONTEXT_PRESENT;
@@ -60,70 +56,33 @@ class LookupDatabaseTask implements Task<LookupContext> {
     }
 
     private Completable lookupRecursive(LookupContext context) {
+        // collect all templates and do one range scan per database (context.recursive == true)
         LookupResult lookupResult = context.lookupResult;
-        List<Completable> completables = new ArrayList<>();
-
-        for (AddressTemplate template : lookupResult.templates()) {
-            int missingMetadata = lookupResult.missingMetadata(template);
-            if (missingMetadata == NOTHING_PRESENT) {
-                completables.add(lookupResourceDescription(context, template));
-                completables.add(lookupSecurityContext(context, template));
-
-            } else if (missingMetadata == RESOURCE_DESCRIPTION_PRESENT) {
-                completables.add(lookupSecurityContext(context, template));
-
-            } else if (missingMetadata == SECURITY_CONTEXT_PRESENT) {
-                completables.add(lookupResourceDescription(context, template));
-            }
-        }
-        return Completable.merge(completables);
-    }
+        Set<AddressTemplate> rdTemplates = new HashSet<>();
+        Set<AddressTemplate> scTemplates = new HashSet<>();
+        collectTemplates(lookupResult, rdTemplates, scTemplates);
 
-    private Completable lookupResourceDescription(LookupContext context, AddressTemplate template) {
-        return resourceDescriptionDatabase.getRecursive(template)
-                .doOnSuccess(resourceDescriptions -> {
-                    if (!resourceDescriptions.isEmpty()) {
-                        ResourceAddress address = resourceDescriptionDatabase.resolveTemplate(template);
-                        if (resourceDescriptions.containsKey(address) && allRecursive(resourceDescriptions.values())) {
-                            context.toResourceDescriptionRegistry.putAll(resourceDescriptions);
-                            context.lookupResult.markMetadataPresent(template, RESOURCE_DESCRIPTION_PRESENT);
-                        }
-                    }
-                })
+        Completable rdCompletable = resourceDescriptionDatabase.getRecursive(rdTemplates)
+                .doOnSuccess(resourceDescriptions -> resourceDescriptions.forEach((template, metadata) -> {
+                    context.toResourceDescriptionRegistry.putAll(metadata);
+                    lookupResult.markMetadataPresent(template, RESOURCE_DESCRIPTION_PRESENT);
+                }))
                 .toCompletable()
                 .onErrorComplete(); // leave the bits in LookupResult unchanged!
-    }
 
-    private Completable lookupSecurityContext(LookupContext context, AddressTemplate template) {
-        return securityContextDatabase.getRecursive(template)
-                .doOnSuccess(securityContexts -> {
-                    if (!securityContexts.isEmpty()) {
-                        ResourceAddress address = securityContextDatabase.resolveTemplate(template);
-                        if (securityContexts.containsKey(address) && allRecursive(securityContexts.values())) {
-                            context.toSecurityContextRegistry.putAll(securityContexts);
-                            context.lookupResult.markMetadataPresent(template, SECURITY_CONTEXT_PRESENT);
-                        }
-                    }
-                })
+        Completable scCompletable = securityContextDatabase.getRecursive(scTemplates)
+                .doOnSuccess(securityContexts -> securityContexts.forEach((template, metadata) -> {
+                    context.toSecurityContextRegistry.putAll(metadata);
+                    lookupResult.markMetadataPresent(template, SECURITY_CONTEXT_PRESENT);
+                }))
                 .toCompletable()
                 .onErrorComplete(); // leave the bits in LookupResult unchanged!
-    }
 
-    private <T extends ModelNode> boolean allRecursive(Iterable<T> metadata) {
-        for (T m : metadata) {
-            if (!m.get(HAL_RECURSIVE).asBoolean(false)) {
-                return false;
-            }
-        }
-        return true;
+        return Completable.merge(rdCompletable, scCompletable);
     }
 
-    private Completable bulkLookup(LookupContext context) {
-        // collect all templates and do a bulk lookup (context.recursive == false)
-        LookupResult lookupResult = context.lookupResult;
-        Set<AddressTemplate> rdTemplates = new HashSet<>();
-        Set<AddressTemplate> scTemplates = new HashSet<>();
-
+    private void collectTemplates(LookupResult lookupResult, Set<AddressTemplate> rdTemplates,
+            Set<AddressTemplate> scTemplates) {
         for (AddressTemplate template : lookupResult.templates()) {
             int missingMetadata = lookupResult.missingMetadata(template);
             if (missingMetadata == NOTHING_PRESENT) {
@@ -135,6 +94,14 @@ class LookupDatabaseTask implements Task<LookupContext> {
                 rdTemplates.add(template);
             }
         }
+    }
+
+    private Completable bulkLookup(LookupContext context) {
+        // collect all templates and do a bulk lookup (context.recursive == false)
+        LookupResult lookupResult = context.lookupResult;
+        Set<AddressTemplate> rdTemplates = new HashSet<>();
+        Set<AddressTemplate> scTemplates = new HashSet<>();
+        collectTemplates(lookupResult, rdTemplates, scTemplates);
 
         Map<ResourceAddress, AddressTemplate> rdLookup = resourceDescriptionDatabase.resolveTemplates(rdTemplates);
         Completable rdCompletable = resourceDescriptionDatabase.getAll(rdTemplates)
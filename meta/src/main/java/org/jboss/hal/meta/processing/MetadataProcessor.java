@@ -62,8 +62,19 @@ public class MetadataProcessor {
     /** Recursive depth for the r-r-d operations. Keep this small - some browsers choke on too big payload size */
     static final int RRD_DEPTH = 3;
 
-    /** Number of r-r-d operations part of one composite operation. */
-    private static final int BATCH_SIZE = 3;
+    /**
+     * Max. weight of the r-r-d operations part of one composite operation. A plain r-r-d operation has a weight of
+     * one, recursive r-r-d operations and r-r-d operations for wildcard addresses weigh more (see {@link
+     * RrdTask}). The budget is big enough for two of the heaviest operations: recursive r-r-d operations for
+     * wildcard addresses.
+     */
+    static final int BATCH_SIZE = 2 * (2 + RRD_DEPTH);
+
+    /** Max. number of composite r-r-d operations executed in parallel. */
+    private static final int MAX_IN_FLIGHT = 4;
+
+    /** Max. number of composite r-r-d operations executed in parallel when prefetching metadata. */
+    private static final int PREFETCH_IN_FLIGHT = 1;
 
     private static final Logger logger = LoggerFactory.getLogger(MetadataProcessor.class);
 
@@ -116,14 +127,30 @@ public class MetadataProcessor {
 
         } else {
             Set<AddressTemplate> templates = resources.stream().map(AddressTemplate::of).collect(toSet());
-            processInternal(templates, recursive, progress, callback);
+            processInternal(templates, recursive, MAX_IN_FLIGHT, progress, callback);
+        }
+    }
+
+    /**
+     * Processes the required resources for the specified id in the background: Progress is not reported and only one
+     * r-r-d operation is executed at a time.
+     */
+    @JsIgnore
+    public void prefetch(String id, AsyncCallback<Void> callback) {
+        Set<String> resources = requiredResources.getResources(id);
+        if (resources.isEmpty()) {
+            callback.onSuccess(null);
+        } else {
+            Set<AddressTemplate> templates = resources.stream().map(AddressTemplate::of).collect(toSet());
+            processInternal(templates, requiredResources.isRecursive(id), PREFETCH_IN_FLIGHT, Progress.NOOP,
+                    callback);
         }
     }
 
     @JsIgnore
     public void lookup(AddressTemplate template, Progress progress, MetadataCallback callback) {
         logger.debug("Lookup metadata for {}", template);
-        processInternal(singleton(template), false, progress, new AsyncCallback<Void>() {
+        processInternal(singleton(template), false, MAX_IN_FLIGHT, progress, new AsyncCallback<Void>() {
             @Override
             public void onFailure(Throwable throwable) {
                 callback.onError(throwable);
@@ -137,8 +164,8 @@ public class MetadataProcessor {
         });
     }
 
-    private void processInternal(Set<AddressTemplate> templates, boolean recursive, Progress progress,
-            AsyncCallback<Void> callback) {
+    private void processInternal(Set<AddressTemplate> templates, boolean recursive, int maxInFlight,
+            Progress progress, AsyncCallback<Void> callback) {
         // we can skip the tasks if the metadata is already in the registries
         LookupRegistryTask lookupRegistries = new LookupRegistryTask(resourceDescriptionRegistry,
                 securityContextRegistry);
@@ -153,7 +180,8 @@ public class MetadataProcessor {
             if (!ie) {
                 tasks.add(new LookupDatabaseTask(resourceDescriptionDatabase, securityContextDatabase));
             }
-            tasks.add(new RrdTask(environment, dispatcher, statementContext, settings, BATCH_SIZE, RRD_DEPTH));
+            tasks.add(new RrdTask(environment, dispatcher, statementContext, settings, BATCH_SIZE, maxInFlight,
+                    RRD_DEPTH));
             tasks.add(new UpdateRegistryTask(resourceDescriptionRegistry, securityContextRegistry));
             if (!ie) {
                 tasks.add(new UpdateDatabaseTask(workerChannel));
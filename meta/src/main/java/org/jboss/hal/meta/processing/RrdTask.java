@@ -19,13 +19,13 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import com.google.common.collect.Lists;
 import org.jboss.hal.config.Environment;
 import org.jboss.hal.config.Settings;
 import org.jboss.hal.dmr.Composite;
 import org.jboss.hal.dmr.CompositeResult;
 import org.jboss.hal.dmr.ModelNode;
 import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.Property;
 import org.jboss.hal.dmr.dispatch.DispatchFailure;
 import org.jboss.hal.dmr.dispatch.Dispatcher;
 import org.jboss.hal.flow.Task;
@@ -33,24 +33,34 @@ import org.jboss.hal.meta.StatementContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Completable;
+import rx.Observable;
 import rx.Single;
 import rx.functions.Action1;
 
-import static java.util.stream.Collectors.toList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RECURSIVE_DEPTH;
 
-/** Creates, executes and parses the {@code read-resource-description} operations to read the missing metadata. */
+/**
+ * Creates, executes and parses the {@code read-resource-description} operations to read the missing metadata.
+ * <p>
+ * The operations are partitioned into composites according to their expected payload size (see {@link
+ * #partition(List, int)}). Up to {@code maxInFlight} composites are executed in parallel. The parsed results are
+ * merged into the {@link LookupContext} in the order of the composites once all composites have been executed.
+ */
 class RrdTask implements Task<LookupContext> {
 
+    private static final String WILDCARD = "*";
     private static final Logger logger = LoggerFactory.getLogger(RrdTask.class);
 
     private final Dispatcher dispatcher;
     private final int batchSize;
+    private final int maxInFlight;
     private final CreateRrdOperations rrdOps;
 
     RrdTask(Environment environment, Dispatcher dispatcher, StatementContext statementContext, Settings settings,
-            int batchSize, int depth) {
+            int batchSize, int maxInFlight, int depth) {
         this.dispatcher = dispatcher;
         this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
         this.rrdOps = new CreateRrdOperations(environment, statementContext, settings.get(Settings.Key.LOCALE).value(),
                 depth);
     }
@@ -59,14 +69,16 @@ class RrdTask implements Task<LookupContext> {
     public Completable call(LookupContext context) {
         boolean recursive = context.recursive;
         List<Completable> completables = new ArrayList<>();
+        List<RrdResult> results = new ArrayList<>();
 
         // create and partition non-optional operations
         List<Operation> operations = rrdOps.create(context, recursive, false);
-        List<List<Operation>> piles = Lists.partition(operations, batchSize);
-        List<Composite> composites = piles.stream().map(Composite::new).collect(toList());
+        List<Composite> composites = partition(operations, batchSize);
         for (Composite composite : composites) {
+            int index = results.size();
+            results.add(null);
             completables.add(dispatcher.execute(composite)
-                    .doOnSuccess(parseRrdAction(context, composite))
+                    .doOnSuccess(parseRrdAction(composite, results, index))
                     .toCompletable());
         }
 
@@ -78,6 +90,8 @@ class RrdTask implements Task<LookupContext> {
         List<Composite> optionalComposites = new ArrayList<>();
         optionalOperations.forEach(operation -> optionalComposites.add(new Composite(operation)));
         for (Composite composite : optionalComposites) {
+            int index = results.size();
+            results.add(null);
             completables.add(dispatcher.execute(composite)
                     .onErrorResumeNext(throwable -> {
                         if (throwable instanceof DispatchFailure) {
@@ -87,14 +101,16 @@ class RrdTask implements Task<LookupContext> {
                             return Single.error(throwable);
                         }
                     })
-                    .doOnSuccess(parseRrdAction(context, composite))
+                    .doOnSuccess(parseRrdAction(composite, results, index))
                     .toCompletable());
         }
 
         if (!completables.isEmpty()) {
             if (logger.isDebugEnabled()) {
-                logger.debug("About to execute {} ({}+{}) composite operations (regular+optional)",
-                        composites.size() + optionalComposites.size(), composites.size(), optionalComposites.size());
+                logger.debug(
+                        "About to execute {} ({}+{}) composite operations (regular+optional) with max. {} in flight",
+                        composites.size() + optionalComposites.size(), composites.size(), optionalComposites.size(),
+                        maxInFlight);
                 String compositeOps = composites.stream().map(Composite::asCli).collect(Collectors.joining(", "));
                 logger.debug("Composite operations: {}", compositeOps);
                 if (!optionalComposites.isEmpty()) {
@@ -104,20 +120,77 @@ class RrdTask implements Task<LookupContext> {
                     logger.debug("Optional operations: {}", optionalOps);
                 }
             }
-            return Completable.concat(completables);
+            return Completable.merge(Observable.from(completables), maxInFlight)
+                    .doOnCompleted(() -> mergeResults(context, results));
         } else {
             logger.debug("No DMR operations necessary");
             return Completable.complete();
         }
     }
 
-    private Action1<CompositeResult> parseRrdAction(LookupContext context, Composite composite) {
-        return (CompositeResult compositeResult) -> {
-            RrdResult rrdResult = new CompositeRrdParser(composite).parse(compositeResult);
-            context.toResourceDescriptionRegistry.putAll(rrdResult.resourceDescriptions);
-            context.toResourceDescriptionDatabase.putAll(rrdResult.resourceDescriptions);
-            context.toSecurityContextRegistry.putAll(rrdResult.securityContexts);
-            context.toSecurityContextDatabase.putAll(rrdResult.securityContexts);
-        };
+    private Action1<CompositeResult> parseRrdAction(Composite composite, List<RrdResult> results, int index) {
+        return (CompositeResult compositeResult) ->
+                results.set(index, new CompositeRrdParser(composite).parse(compositeResult));
+    }
+
+    private void mergeResults(LookupContext context, List<RrdResult> results) {
+        // merge in the order of the composites and not in the order the responses came in
+        for (RrdResult rrdResult : results) {
+            if (rrdResult != null) {
+                context.toResourceDescriptionRegistry.putAll(rrdResult.resourceDescriptions);
+                context.toResourceDescriptionDatabase.putAll(rrdResult.resourceDescriptions);
+                context.toSecurityContextRegistry.putAll(rrdResult.securityContexts);
+                context.toSecurityContextDatabase.putAll(rrdResult.securityContexts);
+            }
+        }
+    }
+
+
+    // ------------------------------------------------------ batch sizing
+
+    /**
+     * Partitions the operations into composites. Instead of using a fixed number of operations per composite, each
+     * operation is weighted by its expected payload size (see {@link #weight(Operation)}). Operations are added to a
+     * composite as long as the accumulated weight does not exceed {@code batchSize}. Every composite contains at least
+     * one operation.
+     */
+    static List<Composite> partition(List<Operation> operations, int batchSize) {
+        List<Composite> composites = new ArrayList<>();
+        List<Operation> pile = new ArrayList<>();
+        int pileWeight = 0;
+        for (Operation operation : operations) {
+            int weight = weight(operation);
+            if (!pile.isEmpty() && pileWeight + weight > batchSize) {
+                composites.add(new Composite(pile));
+                pile = new ArrayList<>();
+                pileWeight = 0;
+            }
+            pile.add(operation);
+            pileWeight += weight;
+        }
+        if (!pile.isEmpty()) {
+            composites.add(new Composite(pile));
+        }
+        return composites;
+    }
+
+    /**
+     * Estimates the relative payload size of a {@code read-resource-description} operation. A plain operation counts
+     * as one. Each level of recursion and a wildcard address add one to the weight.
+     */
+    static int weight(Operation operation) {
+        int weight = 1;
+        if (operation.hasDefined(RECURSIVE_DEPTH)) {
+            weight += operation.get(RECURSIVE_DEPTH).asInt();
+        }
+        if (operation.getAddress().isDefined()) {
+            for (Property segment : operation.getAddress().asPropertyList()) {
+                if (WILDCARD.equals(segment.getValue().asString())) {
+                    weight++;
+                    break;
+                }
+            }
+        }
+        return weight;
     }
 }
@@ -15,10 +15,18 @@
  */
 package org.jboss.hal.meta.processing;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import javax.inject.Inject;
 
+import com.google.common.base.Stopwatch;
+import elemental2.core.JsArray;
+import elemental2.dom.Event;
+import elemental2.dom.MessageEvent;
 import elemental2.dom.Worker;
 import jsinterop.annotations.JsType;
+import jsinterop.base.Js;
 import org.jboss.hal.db.Document;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.js.Browser;
@@ -26,18 +34,28 @@ import org.jboss.hal.meta.description.ResourceDescription;
 import org.jboss.hal.meta.description.ResourceDescriptionDatabase;
 import org.jboss.hal.meta.security.SecurityContext;
 import org.jboss.hal.meta.security.SecurityContextDatabase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static jsinterop.annotations.JsPackage.GLOBAL;
 import static org.jboss.hal.dmr.ModelDescriptionConstants.HAL_RECURSIVE;
 import static org.jboss.hal.resources.UIConstants.OBJECT;
 
+/**
+ * Posts metadata to the worker which stores them in the PouchDB databases. All metadata of one lookup are sent as one
+ * batch. The worker acknowledges each batch with the number of inserted, updated and failed documents.
+ */
 public class WorkerChannel {
 
     private static final String WORKER_JS = "js/worker.js";
+    private static final Logger logger = LoggerFactory.getLogger(WorkerChannel.class);
 
     private final ResourceDescriptionDatabase resourceDescriptionDatabase;
     private final SecurityContextDatabase securityContextDatabase;
     private final Worker worker;
+    private final Map<Integer, Stopwatch> pendingBatches;
+    private int batchId;
 
     @Inject
     public WorkerChannel(ResourceDescriptionDatabase resourceDescriptionDatabase,
@@ -45,25 +63,55 @@ public class WorkerChannel {
         this.resourceDescriptionDatabase = resourceDescriptionDatabase;
         this.securityContextDatabase = securityContextDatabase;
         this.worker = Browser.isIE() ? null : new Worker(WORKER_JS);
+        this.pendingBatches = new HashMap<>();
+        this.batchId = 0;
+        if (worker != null) {
+            worker.addEventListener("message", this::onAcknowledge);
+        }
     }
 
-    void postResourceDescription(ResourceAddress address, ResourceDescription resourceDescription, boolean recursive) {
+    void postMetadata(Map<ResourceAddress, ResourceDescription> resourceDescriptions,
+            Map<ResourceAddress, SecurityContext> securityContexts, boolean recursive) {
         if (worker != null) {
-            resourceDescription.get(HAL_RECURSIVE).set(recursive);
-            UpdateMessage message = new UpdateMessage();
-            message.database = resourceDescriptionDatabase.name();
-            message.document = resourceDescriptionDatabase.asDocument(address, resourceDescription);
-            worker.postMessage(message);
+            JsArray<Batch> batches = new JsArray<>();
+            if (!resourceDescriptions.isEmpty()) {
+                Batch batch = new Batch();
+                batch.database = resourceDescriptionDatabase.name();
+                batch.documents = new JsArray<>();
+                resourceDescriptions.forEach((address, resourceDescription) -> {
+                    resourceDescription.get(HAL_RECURSIVE).set(recursive);
+                    batch.documents.push(resourceDescriptionDatabase.asDocument(address, resourceDescription));
+                });
+                batches.push(batch);
+            }
+            if (!securityContexts.isEmpty()) {
+                Batch batch = new Batch();
+                batch.database = securityContextDatabase.name();
+                batch.documents = new JsArray<>();
+                securityContexts.forEach((address, securityContext) -> {
+                    securityContext.get(HAL_RECURSIVE).set(recursive);
+                    batch.documents.push(securityContextDatabase.asDocument(address, securityContext));
+                });
+                batches.push(batch);
+            }
+
+            if (batches.getLength() != 0) {
+                UpdateMessage message = new UpdateMessage();
+                message.id = ++batchId;
+                message.batches = batches;
+                pendingBatches.put(message.id, Stopwatch.createStarted());
+                worker.postMessage(message);
+            }
         }
     }
 
-    void postSecurityContext(ResourceAddress address, SecurityContext securityContext, boolean recursive) {
-        if (worker != null) {
-            securityContext.get(HAL_RECURSIVE).set(recursive);
-            UpdateMessage message = new UpdateMessage();
-            message.database = securityContextDatabase.name();
-            message.document = securityContextDatabase.asDocument(address, securityContext);
-            worker.postMessage(message);
+    private void onAcknowledge(Event event) {
+        MessageEvent<?> messageEvent = Js.cast(event);
+        AcknowledgeMessage message = Js.cast(messageEvent.data);
+        Stopwatch stopwatch = pendingBatches.remove(message.id);
+        if (stopwatch != null) {
+            logger.debug("Worker stored batch #{} in {} ms ({} inserted, {} updated, {} failed)", message.id,
+                    stopwatch.stop().elapsed(MILLISECONDS), message.inserted, message.updated, message.failed);
         }
     }
 
@@ -71,7 +119,25 @@ public class WorkerChannel {
     @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
     private static class UpdateMessage {
 
+        int id;
+        JsArray<Batch> batches;
+    }
+
+
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    private static class Batch {
+
         String database;
-        Document document;
+        JsArray<Document> documents;
+    }
+
+
+    @JsType(isNative = true, namespace = GLOBAL, name = OBJECT)
+    private static class AcknowledgeMessage {
+
+        int id;
+        int inserted;
+        int updated;
+        int failed;
     }
 }
@@ -19,6 +19,9 @@ import java.util.Set;
 
 public interface RequiredResources {
 
+    /** @return the ids of all presenters and columns with required resources */
+    Set<String> getIds();
+
     Set<String> getResources(String id);
 
     boolean isRecursive(String id);
@@ -34,6 +34,7 @@ import org.jboss.hal.resources.Ids;
 
 import static java.util.stream.Collectors.joining;
 import static org.jboss.hal.config.AccessControlProvider.RBAC;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.HAL_RECURSIVE;
 
 public class SecurityContextDatabase extends AbstractDatabase<SecurityContext> {
 
@@ -84,6 +85,7 @@ public class SecurityContextDatabase extends AbstractDatabase<SecurityContext> {
     public Document asDocument(ResourceAddress address, SecurityContext securityContext) {
         Document document = Document.of(address.toString());
         document.set(PAYLOAD, securityContext.toBase64String());
+        document.set(HAL_RECURSIVE, securityContext.get(HAL_RECURSIVE).asBoolean(false));
         return document;
 
     }
@@ -17,11 +17,10 @@ package org.jboss.hal.meta.security;
 
 import javax.inject.Inject;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import org.jboss.hal.config.Environment;
 import org.jboss.hal.dmr.ResourceAddress;
 import org.jboss.hal.meta.AbstractRegistry;
+import org.jboss.hal.meta.MetadataCache;
 import org.jboss.hal.meta.StatementContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,22 +29,16 @@ import static org.jboss.hal.dmr.ModelDescriptionConstants.HAL_RECURSIVE;
 
 public class SecurityContextRegistry extends AbstractRegistry<SecurityContext> {
 
-    private static final int CACHE_SIZE = 500;
+    private static final int CACHE_WEIGHT = 2 * 1024 * 1024; // estimated payload size in bytes
     private static final String SECURITY_CONTEXT_TYPE = "security context";
     private static final Logger logger = LoggerFactory.getLogger(SecurityContextRegistry.class);
 
-    private final Cache<ResourceAddress, SecurityContext> cache;
+    private final MetadataCache<SecurityContext> cache;
 
     @Inject
     public SecurityContextRegistry(StatementContext statementContext, Environment environment) {
         super(new SecurityContextStatementContext(statementContext, environment), SECURITY_CONTEXT_TYPE);
-        this.cache = CacheBuilder.newBuilder()
-                .maximumSize(CACHE_SIZE)
-                .recordStats()
-                .removalListener(
-                        notification -> logger.debug("Remove {} from {} cache: {}", notification.getKey(), type,
-                                notification.getCause()))
-                .build();
+        this.cache = new MetadataCache<>(type, CACHE_WEIGHT);
     }
 
     public void add(ResourceAddress address, SecurityContext securityContext, boolean recursive) {
@@ -56,6 +49,11 @@ public class SecurityContextRegistry extends AbstractRegistry<SecurityContext> {
 
     @Override
     protected SecurityContext lookupAddress(ResourceAddress address) {
-        return cache.getIfPresent(address);
+        return cache.get(address);
+    }
+
+    /** @return the cache of this registry (size, hits, misses and evictions) */
+    public MetadataCache<SecurityContext> getCache() {
+        return cache;
     }
 }
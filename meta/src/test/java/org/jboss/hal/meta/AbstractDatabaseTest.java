@@ -0,0 +1,63 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.function.Function.identity;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class AbstractDatabaseTest {
+
+    @Test
+    public void disjointPrefixes() {
+        TreeSet<String> prefixes = new TreeSet<>(asList(
+                "/subsystem=undertow/server=default-server",
+                "/core-service=management",
+                "/subsystem=undertow",
+                "/subsystem=logging",
+                "/core-service=management/access=authorization"));
+
+        assertEquals(asList("/core-service=management", "/subsystem=logging", "/subsystem=undertow"),
+                AbstractDatabase.disjointPrefixes(prefixes));
+    }
+
+    @Test
+    public void groupByPrefix() {
+        TreeSet<String> prefixes = new TreeSet<>(asList("/a=1", "/a=1/b=2", "/c=3"));
+        List<String> ids = asList("/c=3/d=4", "/a=1/b=2/x=y", "/a=1", "/a=1/b=2", "/c=3", "/a=1/b=3");
+
+        Map<String, List<String>> groups = AbstractDatabase.groupByPrefix(prefixes, ids, identity());
+        assertEquals(asList("/a=1", "/a=1/b=2", "/a=1/b=2/x=y", "/a=1/b=3"), groups.get("/a=1"));
+        assertEquals(asList("/a=1/b=2", "/a=1/b=2/x=y"), groups.get("/a=1/b=2"));
+        assertEquals(asList("/c=3", "/c=3/d=4"), groups.get("/c=3"));
+    }
+
+    @Test
+    public void groupByPrefixNoMatch() {
+        TreeSet<String> prefixes = new TreeSet<>(asList("/b=2"));
+        Map<String, List<String>> groups = AbstractDatabase.groupByPrefix(prefixes, asList("/a=1", "/c=3"),
+                identity());
+
+        assertNull(groups.get("/b=2"));
+    }
+}
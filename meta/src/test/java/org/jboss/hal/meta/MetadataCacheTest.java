@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MetadataCacheTest {
+
+    @Test
+    public void hitAndMiss() {
+        MetadataCache<ModelNode> cache = new MetadataCache<>("test", 1000);
+        ModelNode metadata = node(10);
+        cache.put(ResourceAddress.from("subsystem=foo"), metadata);
+
+        assertSame(metadata, cache.get(ResourceAddress.from("subsystem=foo")));
+        assertNull(cache.get(ResourceAddress.from("subsystem=bar")));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void sameTemplate() {
+        MetadataCache<ModelNode> cache = new MetadataCache<>("test", 1000);
+        cache.put(ResourceAddress.from("host=*/server=*/subsystem=foo"), node(10));
+
+        assertNotNull(cache.get(ResourceAddress.from("host=*/server=*/subsystem=foo")));
+        assertNull(cache.get(ResourceAddress.from("host=master/server=*/subsystem=foo")));
+    }
+
+    @Test
+    public void evictBySize() {
+        int small = MetadataCache.weigh(node(1));
+        int big = MetadataCache.weigh(node(100));
+        MetadataCache<ModelNode> cache = new MetadataCache<>("test", big + 2 * small - 1);
+        cache.put(ResourceAddress.from("a=1"), node(1));
+        cache.put(ResourceAddress.from("b=1"), node(1));
+        cache.get(ResourceAddress.from("a=1"));
+        cache.put(ResourceAddress.from("c=1"), node(100));
+
+        assertEquals(1, cache.getEvictions());
+        assertNull(cache.get(ResourceAddress.from("b=1")));
+        assertNotNull(cache.get(ResourceAddress.from("a=1")));
+        assertTrue(cache.getWeight() <= cache.getMaxWeight());
+    }
+
+    @Test
+    public void keepNewEntry() {
+        MetadataCache<ModelNode> cache = new MetadataCache<>("test", 10);
+        cache.put(ResourceAddress.from("a=1"), node(100));
+
+        assertEquals(1, cache.size());
+        assertNotNull(cache.get(ResourceAddress.from("a=1")));
+    }
+
+    @Test
+    public void replace() {
+        MetadataCache<ModelNode> cache = new MetadataCache<>("test", 10000);
+        cache.put(ResourceAddress.from("a=1"), node(100));
+        cache.put(ResourceAddress.from("a=1"), node(1));
+
+        assertEquals(1, cache.size());
+        assertEquals(MetadataCache.weigh(node(1)), cache.getWeight());
+    }
+
+    @Test
+    public void removed() {
+        List<ModelNode> removed = new ArrayList<>();
+        ModelNode first = node(100);
+        ModelNode second = node(100);
+        MetadataCache<ModelNode> cache = new MetadataCache<>("test", MetadataCache.weigh(first), removed::add);
+        cache.put(ResourceAddress.from("a=1"), first);
+        cache.put(ResourceAddress.from("a=1"), second);
+        cache.put(ResourceAddress.from("b=1"), node(1));
+
+        assertEquals(2, removed.size());
+        assertSame(first, removed.get(0));
+        assertSame(second, removed.get(1));
+    }
+
+    @Test
+    public void weigh() {
+        ModelNode node = new ModelNode();
+        node.get("description").set("foo");
+        node.get("list").add(1).add("bar");
+        node.get("property").set("name", true);
+
+        assertTrue(MetadataCache.weigh(node) > "description".length() + "list".length() + "property".length());
+        assertTrue(MetadataCache.weigh(node(100)) > MetadataCache.weigh(node(10)));
+    }
+
+    private ModelNode node(int attributes) {
+        ModelNode node = new ModelNode();
+        for (int i = 0; i < attributes; i++) {
+            node.get("attributes").get("attribute-" + i).get("description").set("Description of attribute " + i);
+        }
+        return node;
+    }
+}
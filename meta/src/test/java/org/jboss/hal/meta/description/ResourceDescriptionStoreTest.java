@@ -0,0 +1,126 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta.description;
+
+import org.jboss.hal.dmr.ModelNode;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.jboss.hal.dmr.ModelDescriptionConstants.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ResourceDescriptionStoreTest {
+
+    private ResourceDescriptionStore store;
+
+    @Before
+    public void setUp() {
+        store = new ResourceDescriptionStore();
+    }
+
+    @Test
+    public void identical() {
+        ResourceDescription foo = store.intern(description("foo", "name"));
+        ResourceDescription bar = store.intern(description("foo", "name"));
+
+        assertSame(foo, bar);
+        assertTrue(foo.isProtected());
+        assertEquals(1, store.size());
+        assertEquals(1, store.getHits());
+    }
+
+    @Test
+    public void notModified() {
+        ResourceDescription description = description("foo", "name");
+        ResourceDescription interned = store.intern(description);
+
+        assertNotSame(description, interned);
+        assertFalse(description.isProtected());
+        assertEquals(description, interned);
+    }
+
+    @Test
+    public void sharedAttributes() {
+        ResourceDescription foo = store.intern(description("foo", "name"));
+        ResourceDescription bar = store.intern(description("bar", "name"));
+
+        assertNotSame(foo, bar);
+        assertSame(foo.get(ATTRIBUTES).get("name"), bar.get(ATTRIBUTES).get("name"));
+        assertSame(foo.get(OPERATIONS).get(READ_RESOURCE_OPERATION),
+                bar.get(OPERATIONS).get(READ_RESOURCE_OPERATION));
+        assertEquals(2, store.size());
+        assertEquals(2, store.getSharedNodes());
+    }
+
+    @Test
+    public void release() {
+        ResourceDescription foo = store.intern(description("foo", "name"));
+        ResourceDescription bar = store.intern(description("foo", "name"));
+        store.release(foo);
+        assertEquals(1, store.size());
+
+        store.release(bar);
+        assertEquals(0, store.size());
+        assertEquals(0, store.getNodes());
+    }
+
+    @Test
+    public void releaseKeepsSharedNodes() {
+        ResourceDescription foo = store.intern(description("foo", "name"));
+        store.intern(description("bar", "name"));
+        store.release(foo);
+
+        assertEquals(1, store.size());
+        assertEquals(2, store.getNodes());
+    }
+
+    @Test
+    public void readMissingKey() {
+        ResourceDescription description = store.intern(description("foo", "name"));
+
+        assertFalse(description.get("missing").isDefined());
+        assertFalse(description.get(ATTRIBUTES).get("name").get("missing").get("nested").isDefined());
+        assertFalse(description.has("missing"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutable() {
+        store.intern(description("foo", "name")).get(DESCRIPTION).set("bar");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void writeMissingKey() {
+        store.intern(description("foo", "name")).get("missing").set("bar");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void writeNestedMissingKey() {
+        store.intern(description("foo", "name")).get(ATTRIBUTES).get("missing").get(DESCRIPTION).set("bar");
+    }
+
+    private ResourceDescription description(String description, String attribute) {
+        ModelNode payload = new ModelNode();
+        payload.get(DESCRIPTION).set(description);
+        payload.get(ATTRIBUTES).get(attribute).get(TYPE).set("STRING");
+        payload.get(ATTRIBUTES).get(attribute).get(DESCRIPTION).set("The " + attribute);
+        payload.get(OPERATIONS).get(READ_RESOURCE_OPERATION).get(DESCRIPTION).set("Reads a resource");
+        return new ResourceDescription(payload);
+    }
+}
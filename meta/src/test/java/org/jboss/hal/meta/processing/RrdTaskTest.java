@@ -0,0 +1,136 @@
+/*
+ * Copyright 2015-2016 Red Hat, Inc, and individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.hal.meta.processing;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.hal.dmr.Composite;
+import org.jboss.hal.dmr.Operation;
+import org.jboss.hal.dmr.ResourceAddress;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.READ_RESOURCE_DESCRIPTION_OPERATION;
+import static org.jboss.hal.dmr.ModelDescriptionConstants.RECURSIVE_DEPTH;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RrdTaskTest {
+
+    private static final int BATCH_SIZE = 3;
+
+    @Test
+    public void weight() {
+        assertEquals(1, RrdTask.weight(rrd("subsystem=foo", false)));
+        assertEquals(2, RrdTask.weight(rrd("subsystem=foo/bar=*", false)));
+        assertEquals(1 + MetadataProcessor.RRD_DEPTH, RrdTask.weight(rrd("subsystem=foo", true)));
+        assertEquals(2 + MetadataProcessor.RRD_DEPTH, RrdTask.weight(rrd("subsystem=foo/bar=*", true)));
+    }
+
+    @Test
+    public void weightDoesNotModify() {
+        Operation operation = rrd("subsystem=foo", false);
+        String before = operation.toString();
+        RrdTask.weight(operation);
+        assertFalse(operation.has(RECURSIVE_DEPTH));
+        assertEquals(before, operation.toString());
+    }
+
+    @Test
+    public void noOperations() {
+        assertTrue(RrdTask.partition(Collections.emptyList(), BATCH_SIZE).isEmpty());
+    }
+
+    @Test
+    public void plainOperations() {
+        List<Composite> composites = RrdTask.partition(asList(
+                rrd("a=1", false), rrd("a=2", false), rrd("a=3", false),
+                rrd("a=4", false), rrd("a=5", false)), BATCH_SIZE);
+
+        assertEquals(2, composites.size());
+        assertEquals(3, composites.get(0).size());
+        assertEquals(2, composites.get(1).size());
+    }
+
+    @Test
+    public void mixedOperations() {
+        List<Composite> composites = RrdTask.partition(asList(
+                rrd("a=1", false), rrd("a=*", false), rrd("a=3", false), rrd("a=4", false)), BATCH_SIZE);
+
+        assertEquals(2, composites.size());
+        assertEquals(2, composites.get(0).size());
+        assertEquals(2, composites.get(1).size());
+    }
+
+    @Test
+    public void heavyOperations() {
+        // operations which exceed the batch size on their own get a composite of their own
+        List<Composite> composites = RrdTask.partition(asList(
+                rrd("a=1", true), rrd("a=2", true), rrd("a=3", false)), BATCH_SIZE);
+
+        assertEquals(3, composites.size());
+        composites.forEach(composite -> assertEquals(1, composite.size()));
+    }
+
+    @Test
+    public void recursiveOperations() {
+        // uses the budget of the metadata processor: at least two recursive operations share one composite
+        List<Composite> composites = RrdTask.partition(asList(
+                rrd("a=1", true), rrd("a=2", true), rrd("a=3", true),
+                rrd("a=4", true), rrd("a=5", true)), MetadataProcessor.BATCH_SIZE);
+
+        assertEquals(3, composites.size());
+        assertEquals(2, composites.get(0).size());
+        assertEquals(2, composites.get(1).size());
+        assertEquals(1, composites.get(2).size());
+    }
+
+    @Test
+    public void recursiveWildcardOperations() {
+        List<Composite> composites = RrdTask.partition(asList(
+                rrd("a=*", true), rrd("b=*", true), rrd("c=*", true)), MetadataProcessor.BATCH_SIZE);
+
+        assertEquals(2, composites.size());
+        assertEquals(2, composites.get(0).size());
+        assertEquals(1, composites.get(1).size());
+    }
+
+    @Test
+    public void order() {
+        List<Operation> operations = asList(rrd("a=1", false), rrd("a=2", true), rrd("a=3", false));
+        List<Composite> composites = RrdTask.partition(operations, BATCH_SIZE);
+
+        int index = 0;
+        for (Composite composite : composites) {
+            for (Operation operation : composite) {
+                assertEquals(operations.get(index).getAddress(), operation.getAddress());
+                index++;
+            }
+        }
+        assertEquals(operations.size(), index);
+    }
+
+    private Operation rrd(String address, boolean recursive) {
+        Operation.Builder builder = new Operation.Builder(ResourceAddress.from(address),
+                READ_RESOURCE_DESCRIPTION_OPERATION);
+        if (recursive) {
+            builder.param(RECURSIVE_DEPTH, MetadataProcessor.RRD_DEPTH);
+        }
+        return builder.build();
+    }
+}
@@ -35,6 +35,11 @@ public class ${className} implements org.jboss.hal.meta.resource.RequiredResourc
         </#list>
     }
 
+    @Override
+    public Set<String> getIds() {
+        return resources.keySet();
+    }
+
     @Override
     public Set<String> getResources(String id) {
         if (resources.containsKey(id)) {
@@ -606,6 +606,7 @@ public interface Ids {
     String MODEL_BROWSER_ROOT = "model-browser-root";
     String NO_MATCH = "no-match";
     String NONE_PROGRESSING_LINK = "none-progressing-link";
+    String NAVIGATION_STORAGE = "hal-local-storage-navigation";
     String NATIVE_INTERFACE_ITEM = "native-interface-item";
     String NEAR_CACHE_NONE = "near-cache-none";
     String NEAR_CACHE_INVALIDATION = "near-cache-invalidation";
@@ -78,6 +78,7 @@ public interface Messages extends com.google.gwt.i18n.client.Messages {
     SafeHtml contentReplaced(@PluralCount int size);
     SafeHtml contentReplaceError(String name);
     SafeHtml contentReplaceSuccess(String name);
+    SafeHtml contentReused(@PluralCount int size, String bytesSaved);
     SafeHtml contentUndeployed(String name);
     SafeHtml contentUndeployedFromServerGroup(String name, String serverGroup);
     SafeHtml createAccountError(String name, String error);
@@ -581,6 +582,7 @@ public interface Messages extends com.google.gwt.i18n.client.Messages {
     String microprofileHealthNoChecks();
     String microprofileHealthPreviewDescription();
     String modifyResourceTitle(String type);
+    String moreContentEntries(int count);
     String moreThanOneCacheStoreDetails();
     String noBootErrors();
     String nonEmptyRequires(String fields);